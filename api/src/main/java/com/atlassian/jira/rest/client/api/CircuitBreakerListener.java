@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Notified about state transitions of the circuit breakers configured by {@link CircuitBreakerSettings}.
+ * Called on the thread completing the request which caused the transition, so it should return quickly.
+ *
+ * @since v5.2.2
+ */
+public interface CircuitBreakerListener {
+
+    /**
+     * @param endpoint endpoint guarded by the circuit breaker, e.g. <code>api/search</code>
+     */
+    void onStateTransition(String endpoint, CircuitBreakerSettings.State from, CircuitBreakerSettings.State to);
+}
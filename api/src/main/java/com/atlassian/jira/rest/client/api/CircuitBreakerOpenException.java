@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Reports a request which was not sent, as the circuit breaker of its endpoint is open after too many recent
+ * failures of that endpoint.
+ *
+ * @see CircuitBreakerSettings
+ * @since v5.2.2
+ */
+public class CircuitBreakerOpenException extends RestClientException {
+
+    private final String endpoint;
+
+    public CircuitBreakerOpenException(final String endpoint) {
+        super("Circuit breaker of endpoint " + endpoint + " is open", (Throwable) null);
+        this.endpoint = endpoint;
+    }
+
+    public CircuitBreakerOpenException(final CircuitBreakerOpenException exception) {
+        super(exception);
+        this.endpoint = exception.endpoint;
+    }
+
+    /**
+     * @return endpoint of the rejected request, e.g. <code>api/search</code>
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
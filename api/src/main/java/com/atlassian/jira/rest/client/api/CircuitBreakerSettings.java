@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the circuit breakers guarding each endpoint (search, issue, user, ...) of a {@link JiraRestClient}.
+ * <p>
+ * A closed circuit breaker lets all the requests through, recording the outcomes of the last
+ * {@link #getWindowSize()} ones. A request fails when the server can't be reached, answers with a 5xx status, or
+ * (if configured) takes longer than {@link #getSlowCallDuration()}. When at least {@link #getMinimumCalls()} requests
+ * are recorded and the ratio of failures reaches {@link #getFailureRateThreshold()}, the circuit breaker opens:
+ * requests to that endpoint fail immediately with {@link CircuitBreakerOpenException}, without using a connection.
+ * After {@link #getOpenDuration()}, the circuit breaker becomes half-open and lets {@link #getHalfOpenProbes()}
+ * requests through; if all of them succeed it closes, otherwise it opens again.
+ * {@link CircuitBreakerSettingsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2.2
+ */
+public class CircuitBreakerSettings {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    @Nullable
+    private final Duration slowCallDuration;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final ImmutableList<CircuitBreakerListener> listeners;
+
+    public CircuitBreakerSettings(int windowSize, int minimumCalls, double failureRateThreshold,
+                                  @Nullable Duration slowCallDuration, Duration openDuration, int halfOpenProbes,
+                                  List<CircuitBreakerListener> listeners) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+        this.listeners = ImmutableList.copyOf(listeners);
+    }
+
+    /**
+     * @return number of the most recent requests whose outcome is considered
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * @return number of recorded requests needed before the failure rate is considered
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * @return ratio of failed requests (0 to 1) opening the circuit breaker
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * @return duration after which a request counts as failed even if it eventually succeeds, or <code>null</code>
+     * when slow requests are not counted as failures
+     */
+    @Nullable
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * @return time during which an open circuit breaker rejects all the requests
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * @return number of requests let through by a half-open circuit breaker
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public ImmutableList<CircuitBreakerListener> getListeners() {
+        return listeners;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().
+                add("windowSize", windowSize).
+                add("minimumCalls", minimumCalls).
+                add("failureRateThreshold", failureRateThreshold).
+                add("slowCallDuration", slowCallDuration).
+                add("openDuration", openDuration).
+                add("halfOpenProbes", halfOpenProbes).
+                toString();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builder class for {@link CircuitBreakerSettings}. By default a circuit breaker opens when at least half of
+ * the last 50 requests (and at least 20 of them) failed, stays open for 30 seconds, and lets 3 probing requests
+ * through when half-open. Slow requests are not counted as failures.
+ *
+ * @since v5.2.2
+ */
+public class CircuitBreakerSettingsBuilder {
+    private int windowSize = 50;
+    private int minimumCalls = 20;
+    private double failureRateThreshold = 0.5;
+    private Duration slowCallDuration;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenProbes = 3;
+    private final List<CircuitBreakerListener> listeners = new ArrayList<>();
+
+    public CircuitBreakerSettingsBuilder setWindowSize(int windowSize) {
+        Preconditions.checkArgument(windowSize > 0, "windowSize must be positive");
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public CircuitBreakerSettingsBuilder setMinimumCalls(int minimumCalls) {
+        Preconditions.checkArgument(minimumCalls > 0, "minimumCalls must be positive");
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public CircuitBreakerSettingsBuilder setFailureRateThreshold(double failureRateThreshold) {
+        Preconditions.checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1,
+                "failureRateThreshold must be in (0, 1]");
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public CircuitBreakerSettingsBuilder setSlowCallDuration(Duration slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    public CircuitBreakerSettingsBuilder setOpenDuration(Duration openDuration) {
+        Preconditions.checkArgument(!openDuration.isNegative(), "openDuration must not be negative");
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    public CircuitBreakerSettingsBuilder setHalfOpenProbes(int halfOpenProbes) {
+        Preconditions.checkArgument(halfOpenProbes > 0, "halfOpenProbes must be positive");
+        this.halfOpenProbes = halfOpenProbes;
+        return this;
+    }
+
+    public CircuitBreakerSettingsBuilder addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public CircuitBreakerSettings build() {
+        Preconditions.checkArgument(minimumCalls <= windowSize, "minimumCalls must not exceed windowSize");
+        return new CircuitBreakerSettings(windowSize, minimumCalls, failureRateThreshold, slowCallDuration,
+                openDuration, halfOpenProbes, listeners);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Settings of the adaptive limit of requests in flight of one {@link JiraRestClient}.
+ * <p>
+ * The limit grows by one request per round trip while JIRA answers quickly, and is multiplied by
+ * {@link #getBackoffRatio()} at most once per round trip when JIRA shows signs of overload: a
+ * <code>429 Too Many Requests</code> or <code>503 Service Unavailable</code> response, a request failed without
+ * response, or a response more than {@link #getLatencyTolerance()} times slower than the fastest recent response of
+ * the same endpoint. Requests above the limit wait in the client without blocking any thread.
+ * {@link ConcurrencyLimitSettingsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2.2
+ */
+public class ConcurrencyLimitSettings {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    public ConcurrencyLimitSettings(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double latencyTolerance) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    /**
+     * @return number of requests allowed in flight before any response is received
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return factor, between 0 and 1, applied to the limit when JIRA shows signs of overload
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * @return how many times slower than the fastest recent response of its endpoint a response may be before
+     * the limit is lowered
+     */
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("initialLimit", initialLimit).
+                add("minLimit", minLimit).
+                add("maxLimit", maxLimit).
+                add("backoffRatio", backoffRatio).
+                add("latencyTolerance", latencyTolerance).
+                toString();
+    }
+}
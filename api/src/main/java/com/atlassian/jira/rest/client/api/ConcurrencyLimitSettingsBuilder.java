@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Builder class for {@link ConcurrencyLimitSettings}. By default the limit starts at 20 requests in flight and
+ * stays between 1 and 200, is lowered by 10% on overload, and responses up to 2 times slower than the fastest
+ * recent ones are tolerated.
+ *
+ * @since v5.2.2
+ */
+public class ConcurrencyLimitSettingsBuilder {
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 200;
+    private double backoffRatio = 0.9;
+    private double latencyTolerance = 2.0;
+
+    public ConcurrencyLimitSettingsBuilder setInitialLimit(int initialLimit) {
+        Preconditions.checkArgument(initialLimit > 0, "initialLimit must be positive");
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    public ConcurrencyLimitSettingsBuilder setMinLimit(int minLimit) {
+        Preconditions.checkArgument(minLimit > 0, "minLimit must be positive");
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    public ConcurrencyLimitSettingsBuilder setMaxLimit(int maxLimit) {
+        Preconditions.checkArgument(maxLimit > 0, "maxLimit must be positive");
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public ConcurrencyLimitSettingsBuilder setBackoffRatio(double backoffRatio) {
+        Preconditions.checkArgument(backoffRatio > 0 && backoffRatio < 1, "backoffRatio must be between 0 and 1");
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    public ConcurrencyLimitSettingsBuilder setLatencyTolerance(double latencyTolerance) {
+        Preconditions.checkArgument(latencyTolerance > 1, "latencyTolerance must be greater than 1");
+        this.latencyTolerance = latencyTolerance;
+        return this;
+    }
+
+    public ConcurrencyLimitSettings build() {
+        Preconditions.checkState(minLimit <= initialLimit && initialLimit <= maxLimit,
+                "initialLimit must be between minLimit and maxLimit");
+        return new ConcurrencyLimitSettings(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance);
+    }
+}
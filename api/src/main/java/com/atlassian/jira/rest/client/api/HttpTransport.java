@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.httpclient.api.HttpClient;
+
+import java.net.URI;
+
+/**
+ * Provides the HTTP client sending the requests of a {@link JiraRestClient}.
+ * <p>
+ * The default transport is <code>AtlassianHttpTransport</code>, based on the Apache HttpAsyncClient. Other
+ * transports can be given to the <code>AsynchronousJiraRestClientFactory</code> constructor. Clients are created
+ * per JiraRestClient and wrapped by the factory, so authentication and the optional request stages work the same
+ * with every transport.
+ *
+ * @since v5.2.2
+ */
+public interface HttpTransport {
+
+    /**
+     * @param serverUri URI of the JIRA server
+     * @param options   options of the JiraRestClient; transports apply the connection settings they support
+     */
+    HttpClient createHttpClient(URI serverUri, JiraRestClientOptions options);
+
+    /**
+     * Releases the resources of a client created by this transport, when the JiraRestClient using it is closed.
+     */
+    void destroy(HttpClient httpClient) throws Exception;
+}
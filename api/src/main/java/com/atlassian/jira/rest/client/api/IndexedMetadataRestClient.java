@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.Field;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.IssuelinksType;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * {@link MetadataRestClient} keeping the metadata lists in memory, indexed for lookups by id and by name.
+ * This is the type of {@link JiraRestClient#getMetadataClient()} when the client is created with
+ * {@link JiraRestClientOptions#getMetadataCacheSettings() metadata caching} enabled.
+ *
+ * @since v5.2.2
+ */
+public interface IndexedMetadataRestClient extends MetadataRestClient {
+
+    Promise<MetadataIndex<IssueType>> getIssueTypeIndex();
+
+    Promise<MetadataIndex<IssuelinksType>> getIssueLinkTypeIndex();
+
+    Promise<MetadataIndex<Status>> getStatusIndex();
+
+    Promise<MetadataIndex<Priority>> getPriorityIndex();
+
+    Promise<MetadataIndex<Resolution>> getResolutionIndex();
+
+    Promise<MetadataIndex<Field>> getFieldIndex();
+}
@@ -16,6 +16,8 @@
 
 package com.atlassian.jira.rest.client.api;
 
+import com.atlassian.jira.rest.client.api.bulk.BulkExecutor;
+
 import java.io.Closeable;
 import java.io.IOException;
 
@@ -88,6 +90,15 @@ public interface JiraRestClient extends Closeable {
      */
     MyPermissionsRestClient getMyPermissionsRestClient();
 
+    /**
+     * @param maxInFlight maximum number of operations in flight at a time
+     * @return executor running an operation of this client for many inputs, e.g. issue keys, with backpressure
+     * @since v5.2.2
+     */
+    default BulkExecutor newBulkExecutor(int maxInFlight) {
+        return new BulkExecutor(maxInFlight);
+    }
+
     /**
      * Destroys this instance of JIRA Rest Client.
      *
@@ -35,6 +35,19 @@ public interface JiraRestClientFactory {
      */
     JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler);
 
+    /**
+     * Creates an instance of JiraRestClient with given HttpClient settings.
+     *
+     * @param serverUri             - URI of JIRA instance.
+     * @param authenticationHandler - requests authenticator.
+     * @param options               - HttpClient settings (connection pool, threads, timeouts).
+     * @throws UnsupportedOperationException by default, for factories which don't take settings
+     * @since 5.2.2
+     */
+    default JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler, final JiraRestClientOptions options) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support JiraRestClientOptions");
+    }
+
     /**
      * Creates an instance of JiraRestClient with default HttpClient settings. HttpClient will conduct a
      * basic authentication for given credentials.
@@ -45,6 +58,22 @@ public interface JiraRestClientFactory {
      */
     JiraRestClient createWithBasicHttpAuthentication(final URI serverUri, final String username, final String password);
 
+    /**
+     * Creates an instance of JiraRestClient with given HttpClient settings. HttpClient will conduct a
+     * basic authentication for given credentials.
+     *
+     * @param serverUri - URI or JIRA instance.
+     * @param username  - username of the user used to log in to JIRA.
+     * @param password  - password of the user used to log in to JIRA.
+     * @param options   - HttpClient settings (connection pool, threads, timeouts).
+     * @throws UnsupportedOperationException by default, for factories which don't take settings
+     * @since 5.2.2
+     */
+    default JiraRestClient createWithBasicHttpAuthentication(final URI serverUri, final String username, final String password,
+                                                             final JiraRestClientOptions options) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support JiraRestClientOptions");
+    }
+
     /**
      * Creates an instance of JiraRestClient with default HttpClient settings. HttpClient will call the provided
      * authentication handler prior to making requests.
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Settings of a {@link JiraRestClient} created by {@link JiraRestClientFactory}, mostly of its HTTP transport.
+ * Every HTTP setting left <code>null</code> keeps the default of the underlying HTTP client.
+ * Objects of this class are built by {@link JiraRestClientOptionsBuilder}.
+ *
+ * @since v5.2.2
+ */
+public class JiraRestClientOptions {
+
+    public static final JiraRestClientOptions DEFAULT = new JiraRestClientOptionsBuilder().build();
+
+    @Nullable
+    private final Integer maxTotalConnections;
+    @Nullable
+    private final Integer maxConnectionsPerHost;
+    @Nullable
+    private final Integer ioThreadCount;
+    @Nullable
+    private final Integer maxCallbackThreadPoolSize;
+    @Nullable
+    private final Duration connectionTimeout;
+    @Nullable
+    private final Duration socketTimeout;
+    @Nullable
+    private final Duration requestTimeout;
+    @Nullable
+    private final Duration connectionTimeToLive;
+    private final boolean prewarmServerInfo;
+    private final boolean coalesceGetRequests;
+    private final long responseCacheMaxBytes;
+    @Nullable
+    private final MetadataCacheSettings metadataCacheSettings;
+    @Nullable
+    private final RateLimitSettings rateLimitSettings;
+    @Nullable
+    private final RetrySettings retrySettings;
+    @Nullable
+    private final ScheduledExecutorService scheduler;
+    @Nullable
+    private final CircuitBreakerSettings circuitBreakerSettings;
+    @Nullable
+    private final MetricsRecorder metricsRecorder;
+    private final ImmutableList<RequestInterceptor> interceptors;
+    @Nullable
+    private final Executor parseExecutor;
+    @Nullable
+    private final ConcurrencyLimitSettings concurrencyLimitSettings;
+
+    JiraRestClientOptions(@Nullable Integer maxTotalConnections, @Nullable Integer maxConnectionsPerHost,
+                          @Nullable Integer ioThreadCount, @Nullable Integer maxCallbackThreadPoolSize,
+                          @Nullable Duration connectionTimeout, @Nullable Duration socketTimeout,
+                          @Nullable Duration requestTimeout, @Nullable Duration connectionTimeToLive,
+                          boolean prewarmServerInfo, boolean coalesceGetRequests,
+                          long responseCacheMaxBytes, @Nullable MetadataCacheSettings metadataCacheSettings,
+                          @Nullable RateLimitSettings rateLimitSettings, @Nullable RetrySettings retrySettings,
+                          @Nullable ScheduledExecutorService scheduler,
+                          @Nullable CircuitBreakerSettings circuitBreakerSettings,
+                          @Nullable MetricsRecorder metricsRecorder,
+                          List<RequestInterceptor> interceptors,
+                          @Nullable Executor parseExecutor,
+                          @Nullable ConcurrencyLimitSettings concurrencyLimitSettings) {
+        this.maxTotalConnections = maxTotalConnections;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.ioThreadCount = ioThreadCount;
+        this.maxCallbackThreadPoolSize = maxCallbackThreadPoolSize;
+        this.connectionTimeout = connectionTimeout;
+        this.socketTimeout = socketTimeout;
+        this.requestTimeout = requestTimeout;
+        this.connectionTimeToLive = connectionTimeToLive;
+        this.prewarmServerInfo = prewarmServerInfo;
+        this.coalesceGetRequests = coalesceGetRequests;
+        this.responseCacheMaxBytes = responseCacheMaxBytes;
+        this.metadataCacheSettings = metadataCacheSettings;
+        this.rateLimitSettings = rateLimitSettings;
+        this.retrySettings = retrySettings;
+        this.scheduler = scheduler;
+        this.circuitBreakerSettings = circuitBreakerSettings;
+        this.metricsRecorder = metricsRecorder;
+        this.interceptors = ImmutableList.copyOf(interceptors);
+        this.parseExecutor = parseExecutor;
+        this.concurrencyLimitSettings = concurrencyLimitSettings;
+    }
+
+    /**
+     * @return maximum number of pooled connections, for all hosts together
+     */
+    @Nullable
+    public Integer getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * @return maximum number of pooled connections to a single host; requests above it wait for a free connection
+     */
+    @Nullable
+    public Integer getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * @return number of threads doing the non-blocking network IO
+     */
+    @Nullable
+    public Integer getIoThreadCount() {
+        return ioThreadCount;
+    }
+
+    /**
+     * @return maximum number of threads completing the returned promises (running their callbacks)
+     */
+    @Nullable
+    public Integer getMaxCallbackThreadPoolSize() {
+        return maxCallbackThreadPoolSize;
+    }
+
+    @Nullable
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * @return maximum period of inactivity while waiting for data
+     */
+    @Nullable
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    /**
+     * @return maximum time of the whole request, including waiting for a free connection
+     */
+    @Nullable
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * @return time after which pooled connections are closed and evicted from the pool, even when idle
+     */
+    @Nullable
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    /**
+     * @return whether the server info (needed by version dependent calls like adding a comment) should be requested
+     * as soon as the client is created, instead of by the first call needing it
+     */
+    public boolean isPrewarmServerInfo() {
+        return prewarmServerInfo;
+    }
+
+    /**
+     * @return whether concurrent identical GET requests (same resource, same conditional headers) should share one
+     * HTTP request; each caller parses its own copy of the response. Finished requests are not cached.
+     */
+    public boolean isCoalesceGetRequests() {
+        return coalesceGetRequests;
+    }
+
+    /**
+     * @return budget, in bytes of response bodies, of the cache of GET responses revalidated with
+     * <code>ETag</code>/<code>Last-Modified</code>, or <code>0</code> when such responses are not cached
+     */
+    public long getResponseCacheMaxBytes() {
+        return responseCacheMaxBytes;
+    }
+
+    /**
+     * @return settings of the metadata cache, or <code>null</code> when metadata is not cached. When set, the
+     * metadata client of the created {@link JiraRestClient} is an {@link IndexedMetadataRestClient}.
+     */
+    @Nullable
+    public MetadataCacheSettings getMetadataCacheSettings() {
+        return metadataCacheSettings;
+    }
+
+    /**
+     * @return settings of the rate limiting shared by all the requests of the client, or <code>null</code> when
+     * requests are not limited and throttling responses are returned to the caller
+     */
+    @Nullable
+    public RateLimitSettings getRateLimitSettings() {
+        return rateLimitSettings;
+    }
+
+    /**
+     * @return settings of retrying requests failed for a transient reason, or <code>null</code> when such requests
+     * are not retried
+     */
+    @Nullable
+    public RetrySettings getRetrySettings() {
+        return retrySettings;
+    }
+
+    /**
+     * @return scheduler of delayed requests (rate limited or retried), or <code>null</code> for a scheduler shared
+     * by all the clients. The scheduler only hands the requests over to the HTTP client, so one thread is enough.
+     */
+    @Nullable
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return settings of the circuit breakers guarding each endpoint, or <code>null</code> when requests are not
+     * guarded by circuit breakers
+     */
+    @Nullable
+    public CircuitBreakerSettings getCircuitBreakerSettings() {
+        return circuitBreakerSettings;
+    }
+
+    /**
+     * @return recorder of request and parsing measurements, or <code>null</code> when nothing is measured
+     */
+    @Nullable
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * @return interceptors of the requests, in chain order
+     */
+    public ImmutableList<RequestInterceptor> getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * @return executor parsing the responses, or <code>null</code> when they are parsed on the HTTP client's callback
+     * threads
+     */
+    @Nullable
+    public Executor getParseExecutor() {
+        return parseExecutor;
+    }
+
+    /**
+     * @return settings of the adaptive limit of requests in flight, or <code>null</code> when the number of
+     * requests in flight is limited only by the connection pool
+     */
+    @Nullable
+    public ConcurrencyLimitSettings getConcurrencyLimitSettings() {
+        return concurrencyLimitSettings;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().
+                add("maxTotalConnections", maxTotalConnections).
+                add("maxConnectionsPerHost", maxConnectionsPerHost).
+                add("ioThreadCount", ioThreadCount).
+                add("maxCallbackThreadPoolSize", maxCallbackThreadPoolSize).
+                add("connectionTimeout", connectionTimeout).
+                add("socketTimeout", socketTimeout).
+                add("requestTimeout", requestTimeout).
+                add("connectionTimeToLive", connectionTimeToLive).
+                add("prewarmServerInfo", prewarmServerInfo).
+                add("coalesceGetRequests", coalesceGetRequests).
+                add("responseCacheMaxBytes", responseCacheMaxBytes).
+                add("metadataCacheSettings", metadataCacheSettings).
+                add("rateLimitSettings", rateLimitSettings).
+                add("retrySettings", retrySettings).
+                add("scheduler", scheduler).
+                add("circuitBreakerSettings", circuitBreakerSettings).
+                add("metricsRecorder", metricsRecorder).
+                add("interceptors", interceptors).
+                add("parseExecutor", parseExecutor).
+                add("concurrencyLimitSettings", concurrencyLimitSettings).
+                toString();
+    }
+}
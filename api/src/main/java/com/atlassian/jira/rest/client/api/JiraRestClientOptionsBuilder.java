@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Builder class for {@link JiraRestClientOptions}. All settings are optional; those not set keep their
+ * defaults.
+ *
+ * @since v5.2.2
+ */
+public class JiraRestClientOptionsBuilder {
+    private Integer maxTotalConnections;
+    private Integer maxConnectionsPerHost;
+    private Integer ioThreadCount;
+    private Integer maxCallbackThreadPoolSize;
+    private Duration connectionTimeout;
+    private Duration socketTimeout;
+    private Duration requestTimeout;
+    private Duration connectionTimeToLive;
+    private boolean prewarmServerInfo;
+    private boolean coalesceGetRequests;
+    private long responseCacheMaxBytes;
+    private MetadataCacheSettings metadataCacheSettings;
+    private RateLimitSettings rateLimitSettings;
+    private RetrySettings retrySettings;
+    private ScheduledExecutorService scheduler;
+    private CircuitBreakerSettings circuitBreakerSettings;
+    private MetricsRecorder metricsRecorder;
+    private final List<RequestInterceptor> interceptors = new ArrayList<>();
+    private Executor parseExecutor;
+    private ConcurrencyLimitSettings concurrencyLimitSettings;
+
+    public JiraRestClientOptionsBuilder setMaxTotalConnections(int maxTotalConnections) {
+        this.maxTotalConnections = positive(maxTotalConnections, "maxTotalConnections");
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = positive(maxConnectionsPerHost, "maxConnectionsPerHost");
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setIoThreadCount(int ioThreadCount) {
+        this.ioThreadCount = positive(ioThreadCount, "ioThreadCount");
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setMaxCallbackThreadPoolSize(int maxCallbackThreadPoolSize) {
+        this.maxCallbackThreadPoolSize = positive(maxCallbackThreadPoolSize, "maxCallbackThreadPoolSize");
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setSocketTimeout(Duration socketTimeout) {
+        this.socketTimeout = socketTimeout;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setConnectionTimeToLive(Duration connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setPrewarmServerInfo(boolean prewarmServerInfo) {
+        this.prewarmServerInfo = prewarmServerInfo;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setCoalesceGetRequests(boolean coalesceGetRequests) {
+        this.coalesceGetRequests = coalesceGetRequests;
+        return this;
+    }
+
+    /**
+     * Enables caching of GET responses carrying an <code>ETag</code> or <code>Last-Modified</code> header. Cached
+     * responses are revalidated on every use, so only unchanged resources are served from the cache.
+     *
+     * @param responseCacheMaxBytes budget of the cache, in bytes of cached response bodies
+     */
+    public JiraRestClientOptionsBuilder setResponseCacheMaxBytes(long responseCacheMaxBytes) {
+        Preconditions.checkArgument(responseCacheMaxBytes > 0, "responseCacheMaxBytes must be positive");
+        this.responseCacheMaxBytes = responseCacheMaxBytes;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setMetadataCacheSettings(MetadataCacheSettings metadataCacheSettings) {
+        this.metadataCacheSettings = metadataCacheSettings;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setRateLimitSettings(RateLimitSettings rateLimitSettings) {
+        this.rateLimitSettings = rateLimitSettings;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setRetrySettings(RetrySettings retrySettings) {
+        this.retrySettings = retrySettings;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setCircuitBreakerSettings(CircuitBreakerSettings circuitBreakerSettings) {
+        this.circuitBreakerSettings = circuitBreakerSettings;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+        return this;
+    }
+
+    /**
+     * Appends an interceptor to the chain; interceptors see the requests in the order they were added.
+     */
+    public JiraRestClientOptionsBuilder addInterceptor(RequestInterceptor interceptor) {
+        interceptors.add(Preconditions.checkNotNull(interceptor, "interceptor"));
+        return this;
+    }
+
+    /**
+     * Parses the responses on given executor (e.g. a <code>ForkJoinPool</code> sized to the cores) instead of the HTTP
+     * client's callback threads, so a large response does not delay the completion of other requests.
+     */
+    public JiraRestClientOptionsBuilder setParseExecutor(Executor parseExecutor) {
+        this.parseExecutor = parseExecutor;
+        return this;
+    }
+
+    public JiraRestClientOptionsBuilder setConcurrencyLimitSettings(ConcurrencyLimitSettings concurrencyLimitSettings) {
+        this.concurrencyLimitSettings = concurrencyLimitSettings;
+        return this;
+    }
+
+    public JiraRestClientOptions build() {
+        return new JiraRestClientOptions(maxTotalConnections, maxConnectionsPerHost, ioThreadCount,
+                maxCallbackThreadPoolSize, connectionTimeout, socketTimeout, requestTimeout, connectionTimeToLive,
+                prewarmServerInfo, coalesceGetRequests, responseCacheMaxBytes,
+                metadataCacheSettings, rateLimitSettings, retrySettings, scheduler,
+                circuitBreakerSettings, metricsRecorder, interceptors, parseExecutor,
+                concurrencyLimitSettings);
+    }
+
+    private static int positive(int value, String name) {
+        Preconditions.checkArgument(value > 0, "%s must be positive", name);
+        return value;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the in-memory cache of server metadata (issue types, statuses, fields, server info, ...).
+ * Each cached resource is kept for its time to live. Once a given fraction of it has elapsed, the next read
+ * refreshes the resource in the background, still answering with the cached value, so frequently read
+ * resources are never reloaded while a caller waits.
+ * {@link MetadataCacheSettingsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2.2
+ */
+public class MetadataCacheSettings {
+
+    public enum Resource {
+        ISSUE_TYPES, ISSUE_LINK_TYPES, STATUSES, PRIORITIES, RESOLUTIONS, FIELDS, SERVER_INFO
+    }
+
+    private final Duration defaultTimeToLive;
+    private final ImmutableMap<Resource, Duration> timesToLive;
+    private final double refreshAheadFactor;
+
+    public MetadataCacheSettings(Duration defaultTimeToLive, Map<Resource, Duration> timesToLive,
+                                 double refreshAheadFactor) {
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.timesToLive = ImmutableMap.copyOf(timesToLive);
+        this.refreshAheadFactor = refreshAheadFactor;
+    }
+
+    public Duration getTimeToLive(Resource resource) {
+        return timesToLive.getOrDefault(resource, defaultTimeToLive);
+    }
+
+    /**
+     * @return fraction of the time to live after which a read triggers refreshing of the resource
+     */
+    public double getRefreshAheadFactor() {
+        return refreshAheadFactor;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("defaultTimeToLive", defaultTimeToLive).
+                add("timesToLive", timesToLive).
+                add("refreshAheadFactor", refreshAheadFactor).
+                toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Builder class for {@link MetadataCacheSettings}. By default every resource lives for an hour and is refreshed
+ * when read after 80% of that time.
+ *
+ * @since v5.2.2
+ */
+public class MetadataCacheSettingsBuilder {
+    private Duration defaultTimeToLive = Duration.ofHours(1);
+    private final Map<MetadataCacheSettings.Resource, Duration> timesToLive = new EnumMap<>(MetadataCacheSettings.Resource.class);
+    private double refreshAheadFactor = 0.8;
+
+    public MetadataCacheSettingsBuilder setDefaultTimeToLive(Duration defaultTimeToLive) {
+        this.defaultTimeToLive = positive(defaultTimeToLive);
+        return this;
+    }
+
+    public MetadataCacheSettingsBuilder setTimeToLive(MetadataCacheSettings.Resource resource, Duration timeToLive) {
+        timesToLive.put(resource, positive(timeToLive));
+        return this;
+    }
+
+    public MetadataCacheSettingsBuilder setRefreshAheadFactor(double refreshAheadFactor) {
+        Preconditions.checkArgument(refreshAheadFactor > 0 && refreshAheadFactor <= 1,
+                "refreshAheadFactor must be in (0, 1]");
+        this.refreshAheadFactor = refreshAheadFactor;
+        return this;
+    }
+
+    public MetadataCacheSettings build() {
+        return new MetadataCacheSettings(defaultTimeToLive, timesToLive, refreshAheadFactor);
+    }
+
+    private static Duration positive(Duration timeToLive) {
+        Preconditions.checkArgument(!timeToLive.isNegative() && !timeToLive.isZero(), "time to live must be positive");
+        return timeToLive;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable list of metadata entities (issue types, statuses, fields, ...) indexed by id and by name.
+ * When several entities share a name, the first one in the list is found by name.
+ *
+ * @since v5.2.2
+ */
+public class MetadataIndex<T extends NamedEntity> implements Iterable<T> {
+
+    private final ImmutableList<T> values;
+    private final ImmutableMap<String, T> byId;
+    private final ImmutableMap<String, T> byName;
+
+    private MetadataIndex(final ImmutableList<T> values, final ImmutableMap<String, T> byId,
+                          final ImmutableMap<String, T> byName) {
+        this.values = values;
+        this.byId = byId;
+        this.byName = byName;
+    }
+
+    /**
+     * @param values     entities to index
+     * @param idFunction gives the id of an entity; entities without id are not indexed by id
+     */
+    public static <T extends NamedEntity> MetadataIndex<T> create(final Iterable<? extends T> values,
+                                                                  final Function<? super T, ?> idFunction) {
+        final ImmutableList<T> list = ImmutableList.copyOf(values);
+        final Map<String, T> byId = new HashMap<>();
+        final Map<String, T> byName = new HashMap<>();
+        for (T value : list) {
+            final Object id = idFunction.apply(value);
+            if (id != null) {
+                byId.putIfAbsent(id.toString(), value);
+            }
+            if (value.getName() != null) {
+                byName.putIfAbsent(value.getName(), value);
+            }
+        }
+        return new MetadataIndex<>(list, ImmutableMap.copyOf(byId), ImmutableMap.copyOf(byName));
+    }
+
+    public ImmutableList<T> getValues() {
+        return values;
+    }
+
+    @Nullable
+    public T getById(final String id) {
+        return byId.get(id);
+    }
+
+    @Nullable
+    public T getById(final long id) {
+        return byId.get(Long.toString(id));
+    }
+
+    @Nullable
+    public T getByName(final String name) {
+        return byName.get(name);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return values.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("values", values).
+                toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * Settings of the rate limiting of requests sent by one {@link JiraRestClient}.
+ * <p>
+ * Requests may be limited on the client side by a token bucket, letting through bursts of up to
+ * {@link #getBurstSize()} requests and {@link #getPermitsPerSecond()} requests per second on average. Independently
+ * of that, responses telling that JIRA throttles the client (<code>429 Too Many Requests</code>, or
+ * <code>503 Service Unavailable</code> with a <code>Retry-After</code> header) pause all the requests of the client
+ * for the time requested by the server, and the throttled request is sent again afterwards. Waiting never blocks
+ * a thread.
+ * {@link RateLimitSettingsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2.2
+ */
+public class RateLimitSettings {
+
+    @Nullable
+    private final Double permitsPerSecond;
+    private final int burstSize;
+    private final int maxAttempts;
+    private final Duration defaultRetryAfter;
+    private final Duration maxRetryAfter;
+
+    public RateLimitSettings(@Nullable Double permitsPerSecond, int burstSize, int maxAttempts,
+                             Duration defaultRetryAfter, Duration maxRetryAfter) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burstSize = burstSize;
+        this.maxAttempts = maxAttempts;
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    /**
+     * @return average number of requests sent per second, or <code>null</code> when requests are limited only
+     * when the server asks for it
+     */
+    @Nullable
+    public Double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * @return number of requests which may be sent at once after a period of inactivity
+     */
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * @return maximum number of times a throttled request is sent, including the first one. The response to
+     * the last attempt is returned to the caller as it is. With {@link RetrySettings} too, retries count as well, and
+     * a request is sent at most as many times as the highest of both limits.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return pause after a <code>429</code> response without <code>Retry-After</code> header
+     */
+    public Duration getDefaultRetryAfter() {
+        return defaultRetryAfter;
+    }
+
+    /**
+     * @return longest pause the client agrees to; responses asking for a longer one are returned to the caller
+     */
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("permitsPerSecond", permitsPerSecond).
+                add("burstSize", burstSize).
+                add("maxAttempts", maxAttempts).
+                add("defaultRetryAfter", defaultRetryAfter).
+                add("maxRetryAfter", maxRetryAfter).
+                toString();
+    }
+}
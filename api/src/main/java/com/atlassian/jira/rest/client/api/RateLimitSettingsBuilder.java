@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+
+/**
+ * Builder class for {@link RateLimitSettings}. By default there is no client side limit, throttled requests are
+ * sent up to 5 times, and the client pauses for 1 second after a <code>429</code> without <code>Retry-After</code>,
+ * for 1 minute at most.
+ *
+ * @since v5.2.2
+ */
+public class RateLimitSettingsBuilder {
+    private Double permitsPerSecond;
+    private int burstSize = 1;
+    private int maxAttempts = 5;
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+    private Duration maxRetryAfter = Duration.ofMinutes(1);
+
+    public RateLimitSettingsBuilder setPermitsPerSecond(double permitsPerSecond) {
+        Preconditions.checkArgument(permitsPerSecond > 0, "permitsPerSecond must be positive");
+        this.permitsPerSecond = permitsPerSecond;
+        return this;
+    }
+
+    public RateLimitSettingsBuilder setBurstSize(int burstSize) {
+        Preconditions.checkArgument(burstSize > 0, "burstSize must be positive");
+        this.burstSize = burstSize;
+        return this;
+    }
+
+    public RateLimitSettingsBuilder setMaxAttempts(int maxAttempts) {
+        Preconditions.checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public RateLimitSettingsBuilder setDefaultRetryAfter(Duration defaultRetryAfter) {
+        Preconditions.checkArgument(!defaultRetryAfter.isNegative(), "defaultRetryAfter must not be negative");
+        this.defaultRetryAfter = defaultRetryAfter;
+        return this;
+    }
+
+    public RateLimitSettingsBuilder setMaxRetryAfter(Duration maxRetryAfter) {
+        Preconditions.checkArgument(!maxRetryAfter.isNegative(), "maxRetryAfter must not be negative");
+        this.maxRetryAfter = maxRetryAfter;
+        return this;
+    }
+
+    public RateLimitSettings build() {
+        return new RateLimitSettings(permitsPerSecond, burstSize, maxAttempts, defaultRetryAfter, maxRetryAfter);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+
+/**
+ * Handler authenticating the requests with credentials it obtains from the server and renews when they are
+ * rejected, e.g. a session cookie.
+ * <p>
+ * The client asks for credentials before sending the first request, and when the server answers a request with
+ * <code>401 Unauthorized</code>, it asks for new credentials and sends the request once more.
+ *
+ * @param <C> type of the credentials
+ * @since v5.2.2
+ */
+public interface RenewableAuthenticationHandler<C> extends AuthenticationHandler {
+
+    /**
+     * @return credentials to authenticate the requests with, or <code>null</code> when none have been obtained yet
+     */
+    @Nullable
+    C getCredentials();
+
+    /**
+     * Applies given credentials to a request.
+     */
+    void configure(Request.Builder builder, C credentials);
+
+    /**
+     * Obtains credentials. Implementations must be thread safe and make at most one attempt at a time: callers
+     * arriving while an attempt is in progress share its result, and callers reporting credentials which have
+     * already been replaced get the current ones without a new attempt.
+     *
+     * @param httpClient client to send the authentication requests with; its requests are not authenticated by
+     *                   this handler
+     * @param rejected   credentials rejected by the server, <code>null</code> when there are none yet
+     * @return promise of the credentials to use from now on
+     */
+    Promise<C> renew(HttpClient httpClient, @Nullable C rejected);
+
+    @Override
+    default void configure(Request.Builder builder) {
+        final C credentials = getCredentials();
+        if (credentials != null) {
+            configure(builder, credentials);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Hook into the request path of a {@link JiraRestClient}, registered with
+ * {@link JiraRestClientOptionsBuilder#addInterceptor(RequestInterceptor)}.
+ * <p>
+ * Interceptors form an ordered chain: the first registered one sees the request first and the response last.
+ * Each interceptor may implement one or both of the following:
+ * <ul>
+ * <li>{@link #configure(Request.Builder)} - changes the outgoing request while it is being built, right after the
+ * {@link AuthenticationHandler}, e.g. to add compression or tracing headers without copying the request;</li>
+ * <li>{@link #intercept(Request, Chain)} - wraps the execution of the built request, e.g. to time it, short-circuit
+ * it with a canned response or a failure, or transform the response.</li>
+ * </ul>
+ * Interceptors wrap the built-in stages (rate limiting, retries, circuit breaking), so each call made by the client is
+ * intercepted once, regardless of how many attempts it takes. Implementations must be thread safe.
+ *
+ * @since v5.2.2
+ */
+public interface RequestInterceptor {
+
+    /**
+     * Next element of the chain: either the following interceptor or the built-in stages sending the request.
+     */
+    @FunctionalInterface
+    interface Chain {
+        Promise<Response> proceed(Request request);
+    }
+
+    /**
+     * Called for each request, before it is built.
+     */
+    default void configure(Request.Builder builder) {
+    }
+
+    /**
+     * Called for each built request. Implementations pass the request on with {@link Chain#proceed(Request)}, or
+     * complete it without proceeding.
+     */
+    default Promise<Response> intercept(Request request, Chain chain) {
+        return chain.proceed(request);
+    }
+}
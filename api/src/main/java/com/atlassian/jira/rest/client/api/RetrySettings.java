@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings of retrying requests which failed for a transient reason: a connection error or one of the
+ * {@link #getRetryableStatuses() retryable statuses} (by default the gateway errors of a load balancer).
+ * <p>
+ * Only idempotent requests (GET, HEAD, OPTIONS, PUT, DELETE) are retried, unless started within
+ * {@link RetryableCall#run(java.util.function.Supplier)}. Retries wait for an exponentially growing, randomized
+ * backoff without blocking a thread. To avoid multiplying the load of a server in trouble, retries are limited by
+ * a budget: on top of {@link #getMinRetryBudget()} retries, the client retries at most
+ * {@link #getRetryBudgetRatio()} of its requests.
+ * {@link RetrySettingsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2.2
+ */
+public class RetrySettings {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double backoffMultiplier;
+    private final ImmutableSet<Integer> retryableStatuses;
+    private final double retryBudgetRatio;
+    private final int minRetryBudget;
+
+    public RetrySettings(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double backoffMultiplier,
+                         Set<Integer> retryableStatuses, double retryBudgetRatio, int minRetryBudget) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.backoffMultiplier = backoffMultiplier;
+        this.retryableStatuses = ImmutableSet.copyOf(retryableStatuses);
+        this.retryBudgetRatio = retryBudgetRatio;
+        this.minRetryBudget = minRetryBudget;
+    }
+
+    /**
+     * @return maximum number of times a request is sent, including the first one. With {@link RateLimitSettings}
+     * too, resends of throttled requests count as well, and a request is sent at most as many times as the highest
+     * of both limits.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return upper bound of the randomized backoff before the first retry
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * @return upper bound of the randomized backoff before any retry
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * @return factor by which the backoff grows with every retry of a request
+     */
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public ImmutableSet<Integer> getRetryableStatuses() {
+        return retryableStatuses;
+    }
+
+    /**
+     * @return maximum number of retries per request sent, in the long run
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * @return number of retries allowed regardless of the ratio, e.g. when the client has just been created
+     */
+    public int getMinRetryBudget() {
+        return minRetryBudget;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("maxAttempts", maxAttempts).
+                add("initialBackoff", initialBackoff).
+                add("maxBackoff", maxBackoff).
+                add("backoffMultiplier", backoffMultiplier).
+                add("retryableStatuses", retryableStatuses).
+                add("retryBudgetRatio", retryBudgetRatio).
+                add("minRetryBudget", minRetryBudget).
+                toString();
+    }
+}
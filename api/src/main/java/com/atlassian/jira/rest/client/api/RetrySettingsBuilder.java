@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Builder class for {@link RetrySettings}. By default requests are sent up to 3 times, backing off for up to
+ * 100 ms, 200 ms, ... (at most 5 s), on connection errors and on the 502, 503 and 504 statuses. The retry budget
+ * is 20% of the requests, plus 10 retries.
+ *
+ * @since v5.2.2
+ */
+public class RetrySettingsBuilder {
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(5);
+    private double backoffMultiplier = 2;
+    private Set<Integer> retryableStatuses = ImmutableSet.of(502, 503, 504);
+    private double retryBudgetRatio = 0.2;
+    private int minRetryBudget = 10;
+
+    public RetrySettingsBuilder setMaxAttempts(int maxAttempts) {
+        Preconditions.checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public RetrySettingsBuilder setInitialBackoff(Duration initialBackoff) {
+        Preconditions.checkArgument(!initialBackoff.isNegative(), "initialBackoff must not be negative");
+        this.initialBackoff = initialBackoff;
+        return this;
+    }
+
+    public RetrySettingsBuilder setMaxBackoff(Duration maxBackoff) {
+        Preconditions.checkArgument(!maxBackoff.isNegative(), "maxBackoff must not be negative");
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    public RetrySettingsBuilder setBackoffMultiplier(double backoffMultiplier) {
+        Preconditions.checkArgument(backoffMultiplier >= 1, "backoffMultiplier must be at least 1");
+        this.backoffMultiplier = backoffMultiplier;
+        return this;
+    }
+
+    public RetrySettingsBuilder setRetryableStatuses(Set<Integer> retryableStatuses) {
+        this.retryableStatuses = retryableStatuses;
+        return this;
+    }
+
+    public RetrySettingsBuilder setRetryBudgetRatio(double retryBudgetRatio) {
+        Preconditions.checkArgument(retryBudgetRatio >= 0, "retryBudgetRatio must not be negative");
+        this.retryBudgetRatio = retryBudgetRatio;
+        return this;
+    }
+
+    public RetrySettingsBuilder setMinRetryBudget(int minRetryBudget) {
+        Preconditions.checkArgument(minRetryBudget >= 0, "minRetryBudget must not be negative");
+        this.minRetryBudget = minRetryBudget;
+        return this;
+    }
+
+    public RetrySettings build() {
+        return new RetrySettings(maxAttempts, initialBackoff, maxBackoff, backoffMultiplier, retryableStatuses,
+                retryBudgetRatio, minRetryBudget);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks requests which are not idempotent (e.g. POST) as safe to retry, when retries are enabled by
+ * {@link JiraRestClientOptions#getRetrySettings()}:
+ * <pre>
+ * Promise&lt;BasicIssue&gt; created = RetryableCall.run(() -&gt; issueClient.createIssue(issueInput));
+ * </pre>
+ * Only the requests started by the call itself, on the calling thread, are marked; requests started later,
+ * e.g. in callbacks of the returned promise, are not.
+ *
+ * @since v5.2.2
+ */
+public final class RetryableCall {
+
+    private static final ThreadLocal<Boolean> active = new ThreadLocal<>();
+
+    private RetryableCall() {
+    }
+
+    public static <T> T run(Supplier<T> call) {
+        final Boolean previous = active.get();
+        active.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                active.remove();
+            } else {
+                active.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return whether the current thread is running a call marked as retryable
+     */
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(active.get());
+    }
+}
@@ -17,12 +17,15 @@
 package com.atlassian.jira.rest.client.api;
 
 import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import io.atlassian.util.concurrent.Promise;
 
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * The client handling search REST resource
@@ -61,6 +64,68 @@ public interface SearchRestClient {
      */
     Promise<SearchResult> searchJql(@Nullable String jql, @Nullable Integer maxResults, @Nullable Integer startAt, @Nullable Set<String> fields);
 
+    /**
+     * Performs a JQL search returning all the matching issues, fetching the pages as they are consumed.
+     * While a page is being consumed, up to <code>maxBufferedPages</code> following pages are already requested.
+     * <p>
+     * The stream is lazy and sequential; {@link Stream#iterator()} may be used to get a plain iterator.
+     * Close the stream when not consuming it to the end, so prefetched pages are cancelled.
+     *
+     * @param jql              a valid JQL query, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @param pageSize         maximum number of issues requested per page. JIRA may use smaller pages.
+     * @param maxBufferedPages maximum number of pages requested ahead of the consumer (at least 1)
+     * @param fields           set of fields which should be retrieved, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @return issues matching given JQL query
+     * @throws RestClientException while consuming the stream, in case of problems fetching a page
+     * @throws UnsupportedOperationException by default, for clients implemented before this method
+     * @since 5.2.2
+     */
+    default Stream<Issue> searchJqlStream(@Nullable String jql, int pageSize, int maxBufferedPages, @Nullable Set<String> fields) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support streamed searches");
+    }
+
+    /**
+     * Performs a JQL search handing all the result pages to given consumer, in order, without blocking.
+     * The next page is handed over once the promise returned by the consumer for the previous page is done,
+     * while up to <code>maxBufferedPages</code> following pages are already requested.
+     *
+     * @param jql              a valid JQL query, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @param pageSize         maximum number of issues requested per page. JIRA may use smaller pages.
+     * @param maxBufferedPages maximum number of pages requested ahead of the consumer (at least 1)
+     * @param fields           set of fields which should be retrieved, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @param pageConsumer     called for each page; a failed promise stops the search
+     * @return promise done after the last page is consumed, or failed on the first problem
+     * @throws UnsupportedOperationException by default, for clients implemented before this method
+     * @since 5.2.2
+     */
+    default Promise<Void> searchJqlPages(@Nullable String jql, int pageSize, int maxBufferedPages, @Nullable Set<String> fields,
+                                         Function<? super SearchResult, ? extends Promise<?>> pageConsumer) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support paged searches");
+    }
+
+    /**
+     * Performs a JQL search returning all the matching issues, fetching independent slices of the result concurrently.
+     * Suited for very large results, where sequential paging is latency bound and deep offsets get slow.
+     * <p>
+     * The query is split into contiguous issue id ranges, each one paged separately in id order (any <code>ORDER BY</code>
+     * clause of the query is dropped). Every matching issue is returned exactly once; issues created after the search
+     * started are not returned. Issues from different slices are interleaved, so the stream is not ordered.
+     * <p>
+     * Close the stream when not consuming it to the end, so the slices are stopped.
+     *
+     * @param jql         a valid JQL query without <code>ORDER BY</code>, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @param pageSize    maximum number of issues requested per page. JIRA may use smaller pages.
+     * @param parallelism maximum number of slices fetched at the same time
+     * @param fields      set of fields which should be retrieved, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @return issues matching given JQL query
+     * @throws RestClientException while consuming the stream, in case of problems fetching a page
+     * @throws UnsupportedOperationException by default, for clients implemented before this method
+     * @since 5.2.2
+     */
+    default Stream<Issue> searchJqlPartitioned(@Nullable String jql, int pageSize, int parallelism, @Nullable Set<String> fields) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support partitioned searches");
+    }
+
     /**
      * Retrieves list of your favourite filters.
      *
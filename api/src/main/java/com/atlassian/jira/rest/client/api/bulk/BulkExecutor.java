@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.bulk;
+
+import com.google.common.base.Preconditions;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs an operation (e.g. <code>issueClient::getIssue</code>) for many inputs with at most a given number of
+ * operations in flight. Inputs are pulled from the iterator or stream only when an operation completes, so however
+ * many inputs there are, no more than <code>maxInFlight</code> requests and results are pending at a time:
+ * <pre>
+ * BulkRun run = client.newBulkExecutor(32).execute(issueKeys.stream(), issueClient::getIssue, listener);
+ * BulkProgress progress = run.getCompletion().claim();
+ * </pre>
+ * Operations are started on the thread calling {@link #execute} and on the threads completing previous operations.
+ *
+ * @since v5.2.2
+ */
+public class BulkExecutor {
+
+    private final int maxInFlight;
+
+    public BulkExecutor(final int maxInFlight) {
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be positive");
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public <I, R> BulkRun execute(final Stream<? extends I> inputs, final Function<? super I, ? extends Promise<? extends R>> operation,
+                                  final BulkListener<? super I, ? super R> listener) {
+        return execute(inputs.iterator(), operation, listener);
+    }
+
+    /**
+     * @param inputs    inputs of the operations, read from one thread at a time
+     * @param operation operation started for each input
+     * @param listener  receives the result of each operation
+     */
+    public <I, R> BulkRun execute(final Iterator<? extends I> inputs, final Function<? super I, ? extends Promise<? extends R>> operation,
+                                  final BulkListener<? super I, ? super R> listener) {
+        final Run<I, R> run = new Run<>(inputs, operation, listener);
+        run.dispatch();
+        return run;
+    }
+
+    private class Run<I, R> implements BulkRun {
+        private final Iterator<? extends I> inputs;
+        private final Function<? super I, ? extends Promise<? extends R>> operation;
+        private final BulkListener<? super I, ? super R> listener;
+        private final long startedAt = System.nanoTime();
+        private final CompletableFuture<BulkProgress> completion = new CompletableFuture<>();
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // requests to dispatch; only the thread incrementing it from 0 dispatches, so completions running
+        // synchronously do not recurse and the inputs are read by one thread at a time
+        private final AtomicInteger dispatchRequests = new AtomicInteger();
+        private volatile boolean exhausted;
+
+        private Run(final Iterator<? extends I> inputs, final Function<? super I, ? extends Promise<? extends R>> operation,
+                    final BulkListener<? super I, ? super R> listener) {
+            this.inputs = inputs;
+            this.operation = operation;
+            this.listener = listener;
+        }
+
+        @Override
+        public BulkProgress getProgress() {
+            // completions first, so that they never exceed the submissions
+            final long failures = failed.sum();
+            final long successes = succeeded.sum();
+            return new BulkProgress(submitted.sum(), successes, failures, Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+
+        @Override
+        public Promise<BulkProgress> getCompletion() {
+            return Promises.forCompletionStage(completion);
+        }
+
+        @Override
+        public void cancel() {
+            exhausted = true;
+            completeIfDone();
+        }
+
+        private void dispatch() {
+            if (dispatchRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (startNext()) {
+                    // keep filling the free slots
+                }
+            } while (dispatchRequests.decrementAndGet() != 0);
+        }
+
+        private boolean startNext() {
+            if (exhausted || inFlight.get() >= maxInFlight) {
+                return false;
+            }
+            final I input;
+            try {
+                if (!inputs.hasNext()) {
+                    exhausted = true;
+                    completeIfDone();
+                    return false;
+                }
+                input = inputs.next();
+            } catch (RuntimeException e) {
+                exhausted = true;
+                completion.completeExceptionally(e);
+                return false;
+            }
+            inFlight.incrementAndGet();
+            submitted.increment();
+            final Promise<? extends R> result;
+            try {
+                result = operation.apply(input);
+            } catch (RuntimeException e) {
+                completed(input, null, e);
+                return true;
+            }
+            result.done(r -> completed(input, r, null)).fail(e -> completed(input, null, e));
+            return true;
+        }
+
+        private void completed(final I input, final R result, final Throwable failure) {
+            try {
+                if (failure == null) {
+                    listener.onSuccess(input, result);
+                } else {
+                    listener.onFailure(input, failure);
+                }
+            } finally {
+                (failure == null ? succeeded : failed).increment();
+                inFlight.decrementAndGet();
+                completeIfDone();
+                dispatch();
+            }
+        }
+
+        private void completeIfDone() {
+            if (exhausted && inFlight.get() == 0) {
+                completion.complete(getProgress());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.bulk;
+
+/**
+ * Receives the results of a bulk execution as they complete. Called from the threads completing the operations,
+ * one call per operation, so implementations must be thread safe and should not block.
+ *
+ * @param <I> type of the inputs
+ * @param <R> type of the results
+ * @since v5.2.2
+ */
+public interface BulkListener<I, R> {
+
+    void onSuccess(I input, R result);
+
+    void onFailure(I input, Throwable failure);
+}
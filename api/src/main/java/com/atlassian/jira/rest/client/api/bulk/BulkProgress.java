@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.bulk;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the progress of a bulk execution.
+ *
+ * @since v5.2.2
+ */
+public class BulkProgress {
+
+    private final long submitted;
+    private final long succeeded;
+    private final long failed;
+    private final Duration elapsed;
+
+    public BulkProgress(final long submitted, final long succeeded, final long failed, final Duration elapsed) {
+        this.submitted = submitted;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return number of operations started so far
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getCompleted() {
+        return succeeded + failed;
+    }
+
+    /**
+     * @return number of operations started and not completed yet
+     */
+    public long getInFlight() {
+        return submitted - getCompleted();
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return completed operations per second since the start
+     */
+    public double getThroughput() {
+        final long nanos = elapsed.toNanos();
+        return nanos > 0 ? getCompleted() * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("submitted", submitted).
+                add("succeeded", succeeded).
+                add("failed", failed).
+                add("elapsed", elapsed).
+                toString();
+    }
+}
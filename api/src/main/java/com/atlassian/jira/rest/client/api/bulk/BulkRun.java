@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.bulk;
+
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Bulk execution in progress.
+ *
+ * @since v5.2.2
+ */
+public interface BulkRun {
+
+    /**
+     * @return current progress
+     */
+    BulkProgress getProgress();
+
+    /**
+     * @return promise of the final progress, completed when all the started operations have completed, either after
+     * the last input or after {@link #cancel()}
+     */
+    Promise<BulkProgress> getCompletion();
+
+    /**
+     * Stops starting new operations. Operations already started still complete and are reported.
+     */
+    void cancel();
+}
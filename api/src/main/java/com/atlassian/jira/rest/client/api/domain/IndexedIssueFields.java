@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+
+import javax.annotation.Nullable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Compact, read-only collection of issue fields.
+ * <p>
+ * Field ids, names and types live in {@link IssueFieldDescriptors} shared by all issues of the same response;
+ * each issue keeps only the slots and values of its own fields, in two parallel arrays sized to the fields it has,
+ * however many fields the descriptors have. Fields put in slot order, as the parser does when the descriptors
+ * list the fields in the order of the document, are found by binary search; others by a scan of the issue's fields.
+ * <p>
+ * {@link IssueField} instances are created on access. Iteration follows the order in which the fields were put,
+ * i.e. the order of the fields in the JSON document.
+ *
+ * @since v5.2.2
+ */
+public class IndexedIssueFields extends AbstractCollection<IssueField> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private final IssueFieldDescriptors descriptors;
+    // slots of the present fields and their values, in put order
+    private final int[] slots;
+    private final Object[] values;
+    private final boolean sorted;
+
+    private IndexedIssueFields(final IssueFieldDescriptors descriptors, final int[] slots, final Object[] values,
+                               final boolean sorted) {
+        this.descriptors = descriptors;
+        this.slots = slots;
+        this.values = values;
+        this.sorted = sorted;
+    }
+
+    public static Builder builder(final IssueFieldDescriptors descriptors) {
+        return new Builder(descriptors, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize number of fields which will be put, so the builder allocates no more than needed
+     */
+    public static Builder builder(final IssueFieldDescriptors descriptors, final int expectedSize) {
+        return new Builder(descriptors, expectedSize);
+    }
+
+    public IssueFieldDescriptors getDescriptors() {
+        return descriptors;
+    }
+
+    /**
+     * @param id identifier of the field
+     * @return field with given id, or <code>null</code> when this issue has no such field
+     */
+    @Nullable
+    public IssueField get(final String id) {
+        final int slot = descriptors.slotOf(id);
+        return slot >= 0 ? get(slot) : null;
+    }
+
+    /**
+     * @param name name of the field
+     * @return the first field (in slot order) with given name, or <code>null</code> when this issue has no such field
+     */
+    @Nullable
+    public IssueField getByName(final String name) {
+        for (Integer slot : descriptors.slotsOfName(name)) {
+            final IssueField field = get(slot);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private IssueField get(final int slot) {
+        final int index = indexOf(slots, slots.length, sorted, slot);
+        return index >= 0 ? field(index) : null;
+    }
+
+    private IssueField field(final int index) {
+        final int slot = slots[index];
+        return new IssueField(descriptors.getId(slot), descriptors.getName(slot), descriptors.getType(slot), values[index]);
+    }
+
+    @Override
+    public Iterator<IssueField> iterator() {
+        return new AbstractIterator<IssueField>() {
+            private int index = 0;
+
+            @Override
+            protected IssueField computeNext() {
+                return index < slots.length ? field(index++) : endOfData();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * @return index of given slot among the first <code>size</code> ones, or a negative number when it's not there
+     */
+    private static int indexOf(final int[] slots, final int size, final boolean sorted, final int slot) {
+        if (sorted) {
+            return Arrays.binarySearch(slots, 0, size, slot);
+        }
+        for (int i = 0; i < size; i++) {
+            if (slots[i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static class Builder {
+        private final IssueFieldDescriptors descriptors;
+        private int[] slots;
+        private Object[] values;
+        private int size;
+        private boolean sorted = true;
+
+        private Builder(final IssueFieldDescriptors descriptors, final int capacity) {
+            this.descriptors = descriptors;
+            this.slots = new int[capacity];
+            this.values = new Object[capacity];
+        }
+
+        /**
+         * @param id    id of a field described by the descriptors given to this builder
+         * @param value value of the field, possibly <code>null</code>
+         * @throws IllegalArgumentException when the field is not described
+         * @throws IllegalStateException    when the collection has already been built
+         */
+        public Builder put(final String id, @Nullable final Object value) {
+            Preconditions.checkState(values != null, "Fields already built");
+            final int slot = descriptors.slotOf(id);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Field [" + id + "] is not described by " + descriptors);
+            }
+            // fields in slot order, the usual case, are appended without looking for an earlier value
+            if (size == 0 || sorted && slot > slots[size - 1]) {
+                append(slot, value);
+                return this;
+            }
+            final int index = indexOf(slots, size, sorted, slot);
+            if (index >= 0) {
+                values[index] = value;
+            } else {
+                sorted = false;
+                append(slot, value);
+            }
+            return this;
+        }
+
+        private void append(final int slot, @Nullable final Object value) {
+            if (size == slots.length) {
+                final int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+                slots = Arrays.copyOf(slots, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            slots[size] = slot;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Hands the values over to the built collection, without copying them when the expected size was right,
+         * so the builder can't be used anymore.
+         */
+        public IndexedIssueFields build() {
+            Preconditions.checkState(values != null, "Fields already built");
+            final IndexedIssueFields res = size == slots.length
+                    ? new IndexedIssueFields(descriptors, slots, values, sorted)
+                    : new IndexedIssueFields(descriptors, Arrays.copyOf(slots, size), Arrays.copyOf(values, size), sorted);
+            slots = null;
+            values = null;
+            return res;
+        }
+    }
+}
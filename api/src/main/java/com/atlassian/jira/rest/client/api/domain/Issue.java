@@ -182,6 +182,9 @@ public class Issue extends BasicIssue implements ExpandableResource {
      */
     @Nullable
     public IssueField getField(String id) {
+        if (issueFields instanceof IndexedIssueFields) {
+            return ((IndexedIssueFields) issueFields).get(id);
+        }
         for (IssueField issueField : issueFields) {
             if (issueField.getId().equals(id)) {
                 return issueField;
@@ -200,8 +203,11 @@ public class Issue extends BasicIssue implements ExpandableResource {
      */
     @Nullable
     public IssueField getFieldByName(String name) {
+        if (issueFields instanceof IndexedIssueFields) {
+            return ((IndexedIssueFields) issueFields).getByName(name);
+        }
         for (IssueField issueField : issueFields) {
-            if (issueField.getName().equals(name)) {
+            if (name.equals(issueField.getName())) {
                 return issueField;
             }
         }
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable table describing issue fields (id, name and schema type), as sent by JIRA in the
+ * <code>names</code> and <code>schema</code> sections of an issue or of a search result.
+ * <p>
+ * A single instance is shared by all issues parsed from the same response, so names and types are decoded
+ * once per response instead of once per issue. Each field is assigned a stable, 0-based slot.
+ *
+ * @since v5.2.2
+ */
+public class IssueFieldDescriptors {
+
+    public static final IssueFieldDescriptors EMPTY = create(ImmutableMap.<String, String>of(), ImmutableMap.<String, String>of());
+
+    private static final int MAX_CACHED_EXTENSIONS = 64;
+
+    private final ImmutableMap<String, Integer> slotsById;
+    private final ImmutableListMultimap<String, Integer> slotsByName;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] types;
+    // tables extended by withIds, keyed by the missing ids; created on the first extension
+    private volatile Cache<ImmutableSet<String>, IssueFieldDescriptors> extensions;
+
+    private IssueFieldDescriptors(final ImmutableMap<String, Integer> slotsById,
+                                  final ImmutableListMultimap<String, Integer> slotsByName, final String[] ids,
+                                  final String[] names, final String[] types) {
+        this.slotsById = slotsById;
+        this.slotsByName = slotsByName;
+        this.ids = ids;
+        this.names = names;
+        this.types = types;
+    }
+
+    /**
+     * @param namesById field names keyed by field id
+     * @param typesById schema types keyed by field id
+     * @return descriptors of all the fields present in any of the given maps
+     */
+    public static IssueFieldDescriptors create(final Map<String, String> namesById, final Map<String, String> typesById) {
+        final Set<String> allIds = new LinkedHashSet<>(namesById.keySet());
+        allIds.addAll(typesById.keySet());
+
+        final int size = allIds.size();
+        final ImmutableMap.Builder<String, Integer> slotsById = ImmutableMap.builder();
+        final ImmutableListMultimap.Builder<String, Integer> slotsByName = ImmutableListMultimap.builder();
+        final String[] ids = new String[size];
+        final String[] names = new String[size];
+        final String[] types = new String[size];
+        int slot = 0;
+        for (String id : allIds) {
+            slotsById.put(id, slot);
+            ids[slot] = id;
+            names[slot] = namesById.get(id);
+            types[slot] = typesById.get(id);
+            if (names[slot] != null) {
+                slotsByName.put(names[slot], slot);
+            }
+            slot++;
+        }
+        return new IssueFieldDescriptors(slotsById.build(), slotsByName.build(), ids, names, types);
+    }
+
+    /**
+     * @param extraIds ids of fields which may be missing in this table (e.g. fields not listed in <code>names</code>)
+     * @return this instance when all the given fields are already described, otherwise a table describing
+     * also the missing fields (without name and type). Extended tables are cached, so issues missing the same fields
+     * (e.g. all the issues parsed without the <code>names</code> expand) share one table.
+     */
+    public IssueFieldDescriptors withIds(final Iterable<String> extraIds) {
+        ImmutableSet.Builder<String> missing = null;
+        for (String id : extraIds) {
+            if (!slotsById.containsKey(id)) {
+                if (missing == null) {
+                    missing = ImmutableSet.builder();
+                }
+                missing.add(id);
+            }
+        }
+        if (missing == null) {
+            return this;
+        }
+        final ImmutableSet<String> missingIds = missing.build();
+        final Cache<ImmutableSet<String>, IssueFieldDescriptors> cache = extensions();
+        IssueFieldDescriptors res = cache.getIfPresent(missingIds);
+        if (res == null) {
+            res = extend(missingIds);
+            cache.put(missingIds, res);
+        }
+        return res;
+    }
+
+    private Cache<ImmutableSet<String>, IssueFieldDescriptors> extensions() {
+        Cache<ImmutableSet<String>, IssueFieldDescriptors> res = extensions;
+        if (res == null) {
+            synchronized (this) {
+                res = extensions;
+                if (res == null) {
+                    res = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_EXTENSIONS).build();
+                    extensions = res;
+                }
+            }
+        }
+        return res;
+    }
+
+    private IssueFieldDescriptors extend(final Set<String> missingIds) {
+        final Map<String, String> extraNames = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            extraNames.put(ids[i], names[i]);
+        }
+        for (String id : missingIds) {
+            extraNames.put(id, null);
+        }
+        final Map<String, String> typesById = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            typesById.put(ids[i], types[i]);
+        }
+        return create(extraNames, typesById);
+    }
+
+    /**
+     * @return number of described fields
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param id field id
+     * @return slot of the field with given id or <code>-1</code> when no such field is described
+     */
+    public int slotOf(final String id) {
+        final Integer slot = slotsById.get(id);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * @param name field name
+     * @return slots of all the fields with given name (names do not need to be unique), in slot order
+     */
+    public ImmutableList<Integer> slotsOfName(final String name) {
+        return slotsByName.get(name);
+    }
+
+    public String getId(final int slot) {
+        return ids[slot];
+    }
+
+    @Nullable
+    public String getName(final int slot) {
+        return names[slot];
+    }
+
+    @Nullable
+    public String getType(final int slot) {
+        return types[slot];
+    }
+
+    /**
+     * @param id field id
+     * @return name of the field or <code>null</code> when the field is not described
+     */
+    @Nullable
+    public String getName(final String id) {
+        final int slot = slotOf(id);
+        return slot >= 0 ? names[slot] : null;
+    }
+
+    /**
+     * @param id field id
+     * @return schema type of the field or <code>null</code> when the field is not described
+     */
+    @Nullable
+    public String getType(final String id) {
+        final int slot = slotOf(id);
+        return slot >= 0 ? types[slot] : null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("ids", slotsById.keySet()).
+                toString();
+    }
+}
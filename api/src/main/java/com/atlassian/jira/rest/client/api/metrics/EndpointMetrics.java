@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.metrics;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measurements of one endpoint, collected by {@link HistogramMetricsRecorder}. Durations are in nanoseconds.
+ *
+ * @since v5.2.2
+ */
+public class EndpointMetrics {
+
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Histogram queueTime = new Histogram();
+    private final Histogram responseTime = new Histogram();
+    private final Histogram totalTime = new Histogram();
+    private final Histogram parseTime = new Histogram();
+    private final Histogram responseBytes = new Histogram();
+
+    EndpointMetrics(final String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void requestStarted() {
+        requests.increment();
+        inFlight.incrementAndGet();
+    }
+
+    void requestSent(final long queueNanos) {
+        queueTime.record(queueNanos);
+    }
+
+    void responseReceived(final int statusCode, final long responseNanos) {
+        statusCodes.computeIfAbsent(statusCode, key -> new LongAdder()).increment();
+        responseTime.record(responseNanos);
+    }
+
+    void requestFailed() {
+        failures.increment();
+    }
+
+    void requestCompleted(final long totalNanos) {
+        inFlight.decrementAndGet();
+        totalTime.record(totalNanos);
+    }
+
+    void responseParsed(final long bytes, final long parseNanos) {
+        responseBytes.record(bytes);
+        parseTime.record(parseNanos);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return number of requests started, each counted once regardless of retries
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return number of attempts failed without a response
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return number of responses by status code, counting every attempt
+     */
+    public Map<Integer, Long> getStatusCodeCounts() {
+        final ImmutableMap.Builder<Integer, Long> res = ImmutableMap.builder();
+        for (Map.Entry<Integer, LongAdder> entry : statusCodes.entrySet()) {
+            res.put(entry.getKey(), entry.getValue().sum());
+        }
+        return res.build();
+    }
+
+    /**
+     * @return number of requests started and not completed yet
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return time requests waited in the client before being sent
+     */
+    public Histogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return time from sending a request to receiving its response
+     */
+    public Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * @return time from starting a request to its final response, including queueing and retries
+     */
+    public Histogram getTotalTime() {
+        return totalTime;
+    }
+
+    public Histogram getParseTime() {
+        return parseTime;
+    }
+
+    public Histogram getResponseBytes() {
+        return responseBytes;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("endpoint", endpoint).
+                add("requests", getRequestCount()).
+                add("failures", getFailureCount()).
+                add("statusCodes", getStatusCodeCounts()).
+                add("inFlight", getInFlight()).
+                add("totalTime", totalTime).
+                toString();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the measurements in memory, as counters and {@link Histogram}s per endpoint, without any dependency.
+ *
+ * @since v5.2.2
+ */
+public class HistogramMetricsRecorder implements MetricsRecorder {
+
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> concurrencyLimits = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestStarted(String endpoint) {
+        metrics(endpoint).requestStarted();
+    }
+
+    @Override
+    public void requestSent(String endpoint, long queueNanos) {
+        metrics(endpoint).requestSent(queueNanos);
+    }
+
+    @Override
+    public void responseReceived(String endpoint, String method, int statusCode, long responseNanos) {
+        metrics(endpoint).responseReceived(statusCode, responseNanos);
+    }
+
+    @Override
+    public void requestFailed(String endpoint, String method, Throwable failure, long failureNanos) {
+        metrics(endpoint).requestFailed();
+    }
+
+    @Override
+    public void requestCompleted(String endpoint, long totalNanos) {
+        metrics(endpoint).requestCompleted(totalNanos);
+    }
+
+    @Override
+    public void responseParsed(String endpoint, String parser, long bytes, long parseNanos) {
+        metrics(endpoint).responseParsed(bytes, parseNanos);
+    }
+
+    @Override
+    public void concurrencyLimitChanged(String client, int limit) {
+        concurrencyLimits.put(client, limit);
+    }
+
+    /**
+     * @return current adaptive limit of requests in flight of given client, <code>0</code> when its requests
+     * are not limited
+     */
+    public int getConcurrencyLimit(String client) {
+        return concurrencyLimits.getOrDefault(client, 0);
+    }
+
+    /**
+     * @return current adaptive limits of requests in flight, by client
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        return ImmutableMap.copyOf(concurrencyLimits);
+    }
+
+    /**
+     * @return measurements of given endpoint, or <code>null</code> when it hasn't been requested yet
+     */
+    @Nullable
+    public EndpointMetrics getEndpointMetrics(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * @return measurements of all the endpoints requested so far
+     */
+    public Map<String, EndpointMetrics> getEndpointMetrics() {
+        return ImmutableMap.copyOf(endpoints);
+    }
+
+    private EndpointMetrics metrics(final String endpoint) {
+        final EndpointMetrics metrics = endpoints.get(endpoint);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(endpoint, EndpointMetrics::new);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.metrics;
+
+import javax.annotation.Nullable;
+
+/**
+ * Receives measurements of the requests sent by a {@link com.atlassian.jira.rest.client.api.JiraRestClient}.
+ * <p>
+ * Measurements are grouped by endpoint: the REST API name and the top level resource, e.g. <code>api/search</code>
+ * or <code>api/issue</code>. All the durations are in nanoseconds. Methods are called on hot paths, from any thread,
+ * so implementations must be thread safe and fast; {@link HistogramMetricsRecorder} is a ready to use one, and
+ * adapters to metrics libraries are available as separate modules.
+ * <p>
+ * Recorders which report each request or parse as a single unit with its own start and end (e.g. profiling or
+ * tracing events) can also implement the <code>begin</code>/<code>end</code> methods, which hand a recorder defined
+ * context from the start to the end of the measured operation.
+ *
+ * @since v5.2.2
+ */
+public interface MetricsRecorder {
+
+    /**
+     * A request entered the client's request pipeline.
+     */
+    void requestStarted(String endpoint);
+
+    /**
+     * The request is sent to the server for the first time.
+     *
+     * @param queueNanos time the request waited in the client before, e.g. for rate limiting
+     */
+    void requestSent(String endpoint, long queueNanos);
+
+    /**
+     * The server answered one attempt of a request.
+     *
+     * @param responseNanos time from sending the request to receiving the response
+     */
+    void responseReceived(String endpoint, String method, int statusCode, long responseNanos);
+
+    /**
+     * One attempt of a request failed without a response, e.g. on a connection error.
+     */
+    void requestFailed(String endpoint, String method, Throwable failure, long failureNanos);
+
+    /**
+     * A request left the client's request pipeline, with the final response or failure.
+     *
+     * @param totalNanos time since {@link #requestStarted(String)}, including queueing and all the attempts
+     */
+    void requestCompleted(String endpoint, long totalNanos);
+
+    /**
+     * A response body was parsed.
+     *
+     * @param parser simple class name of the parser
+     * @param bytes  size of the body
+     */
+    void responseParsed(String endpoint, String parser, long bytes, long parseNanos);
+
+    /**
+     * A request enters the client's request pipeline, on the calling thread.
+     *
+     * @return context passed to {@link #endRequest(Object, int, long)} when the request completes, or
+     * <code>null</code> when the request does not need to be followed
+     */
+    @Nullable
+    default Object beginRequest(String endpoint, String method) {
+        return null;
+    }
+
+    /**
+     * A request followed since {@link #beginRequest(String, String)} completed, possibly on another thread.
+     *
+     * @param statusCode status of the final response, <code>0</code> when the request failed without a response
+     * @param bytes      declared size of the response body, <code>-1</code> when unknown
+     */
+    default void endRequest(Object context, int statusCode, long bytes) {
+    }
+
+    /**
+     * Parsing of a response body starts, on the parsing thread.
+     *
+     * @param parser simple class name of the parser
+     * @return context passed to {@link #endParse(Object, long, int)} when parsing succeeds, or <code>null</code>
+     * when the parse does not need to be followed
+     */
+    @Nullable
+    default Object beginParse(String endpoint, String parser) {
+        return null;
+    }
+
+    /**
+     * Parsing followed since {@link #beginParse(String, String)} succeeded.
+     *
+     * @param bytes    size of the body
+     * @param elements number of elements parsed: size of a parsed collection, number of issues of a search result,
+     *                 <code>1</code> for a single object
+     */
+    default void endParse(Object context, long bytes, int elements) {
+    }
+
+    /**
+     * The adaptive limit of requests in flight of a client changed, see
+     * {@link com.atlassian.jira.rest.client.api.ConcurrencyLimitSettings}. Also called once with the initial limit.
+     *
+     * @param client identifier of the client, unique within the JVM, e.g. <code>jira-rest-client-1</code>; each
+     *               client has its own limit, even when the clients share this recorder
+     */
+    default void concurrencyLimitChanged(String client, int limit) {
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.metrics;
+
+/**
+ * Recorder ignoring all the measurements.
+ *
+ * @since v5.2.2
+ */
+public final class NoOpMetricsRecorder implements MetricsRecorder {
+
+    public static final MetricsRecorder INSTANCE = new NoOpMetricsRecorder();
+
+    private NoOpMetricsRecorder() {
+    }
+
+    @Override
+    public void requestStarted(String endpoint) {
+    }
+
+    @Override
+    public void requestSent(String endpoint, long queueNanos) {
+    }
+
+    @Override
+    public void responseReceived(String endpoint, String method, int statusCode, long responseNanos) {
+    }
+
+    @Override
+    public void requestFailed(String endpoint, String method, Throwable failure, long failureNanos) {
+    }
+
+    @Override
+    public void requestCompleted(String endpoint, long totalNanos) {
+    }
+
+    @Override
+    public void responseParsed(String endpoint, String parser, long bytes, long parseNanos) {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.benchmark;
+
+import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the date and time formats JIRA sends; every issue has at least two of them.
+ *
+ * @since v5.2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeParseBenchmark {
+
+    @Param({"2010-09-30T17:06:19.000+0200", "2012-11-05T12:01:40.432+0000"})
+    public String dateTime;
+
+    @Param({"2010-09-30"})
+    public String date;
+
+    @Benchmark
+    public DateTime parseDateTime() {
+        return JsonParseUtil.parseDateTime(dateTime);
+    }
+
+    @Benchmark
+    public DateTime parseDateTimeOrDate() {
+        return JsonParseUtil.parseDateTimeOrDate(date);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.benchmark;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Inputs of the benchmarks: the unit test fixtures, the root <code>data.json</code> issue and search pages
+ * scaled up from the <code>many-issues.json</code> fixture.
+ *
+ * @since v5.2.2
+ */
+final class Fixtures {
+
+    static final String MANY_ISSUES = "/json/search/many-issues.json";
+
+    private Fixtures() {
+    }
+
+    static String load(final String resource) {
+        try (InputStream inputStream = Fixtures.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("No such fixture: " + resource);
+            }
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds a search page with given number of issues, copying (and re-keying) the issues of
+     * <code>many-issues.json</code>, so the page keeps a realistic mix of fields.
+     */
+    static String searchPage(final int issueCount) {
+        try {
+            final JSONObject template = new JSONObject(load(MANY_ISSUES));
+            final JSONArray templateIssues = template.getJSONArray("issues");
+            final JSONArray issues = new JSONArray();
+            for (int i = 0; i < issueCount; i++) {
+                final JSONObject issue = new JSONObject(templateIssues.getJSONObject(i % templateIssues.length()).toString());
+                issue.put("id", String.valueOf(10000 + i));
+                issue.put("key", "TST-" + (i + 1));
+                issue.put("self", "http://localhost:8090/jira/rest/api/2/issue/" + (10000 + i));
+                issues.put(issue);
+            }
+            template.put("startAt", 0);
+            template.put("maxResults", issueCount);
+            template.put("total", issueCount);
+            template.put("issues", issues);
+            return template.toString();
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.benchmark;
+package com.atlassian.jira.rest.client.benchmark;
+
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import com.atlassian.jira.rest.client.internal.async.AtlassianHttpTransport;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup of a client with each transport: loading the transport, creating a client and getting its first issue,
+ * once per fresh JVM. Run with <code>-prof cl</code> to compare the number of classes loaded and with
+ * <code>-prof gc</code> to compare the memory allocated. The <code>jdk</code> transport needs Java 11 and the
+ * jira-rest-java-client-jdk-http module, added by the <code>java11</code> profile.
+ *
+ * @since v5.2.2
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class HttpTransportStartupBenchmark {
+
+    private static final String JDK_TRANSPORT = "com.atlassian.jira.rest.client.jdkhttp.JdkHttpTransport";
+
+    @Param({"atlassian", "jdk"})
+    public String transport;
+
+    private HttpServer server;
+    private URI serverUri;
+    private JiraRestClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        final byte[] issue = Fixtures.load("/json/issue/valid-all-expanded.json").getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/rest/api/latest/issue", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, issue.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(issue);
+            }
+        });
+        server.start();
+        serverUri = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    @Benchmark
+    public Issue firstRequest() throws ReflectiveOperationException {
+        client = new AsynchronousJiraRestClientFactory(createTransport())
+                .create(serverUri, new AnonymousAuthenticationHandler());
+        return client.getIssueClient().getIssue("TST-1").claim();
+    }
+
+    private HttpTransport createTransport() throws ReflectiveOperationException {
+        if ("jdk".equals(transport)) {
+            // loaded by name, so the benchmarks still build on Java 8
+            return (HttpTransport) Class.forName(JDK_TRANSPORT).getConstructor().newInstance();
+        }
+        return new AtlassianHttpTransport();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.benchmark;
+
+import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
+import com.atlassian.jira.rest.client.api.domain.input.FieldInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.api.domain.input.PropertyInput;
+import com.atlassian.jira.rest.client.internal.json.gen.ComplexIssueInputFieldValueJsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.IssueInputJsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.JsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of a create issue request body: the JSON tree serialized to text and encoded (as it used to be sent,
+ * with the tree generator kept here as it was), against writing straight to the request body.
+ *
+ * @since v5.2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueInputJsonGeneratorBenchmark {
+
+    private final IssueInputJsonGenerator generator = new IssueInputJsonGenerator();
+    private final TreeIssueInputJsonGenerator treeGenerator = new TreeIssueInputJsonGenerator();
+    private IssueInput issueInput;
+
+    @Setup
+    public void setUp() {
+        final IssueInputBuilder builder = new IssueInputBuilder("TST", 1L, "Benchmark issue")
+                .setDescription("Created by the request body benchmark")
+                .setAssigneeName("admin")
+                .setReporterName("admin")
+                .setPriorityId(3L)
+                .setComponentsNames(ImmutableList.of("Component A", "Component B"))
+                .setFixVersionsNames(ImmutableList.of("1.0", "1.1"))
+                .addProperty("benchmark", "{\"run\": 1}");
+        for (int i = 0; i < 20; i++) {
+            builder.setFieldValue("customfield_" + (10000 + i), "value " + i);
+        }
+        builder.setFieldValue("customfield_10100", ComplexIssueInputFieldValue.with("id", "10000"));
+        builder.setFieldValue("customfield_10101", new ComplexIssueInputFieldValue(ImmutableMap.<String, Object>of(
+                "value", "parent", "child", ComplexIssueInputFieldValue.with("value", "child"))));
+        issueInput = builder.build();
+    }
+
+    @Benchmark
+    public byte[] generateTree() throws JSONException {
+        return treeGenerator.generate(issueInput).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void generateStream(final Blackhole blackhole) throws JSONException, IOException {
+        try (InputStream body = JsonGeneratorUtil.toInputStream(generator, issueInput)) {
+            blackhole.consume(IOUtils.skip(body, Long.MAX_VALUE));
+        }
+    }
+
+    /**
+     * IssueInputJsonGenerator before it wrote to the request body; its tree based generate() is now derived from
+     * the streaming output, so it can't be the baseline anymore.
+     */
+    private static class TreeIssueInputJsonGenerator implements JsonGenerator<IssueInput> {
+
+        private final ComplexIssueInputFieldValueJsonGenerator complexIssueInputFieldValueJsonGenerator = new ComplexIssueInputFieldValueJsonGenerator();
+
+        @Override
+        public JSONObject generate(final IssueInput issue) throws JSONException {
+            final JSONObject jsonObject = new JSONObject();
+            final JSONObject fields = new JSONObject();
+
+            if (issue != null && issue.getFields() != null) {
+                for (final FieldInput field : issue.getFields().values()) {
+                    if (field.getValue() != null) {
+                        fields.put(field.getId(), complexIssueInputFieldValueJsonGenerator.generateFieldValueForJson(field
+                                .getValue()));
+                    }
+                }
+            }
+
+            jsonObject.put("fields", fields);
+
+            final JSONArray entityProperties = new JSONArray();
+            if (issue != null && issue.getProperties() != null) {
+                for (final PropertyInput p : issue.getProperties()) {
+                    final JSONObject property = new JSONObject();
+                    property.put("key", p.getKey());
+                    property.put("value", new JSONObject(p.getValue()));
+                    entityProperties.put(property);
+                }
+            }
+            jsonObject.put("properties", entityProperties);
+
+            return jsonObject;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.benchmark;
+
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole request pipeline (request building, the HTTP client, response transformation and parsing)
+ * against an in-process stub server answering with canned fixtures, so the network adds as little as possible.
+ *
+ * @since v5.2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestClientPipelineBenchmark {
+
+    private static final String API = "/rest/api/latest";
+
+    @Param({"50", "500"})
+    public int issues;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private JiraRestClient client;
+    private IssueInput issueInput;
+
+    @Setup
+    public void setUp() throws IOException {
+        final byte[] searchPage = Fixtures.searchPage(issues).getBytes(StandardCharsets.UTF_8);
+        final byte[] issue = Fixtures.load("/json/issue/valid-all-expanded.json").getBytes(StandardCharsets.UTF_8);
+        final byte[] createdIssue = "{\"id\":\"10000\",\"key\":\"TST-1\",\"self\":\"http://localhost/rest/api/latest/issue/10000\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext(API + "/search", exchange -> respond(exchange, 200, searchPage));
+        server.createContext(API + "/issue", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 201, createdIssue);
+            } else {
+                respond(exchange, 200, issue);
+            }
+        });
+        server.start();
+
+        final URI serverUri = URI.create("http://localhost:" + server.getAddress().getPort());
+        client = new AsynchronousJiraRestClientFactory().create(serverUri, new AnonymousAuthenticationHandler(),
+                new JiraRestClientOptionsBuilder().setMaxConnectionsPerHost(16).build());
+        issueInput = new IssueInputBuilder("TST", 1L, "Benchmark issue").setDescription("Pipeline benchmark").build();
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        // drain the request, so the connection can be reused
+        IOUtils.skip(exchange.getRequestBody(), Long.MAX_VALUE);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public SearchResult searchJql() {
+        return client.getSearchClient().searchJql("project = TST", issues, 0, null).claim();
+    }
+
+    @Benchmark
+    public Issue getIssue() {
+        return client.getIssueClient().getIssue("TST-1").claim();
+    }
+
+    @Benchmark
+    public BasicIssue createIssue() {
+        return client.getIssueClient().createIssue(issueInput).claim();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.benchmark;
+
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.internal.json.JsonStreamUtil;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.atlassian.jira.rest.client.internal.json.StreamingSearchResultJsonParser;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of search pages of growing size: the tree parser reading the whole response as text, against
+ * the streaming parser reading the response bytes.
+ *
+ * @since v5.2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchResultJsonParserBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int issues;
+
+    private final SearchResultJsonParser treeParser = new SearchResultJsonParser();
+    private final StreamingSearchResultJsonParser streamingParser = new StreamingSearchResultJsonParser();
+    private byte[] page;
+
+    @Setup
+    public void setUp() {
+        page = Fixtures.searchPage(issues).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public SearchResult parseTree() throws JSONException {
+        return treeParser.parse(new JSONObject(new String(page, StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public SearchResult parseStream() throws JSONException, IOException {
+        return JsonStreamUtil.parse(new ByteArrayInputStream(page), streamingParser);
+    }
+}
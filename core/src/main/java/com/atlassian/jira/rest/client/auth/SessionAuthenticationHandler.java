@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.auth;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RenewableAuthenticationHandler;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.SessionCookie;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.jira.rest.client.internal.json.SessionCookieJsonParser;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handler logging in once through the session resource and authenticating all the requests with the session cookie,
+ * so the server does not verify the password on every request as with {@link BasicHttpAuthenticationHandler}.
+ * <p>
+ * The session is shared by all the threads using the client. When it expires, the first request rejected with
+ * <code>401 Unauthorized</code> logs in again, and all the requests rejected meanwhile wait for that single login.
+ * <p>
+ * A failed login is not retried at once: requests fail with the same error for {@link #LOGIN_RETRY_BACKOFF}, so an
+ * unavailable server is not flooded with logins. When the server rejects the credentials themselves (the login is
+ * answered with <code>401</code> or <code>403</code>, e.g. a wrong password or a CAPTCHA required), the handler
+ * does not log in again at all, as more attempts with the same credentials could lock the account.
+ * <p>
+ * Do NOT use it with unencrypted HTTP over public networks, as credentials are sent in free text when logging in.
+ *
+ * @since v5.2.2
+ */
+public class SessionAuthenticationHandler implements RenewableAuthenticationHandler<SessionCookie> {
+
+    private static final String COOKIE_HEADER = "Cookie";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final int OK = 200;
+    private static final int UNAUTHORIZED = 401;
+    private static final int FORBIDDEN = 403;
+
+    /**
+     * Time a failed login is reported to the requests before logging in again.
+     */
+    public static final Duration LOGIN_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final URI sessionUri;
+    private final String username;
+    private final String password;
+    private final SessionCookieJsonParser sessionCookieJsonParser = new SessionCookieJsonParser();
+    private final Ticker ticker;
+    // current or pending login; replaced when the session is rejected or the login failed long enough ago
+    private final AtomicReference<Login> session = new AtomicReference<>();
+
+    public SessionAuthenticationHandler(final URI serverUri, final String username, final String password) {
+        this(serverUri, username, password, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    SessionAuthenticationHandler(final URI serverUri, final String username, final String password, final Ticker ticker) {
+        this.sessionUri = UriBuilder.fromUri(serverUri).path("rest/auth/1/session").build();
+        this.username = username;
+        this.password = password;
+        this.ticker = ticker;
+    }
+
+    @Nullable
+    @Override
+    public SessionCookie getCredentials() {
+        final Login current = session.get();
+        return current != null && current.cookie.isDone() && !current.cookie.isCompletedExceptionally()
+                ? current.cookie.join() : null;
+    }
+
+    @Override
+    public void configure(Request.Builder builder, SessionCookie credentials) {
+        builder.setHeader(COOKIE_HEADER, credentials.getName() + "=" + credentials.getValue());
+    }
+
+    @Override
+    public Promise<SessionCookie> renew(final HttpClient httpClient, @Nullable final SessionCookie rejected) {
+        while (true) {
+            final Login current = session.get();
+            if (current != null && !isStale(current, rejected)) {
+                // login in progress, already renewed by another request, or failed recently
+                return Promises.forCompletionStage(current.cookie.thenApply(cookie -> cookie));
+            }
+            final Login login = new Login();
+            if (session.compareAndSet(current, login)) {
+                login(httpClient).done(login.cookie::complete).fail(e -> {
+                    // before completing, so whoever sees the failure sees when it happened
+                    login.failedAt = ticker.read();
+                    login.credentialsRejected = isCredentialsRejection(e);
+                    login.cookie.completeExceptionally(e);
+                });
+                return Promises.forCompletionStage(login.cookie.thenApply(cookie -> cookie));
+            }
+        }
+    }
+
+    private boolean isStale(final Login current, @Nullable final SessionCookie rejected) {
+        if (!current.cookie.isDone()) {
+            return false;
+        }
+        if (current.cookie.isCompletedExceptionally()) {
+            return !current.credentialsRejected && ticker.read() - current.failedAt >= LOGIN_RETRY_BACKOFF.toNanos();
+        }
+        return rejected == null || rejected.equals(current.cookie.join());
+    }
+
+    private static boolean isCredentialsRejection(final Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientException) {
+                final int status = ((RestClientException) cause).getStatusCode().or(0);
+                return status == UNAUTHORIZED || status == FORBIDDEN;
+            }
+        }
+        return false;
+    }
+
+    @VisibleForTesting
+    Promise<SessionCookie> login(final HttpClient httpClient) {
+        final String credentials;
+        try {
+            credentials = new JSONObject().put("username", username).put("password", password).toString();
+        } catch (JSONException e) {
+            return Promises.rejected(new RestClientException(e));
+        }
+        return httpClient.newRequest(sessionUri)
+                .setEntity(credentials)
+                .setContentType(JSON_CONTENT_TYPE)
+                .post()
+                .map(this::parseSession);
+    }
+
+    private SessionCookie parseSession(final Response response) {
+        if (response.getStatusCode() != OK) {
+            final ErrorCollection error = new ErrorCollection(response.getStatusCode(),
+                    ImmutableList.of("Cannot log in as " + username), ImmutableMap.<String, String>of());
+            throw new RestClientException(ImmutableList.of(error), response.getStatusCode());
+        }
+        try {
+            return sessionCookieJsonParser.parse(new JSONObject(response.getEntity()).getJSONObject("session"));
+        } catch (JSONException e) {
+            throw new RestClientException(e);
+        }
+    }
+
+    private static final class Login {
+        private final CompletableFuture<SessionCookie> cookie = new CompletableFuture<>();
+        // set before the cookie completes exceptionally
+        private volatile long failedAt;
+        private volatile boolean credentialsRejected;
+    }
+}
@@ -18,18 +18,29 @@ package com.atlassian.jira.rest.client.internal.async;
 import com.atlassian.httpclient.api.DefaultResponseTransformation;
 import com.atlassian.httpclient.api.EntityBuilder;
 import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
 import com.atlassian.httpclient.api.Response;
 import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
 import com.atlassian.httpclient.api.ResponseTransformation;
 import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
-import com.atlassian.jira.rest.client.internal.json.JsonArrayParser;
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.atlassian.jira.rest.client.api.metrics.NoOpMetricsRecorder;
 import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
 import com.atlassian.jira.rest.client.internal.json.JsonParser;
+import com.atlassian.jira.rest.client.internal.json.JsonStreamUtil;
+import com.atlassian.jira.rest.client.internal.json.StreamingJsonParser;
 import com.atlassian.jira.rest.client.internal.json.gen.JsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil;
+import com.atlassian.jira.rest.client.internal.json.gen.StreamingJsonGenerator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.io.CountingInputStream;
 import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -44,7 +55,11 @@ import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * This is a base class for asynchronous REST clients.
@@ -66,7 +81,67 @@ public abstract class AbstractAsynchronousRestClient {
     }
 
     protected final <T> Promise<T> getAndParse(final URI uri, final JsonParser<?, T> parser) {
-        return callAndParse(client.newRequest(uri).setAccept("application/json").get(), parser);
+        return getAndParse(uri, parser, JsonStreamUtil.adapt(parser));
+    }
+
+    protected final <T> Promise<T> getAndParse(final URI uri, final StreamingJsonParser<T> parser) {
+        return getAndParse(uri, parser, parser);
+    }
+
+    /**
+     * @param parserKey parser as given by the caller, identifying the parsed object in the cache; the REST clients
+     *                  keep their parsers in fields, as an entry stored for a parser created per call could never be hit
+     */
+    private <T> Promise<T> getAndParse(final URI uri, final Object parserKey, final StreamingJsonParser<T> parser) {
+        final AtlassianHttpClientDecorator decorator = (client instanceof AtlassianHttpClientDecorator)
+                ? (AtlassianHttpClientDecorator) client : null;
+        final RequestCoalescer coalescer = decorator != null ? decorator.getRequestCoalescer() : null;
+        final ResponseCache cache = decorator != null ? decorator.getResponseCache() : null;
+        return cache != null
+                ? getAndParseCached(uri, parserKey, parser, cache, coalescer)
+                : callAndParse(uri, get(uri, null, coalescer), parserKey, parser);
+    }
+
+    /**
+     * @param cached entry whose validators make the request conditional, if any
+     * @return response of the GET request, shared with the identical requests in flight when coalescing
+     */
+    private ResponsePromise get(final URI uri, @Nullable final ResponseCache.Entry cached,
+                                @Nullable final RequestCoalescer coalescer) {
+        final Supplier<ResponsePromise> send = () -> {
+            final Request.Builder request = client.newRequest(uri).setAccept(JSON_CONTENT_TYPE);
+            if (cached != null) {
+                cached.addValidators(request);
+            }
+            return request.get();
+        };
+        if (coalescer == null) {
+            return send.get();
+        }
+        return cached != null
+                ? coalescer.coalesce(uri, cached.getEtag(), cached.getLastModified(), send)
+                : coalescer.coalesce(uri, null, null, send);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Promise<T> getAndParseCached(final URI uri, final Object parserKey, final StreamingJsonParser<T> parser,
+                                             final ResponseCache cache, @Nullable final RequestCoalescer coalescer) {
+        final ResponseCache.Entry cached = cache.get(uri, parserKey);
+        final Function<Response, T> parseAndStore = toFunction(new ResponseHandler<T>() {
+            @Override
+            public T handle(Response response) throws JSONException, IOException {
+                final CountingInputStream entityStream = new CountingInputStream(response.getEntityStream());
+                final T value = parse(uri, entityStream, parserKey, parser);
+                cache.put(uri, parserKey, response, value, entityStream.getCount());
+                return value;
+            }
+        });
+        final ResponseTransformation<Object> responseTransformation = DefaultResponseTransformation.builder()
+                .ok(parseAndStore)
+                .notModified(cached != null ? constant((T) cached.getValue()) : AbstractAsynchronousRestClient.errorFunction())
+                .others(AbstractAsynchronousRestClient.errorFunction())
+                .build();
+        return transformResponse(get(uri, cached, coalescer), responseTransformation);
     }
 
     protected final <I, T> Promise<T> postAndParse(final URI uri, I entity, final JsonGenerator<I> jsonGenerator,
@@ -74,7 +149,7 @@ public abstract class AbstractAsynchronousRestClient {
         final ResponsePromise responsePromise = client.newRequest(uri)
                 .setEntity(toEntity(jsonGenerator, entity))
                 .post();
-        return callAndParse(responsePromise, parser);
+        return callAndParse(uri, responsePromise, parser, JsonStreamUtil.adapt(parser));
     }
 
     protected final <T> Promise<T> postAndParse(final URI uri, final JSONObject entity, final JsonObjectParser<T> parser) {
@@ -82,7 +157,15 @@ public abstract class AbstractAsynchronousRestClient {
                 .setEntity(entity.toString())
                 .setContentType(JSON_CONTENT_TYPE)
                 .post();
-        return callAndParse(responsePromise, parser);
+        return callAndParse(uri, responsePromise, parser, JsonStreamUtil.adapt(parser));
+    }
+
+    protected final <T> Promise<T> postAndParse(final URI uri, final JSONObject entity, final StreamingJsonParser<T> parser) {
+        final ResponsePromise responsePromise = client.newRequest(uri)
+                .setEntity(entity.toString())
+                .setContentType(JSON_CONTENT_TYPE)
+                .post();
+        return callAndParse(uri, responsePromise, parser, parser);
     }
 
     protected final Promise<Void> post(final URI uri, final String entity) {
@@ -113,7 +196,7 @@ public abstract class AbstractAsynchronousRestClient {
         final ResponsePromise responsePromise = client.newRequest(uri)
                 .setEntity(toEntity(jsonGenerator, entity))
                 .put();
-        return callAndParse(responsePromise, parser);
+        return callAndParse(uri, responsePromise, parser, JsonStreamUtil.adapt(parser));
     }
 
     protected final <T> Promise<Void> put(final URI uri, final T entity, final JsonGenerator<T> jsonGenerator) {
@@ -135,23 +218,120 @@ public abstract class AbstractAsynchronousRestClient {
                 .created(transformFunction)
                 .others(AbstractAsynchronousRestClient.errorFunction())
                 .build();
-        return new DelegatingPromise(responsePromise.transform(responseTransformation));
+        return transformResponse(responsePromise, responseTransformation);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Parses the response with a tree based parser. The tree is built directly from the entity stream,
+     * so the body is never copied into an intermediate String.
+     */
     protected final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final JsonParser<?, T> parser) {
+        return callAndParse(null, responsePromise, parser, JsonStreamUtil.adapt(parser));
+    }
+
+    protected final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final StreamingJsonParser<T> parser) {
+        return callAndParse(null, responsePromise, parser, parser);
+    }
+
+    /**
+     * @param uri requested resource, <code>null</code> when unknown
+     * @param parserKey parser as given by the caller, identifying it in the parse measurements
+     */
+    private <T> Promise<T> callAndParse(@Nullable final URI uri, final ResponsePromise responsePromise,
+                                        final Object parserKey, final StreamingJsonParser<T> parser) {
         final ResponseHandler<T> responseHandler = new ResponseHandler<T>() {
             @Override
             public T handle(Response response) throws JSONException, IOException {
-                final String body = response.getEntity();
-                return (T) (parser instanceof JsonObjectParser ?
-                        ((JsonObjectParser) parser).parse(new JSONObject(body)) :
-                        ((JsonArrayParser) parser).parse(new JSONArray(body)));
+                return parse(uri, response.getEntityStream(), parserKey, parser);
             }
         };
         return callAndParse(responsePromise, responseHandler);
     }
 
+    private <T> T parse(@Nullable final URI uri, final InputStream entityStream, final Object parserKey,
+                        final StreamingJsonParser<T> parser) throws JSONException, IOException {
+        final MetricsRecorder recorder = metricsRecorder();
+        if (recorder == NoOpMetricsRecorder.INSTANCE) {
+            return JsonStreamUtil.parse(entityStream, parser);
+        }
+        final String endpoint = Endpoints.of(uri);
+        final String parserName = parserName(parserKey);
+        final Object context = recorder.beginParse(endpoint, parserName);
+        final CountingInputStream countingStream = new CountingInputStream(entityStream);
+        final long startedAt = System.nanoTime();
+        final T value = JsonStreamUtil.parse(countingStream, parser);
+        recorder.responseParsed(endpoint, parserName, countingStream.getCount(), System.nanoTime() - startedAt);
+        if (context != null) {
+            recorder.endParse(context, countingStream.getCount(), elementCount(value));
+        }
+        return value;
+    }
+
+    private static int elementCount(@Nullable final Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        } else if (value instanceof SearchResult) {
+            return Iterables.size(((SearchResult) value).getIssues());
+        }
+        return 1;
+    }
+
+    private MetricsRecorder metricsRecorder() {
+        return client instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) client).getMetricsRecorder() : NoOpMetricsRecorder.INSTANCE;
+    }
+
+    private static String parserName(final Object parser) {
+        final String simpleName = parser.getClass().getSimpleName();
+        return simpleName.isEmpty() ? parser.getClass().getName() : simpleName;
+    }
+
+    /**
+     * @return transformed response, transformed on the parse executor when one is configured; cancelling it cancels
+     * the request
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Promise<T> transformResponse(final ResponsePromise responsePromise,
+                                             final ResponseTransformation<Object> responseTransformation) {
+        final ResponsePromise response = onParseExecutor(responsePromise);
+        return new DelegatingPromise<T>((Promise<T>) response.transform(responseTransformation)) {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                // the request itself, not only its pending transformation
+                response.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+    }
+
+    /**
+     * @return promise of the same response, completed on the parse executor when one is configured, so the
+     * transformations applied to it do not run on the HTTP client's callback threads
+     */
+    private ResponsePromise onParseExecutor(final ResponsePromise responsePromise) {
+        final Executor executor = client instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) client).getParseExecutor() : null;
+        if (executor == null) {
+            return responsePromise;
+        }
+        final CompletableFuture<Response> response = new CompletableFuture<>();
+        responsePromise.done(r -> {
+            try {
+                executor.execute(() -> response.complete(r));
+            } catch (RejectedExecutionException e) {
+                response.completeExceptionally(e);
+            }
+        }).fail(response::completeExceptionally);
+        response.whenComplete((r, e) -> {
+            if (response.isCancelled()) {
+                responsePromise.cancel(true);
+            }
+        });
+        return ResponsePromises.toResponsePromise(Promises.forCompletionStage(response));
+    }
+
     protected final Promise<Void> call(final ResponsePromise responsePromise) {
         final ResponseTransformation<Object> responseTransformation = DefaultResponseTransformation.builder()
                 .ok(constant((Void) null))
@@ -159,7 +339,7 @@ public abstract class AbstractAsynchronousRestClient {
                 .noContent(constant((Void) null))
                 .others(AbstractAsynchronousRestClient.errorFunction())
                 .build();
-        return new DelegatingPromise(responsePromise.transform(responseTransformation));
+        return transformResponse(responsePromise, responseTransformation);
     }
 
     protected HttpClient client() {
@@ -245,6 +425,7 @@ public abstract class AbstractAsynchronousRestClient {
         return new ErrorCollection(status, errorMessages, errors);
     }
 
+    @SuppressWarnings("unchecked")
     private <T> EntityBuilder toEntity(final JsonGenerator<T> generator, final T bean) {
         return new EntityBuilder() {
 
@@ -259,9 +440,12 @@ public abstract class AbstractAsynchronousRestClient {
                     @Override
                     public InputStream getInputStream() {
                         try {
+                            if (generator instanceof StreamingJsonGenerator) {
+                                return JsonGeneratorUtil.toInputStream((StreamingJsonGenerator<T>) generator, bean);
+                            }
                             return new ByteArrayInputStream(generator.generate(bean).toString().getBytes(Charset
                                     .forName("UTF-8")));
-                        } catch (JSONException e) {
+                        } catch (JSONException | IOException e) {
                             throw new RestClientException(e);
                         }
                     }
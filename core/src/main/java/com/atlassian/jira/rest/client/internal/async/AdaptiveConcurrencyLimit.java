@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitSettings;
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.google.common.base.Ticker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limit of requests in flight adapting to the load of the server (additive increase, multiplicative decrease).
+ * <p>
+ * While the responses are fast and the limit is actually used, it grows by one request per limit's worth of
+ * responses, i.e. by about one per round trip. On signs of overload it is multiplied by the backoff ratio, at most
+ * once per smoothed round trip, so a burst of responses to requests sent together counts as a single signal.
+ * Latency is judged per endpoint, against the fastest response of the current or previous window of samples, so
+ * slow endpoints (e.g. searches) are not mistaken for overload and the baseline follows lasting changes of the server.
+ *
+ * @since v5.2.2
+ */
+class AdaptiveConcurrencyLimit {
+
+    private static final int RTT_WINDOW = 256;
+
+    private final String client;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final MetricsRecorder metricsRecorder;
+    private final Ticker ticker;
+    private final Map<String, RttBaseline> baselines = new HashMap<>();
+    private double limit;
+    private int inFlight;
+    private long smoothedRttNanos;
+    private long nextDecreaseAt;
+
+    /**
+     * @param client identifier of the client reported with the changes of the limit
+     */
+    AdaptiveConcurrencyLimit(final String client, final ConcurrencyLimitSettings settings,
+                             final MetricsRecorder metricsRecorder, final Ticker ticker) {
+        this.client = client;
+        this.minLimit = settings.getMinLimit();
+        this.maxLimit = settings.getMaxLimit();
+        this.backoffRatio = settings.getBackoffRatio();
+        this.latencyTolerance = settings.getLatencyTolerance();
+        this.metricsRecorder = metricsRecorder;
+        this.ticker = ticker;
+        this.limit = settings.getInitialLimit();
+        this.nextDecreaseAt = ticker.read();
+        metricsRecorder.concurrencyLimitChanged(client, settings.getInitialLimit());
+    }
+
+    /**
+     * @return <code>true</code> when one more request may be sent; it must be followed by
+     * {@link #onResponse(String, long, boolean)} or {@link #release()}
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives back a request acquired but not sent, without judging the load.
+     */
+    synchronized void release() {
+        inFlight--;
+    }
+
+    /**
+     * @param rttNanos   time from sending the request to its response or failure
+     * @param overloaded whether the server throttled the request or failed to answer it
+     */
+    void onResponse(final String endpoint, final long rttNanos, final boolean overloaded) {
+        final int before;
+        final int after;
+        synchronized (this) {
+            before = (int) limit;
+            smoothedRttNanos = smoothedRttNanos == 0 ? rttNanos : smoothedRttNanos + (rttNanos - smoothedRttNanos) / 8;
+            final long baselineNanos = baselines.computeIfAbsent(endpoint, e -> new RttBaseline()).sample(rttNanos);
+            if (overloaded || rttNanos > baselineNanos * latencyTolerance) {
+                final long now = ticker.read();
+                if (now - nextDecreaseAt >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    nextDecreaseAt = now + smoothedRttNanos;
+                }
+            } else if (inFlight * 2 >= before) {
+                // only when the limit is used, otherwise it would grow unbounded while the load is low
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            inFlight--;
+            after = (int) limit;
+        }
+        if (after != before) {
+            metricsRecorder.concurrencyLimitChanged(client, after);
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private static class RttBaseline {
+        private long min = Long.MAX_VALUE;
+        private long previousMin = Long.MAX_VALUE;
+        private int samples;
+
+        /**
+         * @return fastest round trip of the current and previous windows, including given one
+         */
+        long sample(final long rttNanos) {
+            if (++samples > RTT_WINDOW) {
+                previousMin = min;
+                min = Long.MAX_VALUE;
+                samples = 1;
+            }
+            min = Math.min(min, rttNanos);
+            return Math.min(min, previousMin);
+        }
+    }
+}
@@ -15,24 +15,14 @@
  */
 package com.atlassian.jira.rest.client.internal.async;
 
-import com.atlassian.event.api.EventPublisher;
-import com.atlassian.httpclient.apache.httpcomponents.DefaultHttpClientFactory;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.factory.HttpClientOptions;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
-import com.atlassian.sal.api.ApplicationProperties;
-import com.atlassian.sal.api.UrlMode;
-import com.atlassian.sal.api.executor.ThreadLocalContextManager;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
 
-import javax.annotation.Nonnull;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.util.Date;
-import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for asynchronous http clients.
@@ -41,165 +31,76 @@ import java.util.Properties;
  */
 public class AsynchronousHttpClientFactory {
 
-    @SuppressWarnings("unchecked")
-    public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler) {
-        final HttpClientOptions options = new HttpClientOptions();
-
-        final DefaultHttpClientFactory defaultHttpClientFactory = new DefaultHttpClientFactory(new NoOpEventPublisher(),
-                new RestClientApplicationProperties(serverUri),
-                new ThreadLocalContextManager() {
-                    @Override
-                    public Object getThreadLocalContext() {
-                        return null;
-                    }
-
-                    @Override
-                    public void setThreadLocalContext(Object context) {
-                    }
+    private final HttpTransport transport;
 
-                    @Override
-                    public void clearThreadLocalContext() {
-                    }
-                });
+    public AsynchronousHttpClientFactory() {
+        this(new AtlassianHttpTransport());
+    }
 
-        final HttpClient httpClient = defaultHttpClientFactory.create(options);
+    /**
+     * @param transport transport creating the HTTP clients
+     * @since v5.2.2
+     */
+    public AsynchronousHttpClientFactory(final HttpTransport transport) {
+        this.transport = transport;
+    }
 
-        return new AtlassianHttpClientDecorator(httpClient, authenticationHandler) {
-            @Override
-            public void destroy() throws Exception {
-                defaultHttpClientFactory.dispose(httpClient);
-            }
-        };
+    public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+        return createClient(serverUri, authenticationHandler, JiraRestClientOptions.DEFAULT);
     }
 
-    public DisposableHttpClient createClient(final HttpClient client) {
-        return new AtlassianHttpClientDecorator(client, null) {
+    public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler,
+                                             final JiraRestClientOptions clientOptions) {
+        final HttpClient httpClient = transport.createHttpClient(serverUri, clientOptions);
 
+        return new AtlassianHttpClientDecorator(httpClient, authenticationHandler, clientOptions) {
             @Override
             public void destroy() throws Exception {
-                // This should never be implemented. This is simply creation of a wrapper
-                // for AtlassianHttpClient which is extended by a destroy method.
-                // Destroy method should never be called for AtlassianHttpClient coming from
-                // a client! Imagine you create a RestClient, pass your own HttpClient there
-                // and it gets destroy.
+                transport.destroy(httpClient);
             }
         };
     }
 
-    private static class NoOpEventPublisher implements EventPublisher {
-        @Override
-        public void publish(Object o) {
-        }
-
-        @Override
-        public void register(Object o) {
-        }
-
-        @Override
-        public void unregister(Object o) {
-        }
-
-        @Override
-        public void unregisterAll() {
-        }
-    }
-
-    /**
-     * These properties are used to present JRJC as a User-Agent during http requests.
-     */
-    @SuppressWarnings("deprecation")
-    private static class RestClientApplicationProperties implements ApplicationProperties {
-
-        private final String baseUrl;
-
-        private RestClientApplicationProperties(URI jiraURI) {
-            this.baseUrl = jiraURI.getPath();
+    static HttpClientOptions toHttpClientOptions(final JiraRestClientOptions clientOptions) {
+        final HttpClientOptions options = new HttpClientOptions();
+        if (clientOptions.getMaxTotalConnections() != null) {
+            options.setMaxTotalConnections(clientOptions.getMaxTotalConnections());
         }
-
-        @Override
-        public String getBaseUrl() {
-            return baseUrl;
+        if (clientOptions.getMaxConnectionsPerHost() != null) {
+            options.setMaxConnectionsPerHost(clientOptions.getMaxConnectionsPerHost());
         }
-
-        /**
-         * We'll always have an absolute URL as a client.
-         */
-        @Nonnull
-        @Override
-        public String getBaseUrl(UrlMode urlMode) {
-            return baseUrl;
+        if (clientOptions.getIoThreadCount() != null) {
+            options.setIoThreadCount(clientOptions.getIoThreadCount());
         }
-
-        @Nonnull
-        @Override
-        public String getDisplayName() {
-            return "Atlassian JIRA Rest Java Client";
+        if (clientOptions.getMaxCallbackThreadPoolSize() != null) {
+            options.setMaxCallbackThreadPoolSize(clientOptions.getMaxCallbackThreadPoolSize());
         }
-
-        @Nonnull
-        @Override
-        public String getPlatformId() {
-            return ApplicationProperties.PLATFORM_JIRA;
+        if (clientOptions.getConnectionTimeout() != null) {
+            options.setConnectionTimeout(clientOptions.getConnectionTimeout().toMillis(), TimeUnit.MILLISECONDS);
         }
-
-        @Nonnull
-        @Override
-        public String getVersion() {
-            return MavenUtils.getVersion("com.atlassian.jira", "jira-rest-java-client-core");
+        if (clientOptions.getSocketTimeout() != null) {
+            options.setSocketTimeout(clientOptions.getSocketTimeout().toMillis(), TimeUnit.MILLISECONDS);
         }
-
-        @Nonnull
-        @Override
-        public Date getBuildDate() {
-            // TODO implement using MavenUtils, JRJC-123
-            throw new UnsupportedOperationException();
+        if (clientOptions.getRequestTimeout() != null) {
+            options.setRequestTimeout(clientOptions.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS);
         }
-
-        @Nonnull
-        @Override
-        public String getBuildNumber() {
-            // TODO implement using MavenUtils, JRJC-123
-            return String.valueOf(0);
-        }
-
-        @Override
-        public File getHomeDirectory() {
-            return new File(".");
-        }
-
-        @Override
-        public String getPropertyValue(final String s) {
-            throw new UnsupportedOperationException("Not implemented");
+        if (clientOptions.getConnectionTimeToLive() != null) {
+            options.setConnectionPoolTimeToLive(clientOptions.getConnectionTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
         }
+        return options;
     }
 
-    private static final class MavenUtils {
-        private static final Logger logger = LoggerFactory.getLogger(MavenUtils.class);
-
-        private static final String UNKNOWN_VERSION = "unknown";
+    public DisposableHttpClient createClient(final HttpClient client) {
+        return new AtlassianHttpClientDecorator(client, null) {
 
-        static String getVersion(String groupId, String artifactId) {
-            final Properties props = new Properties();
-            InputStream resourceAsStream = null;
-            try {
-                resourceAsStream = MavenUtils.class.getResourceAsStream(String
-                        .format("/META-INF/maven/%s/%s/pom.properties", groupId, artifactId));
-                props.load(resourceAsStream);
-                return props.getProperty("version", UNKNOWN_VERSION);
-            } catch (Exception e) {
-                logger.debug("Could not find version for maven artifact {}:{}", groupId, artifactId);
-                logger.debug("Got the following exception", e);
-                return UNKNOWN_VERSION;
-            } finally {
-                if (resourceAsStream != null) {
-                    try {
-                        resourceAsStream.close();
-                    } catch (IOException ioe) {
-                        // ignore
-                    }
-                }
+            @Override
+            public void destroy() throws Exception {
+                // This should never be implemented. This is simply creation of a wrapper
+                // for AtlassianHttpClient which is extended by a destroy method.
+                // Destroy method should never be called for AtlassianHttpClient coming from
+                // a client! Imagine you create a RestClient, pass your own HttpClient there
+                // and it gets destroy.
             }
-        }
+        };
     }
-
 }
@@ -52,6 +52,7 @@ import com.atlassian.jira.rest.client.internal.json.CreateIssueMetadataJsonParse
 import com.atlassian.jira.rest.client.internal.json.IssueJsonParser;
 import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
+import com.atlassian.jira.rest.client.internal.json.JsonStreamUtil;
 import com.atlassian.jira.rest.client.internal.json.TransitionJsonParser;
 import com.atlassian.jira.rest.client.internal.json.TransitionJsonParserV5;
 import com.atlassian.jira.rest.client.internal.json.VotesJsonParser;
@@ -99,7 +100,6 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
     private static final EnumSet<Expandos> DEFAULT_EXPANDS = EnumSet.of(Expandos.NAMES, Expandos.SCHEMA, Expandos.TRANSITIONS);
     private static final Function<IssueRestClient.Expandos, String> EXPANDO_TO_PARAM = from -> from.name().toLowerCase();
     private final SessionRestClient sessionRestClient;
-    private final MetadataRestClient metadataRestClient;
 
     private final IssueJsonParser issueParser = new IssueJsonParser();
     private final BasicIssueJsonParser basicIssueParser = new BasicIssueJsonParser();
@@ -108,23 +108,30 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
     private final JsonObjectParser<Transition> transitionJsonParserV5 = new TransitionJsonParserV5();
     private final VotesJsonParser votesJsonParser = new VotesJsonParser();
     private final CreateIssueMetadataJsonParser createIssueMetadataJsonParser = new CreateIssueMetadataJsonParser();
+    private final CreateIssueMetaProjectIssueTypesParser createIssueMetaProjectIssueTypesParser = new CreateIssueMetaProjectIssueTypesParser();
+    private final CreateIssueMetaFieldsParser createIssueMetaFieldsParser = new CreateIssueMetaFieldsParser();
     private static final String FILE_BODY_TYPE = "file";
     private final URI baseUri;
-    private ServerInfo serverInfo;
+    private final ServerInfoCache serverInfoCache;
 
     public AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
                                        final MetadataRestClient metadataRestClient) {
+        this(baseUri, client, sessionRestClient, new ServerInfoCache(metadataRestClient));
+    }
+
+    /**
+     * @param serverInfoCache server info shared with other clients of the same JIRA instance
+     */
+    public AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
+                                       final ServerInfoCache serverInfoCache) {
         super(client);
         this.baseUri = baseUri;
         this.sessionRestClient = sessionRestClient;
-        this.metadataRestClient = metadataRestClient;
+        this.serverInfoCache = serverInfoCache;
     }
 
-    private synchronized ServerInfo getVersionInfo() {
-        if (serverInfo == null) {
-            serverInfo = metadataRestClient.getServerInfo().claim();
-        }
-        return serverInfo;
+    private Promise<ServerInfo> getVersionInfo() {
+        return serverInfoCache.get();
     }
 
     @Override
@@ -185,7 +192,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri).path("issue/createmeta/" + projectIdOrKey + "/issuetypes");
         addPagingParameters(uriBuilder, startAt, maxResults);
 
-        return getAndParse(uriBuilder.build(), new CreateIssueMetaProjectIssueTypesParser());
+        return getAndParse(uriBuilder.build(), createIssueMetaProjectIssueTypesParser);
     }
 
     @Override
@@ -194,7 +201,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri).path("issue/createmeta/" + projectIdOrKey + "/issuetypes/" + issueTypeId);
         addPagingParameters(uriBuilder, startAt, maxResults);
 
-        return getAndParse(uriBuilder.build(), new CreateIssueMetaFieldsParser());
+        return getAndParse(uriBuilder.build(), createIssueMetaFieldsParser);
     }
 
     @Override
@@ -231,7 +238,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
     public Promise<Iterable<Transition>> getTransitions(final URI transitionsUri) {
         return callAndParse(client().newRequest(transitionsUri).get(),
                 (ResponseHandler<Iterable<Transition>>) response -> {
-                    final JSONObject jsonObject = new JSONObject(response.getEntity());
+                    final JSONObject jsonObject = JsonStreamUtil.parse(response.getEntityStream(), JsonStreamUtil::readObject);
                     if (jsonObject.has("transitions")) {
                         return JsonParseUtil.parseJsonArray(jsonObject.getJSONArray("transitions"), transitionJsonParserV5);
                     } else {
@@ -268,7 +275,11 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> transition(final URI transitionsUri, final TransitionInput transitionInput) {
-        final int buildNumber = getVersionInfo().getBuildNumber();
+        return getVersionInfo().flatMap(serverInfo -> transition(transitionsUri, transitionInput, serverInfo));
+    }
+
+    private Promise<Void> transition(final URI transitionsUri, final TransitionInput transitionInput, final ServerInfo serverInfo) {
+        final int buildNumber = serverInfo.getBuildNumber();
         try {
             JSONObject jsonObject = new JSONObject();
             if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
@@ -280,10 +291,10 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
                 if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
                     jsonObject.put("update", new JSONObject().put("comment",
                             new JSONArray().put(new JSONObject().put("add",
-                                    new CommentJsonGenerator(getVersionInfo())
+                                    new CommentJsonGenerator(serverInfo)
                                             .generate(transitionInput.getComment())))));
                 } else {
-                    jsonObject.put("comment", new CommentJsonGenerator(getVersionInfo())
+                    jsonObject.put("comment", new CommentJsonGenerator(serverInfo)
                             .generate(transitionInput.getComment()));
                 }
             }
@@ -329,7 +340,8 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> unwatch(final URI watchersUri) {
-        return removeWatcher(watchersUri, getLoggedUsername());
+        return sessionRestClient.getCurrentSession()
+                .flatMap(session -> removeWatcher(watchersUri, session.getUsername()));
     }
 
     @Override
@@ -339,19 +351,21 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> removeWatcher(final URI watchersUri, final String username) {
-        final UriBuilder uriBuilder = UriBuilder.fromUri(watchersUri);
-        if (getVersionInfo().getBuildNumber() >= ServerVersionConstants.BN_JIRA_4_4) {
-            uriBuilder.queryParam("username", username);
-        } else {
-            uriBuilder.path(username).build();
-        }
-        return delete(uriBuilder.build());
+        return getVersionInfo().flatMap(serverInfo -> {
+            final UriBuilder uriBuilder = UriBuilder.fromUri(watchersUri);
+            if (serverInfo.getBuildNumber() >= ServerVersionConstants.BN_JIRA_4_4) {
+                uriBuilder.queryParam("username", username);
+            } else {
+                uriBuilder.path(username).build();
+            }
+            return delete(uriBuilder.build());
+        });
     }
 
     @Override
     public Promise<Void> linkIssue(final LinkIssuesInput linkIssuesInput) {
         final URI uri = UriBuilder.fromUri(baseUri).path("issueLink").build();
-        return post(uri, linkIssuesInput, new LinkIssuesInputGenerator(getVersionInfo()));
+        return getVersionInfo().flatMap(serverInfo -> post(uri, linkIssuesInput, new LinkIssuesInputGenerator(serverInfo)));
     }
 
     @Override
@@ -395,7 +409,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> addComment(final URI commentsUri, final Comment comment) {
-        return post(commentsUri, comment, new CommentJsonGenerator(getVersionInfo()));
+        return getVersionInfo().flatMap(serverInfo -> post(commentsUri, comment, new CommentJsonGenerator(serverInfo)));
     }
 
     @Override
@@ -437,8 +451,4 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
                 .post();
         return call(responsePromise);
     }
-
-    private String getLoggedUsername() {
-        return sessionRestClient.getCurrentSession().claim().getUsername();
-    }
 }
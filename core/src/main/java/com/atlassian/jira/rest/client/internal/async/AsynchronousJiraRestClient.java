@@ -20,6 +20,7 @@ import com.atlassian.jira.rest.client.api.ComponentRestClient;
 import com.atlassian.jira.rest.client.api.GroupRestClient;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
 import com.atlassian.jira.rest.client.api.MetadataRestClient;
 import com.atlassian.jira.rest.client.api.MyPermissionsRestClient;
 import com.atlassian.jira.rest.client.api.ProjectRestClient;
@@ -55,12 +56,23 @@ public class AsynchronousJiraRestClient implements JiraRestClient {
     private final AuditRestClient auditRestClient;
 
     public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient) {
+        this(serverUri, httpClient, JiraRestClientOptions.DEFAULT);
+    }
+
+    public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient, final JiraRestClientOptions options) {
         final URI baseUri = UriBuilder.fromUri(serverUri).path("/rest/api/latest").build();
 
         this.httpClient = httpClient;
-        metadataRestClient = new AsynchronousMetadataRestClient(baseUri, httpClient);
+        final MetadataRestClient asynchronousMetadataRestClient = new AsynchronousMetadataRestClient(baseUri, httpClient);
+        metadataRestClient = options.getMetadataCacheSettings() != null
+                ? new CachingMetadataRestClient(asynchronousMetadataRestClient, options.getMetadataCacheSettings())
+                : asynchronousMetadataRestClient;
         sessionRestClient = new AsynchronousSessionRestClient(serverUri, httpClient);
-        issueRestClient = new AsynchronousIssueRestClient(baseUri, httpClient, sessionRestClient, metadataRestClient);
+        final ServerInfoCache serverInfoCache = new ServerInfoCache(metadataRestClient);
+        if (options.isPrewarmServerInfo()) {
+            serverInfoCache.prewarm();
+        }
+        issueRestClient = new AsynchronousIssueRestClient(baseUri, httpClient, sessionRestClient, serverInfoCache);
         userRestClient = new AsynchronousUserRestClient(baseUri, httpClient);
         groupRestClient  = new AsynchronousGroupRestClient(baseUri, httpClient);
         projectRestClient = new AsynchronousProjectRestClient(baseUri, httpClient);
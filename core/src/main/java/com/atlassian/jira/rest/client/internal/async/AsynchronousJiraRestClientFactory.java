@@ -17,9 +17,12 @@ package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.HttpTransport;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
 import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
+import com.atlassian.jira.rest.client.auth.SessionAuthenticationHandler;
 
 import java.net.URI;
 
@@ -30,11 +33,32 @@ import java.net.URI;
  */
 public class AsynchronousJiraRestClientFactory implements JiraRestClientFactory {
 
+    private final HttpTransport transport;
+
+    public AsynchronousJiraRestClientFactory() {
+        this(new AtlassianHttpTransport());
+    }
+
+    /**
+     * @param transport transport sending the requests of the created clients, e.g. the one based on
+     *                  <code>java.net.http</code> from the jira-rest-java-client-jdk-http module
+     * @since v5.2.2
+     */
+    public AsynchronousJiraRestClientFactory(final HttpTransport transport) {
+        this.transport = transport;
+    }
+
     @Override
     public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler) {
-        final DisposableHttpClient httpClient = new AsynchronousHttpClientFactory()
-                .createClient(serverUri, authenticationHandler);
-        return new AsynchronousJiraRestClient(serverUri, httpClient);
+        return create(serverUri, authenticationHandler, JiraRestClientOptions.DEFAULT);
+    }
+
+    @Override
+    public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler,
+                                 final JiraRestClientOptions options) {
+        final DisposableHttpClient httpClient = new AsynchronousHttpClientFactory(transport)
+                .createClient(serverUri, authenticationHandler, options);
+        return new AsynchronousJiraRestClient(serverUri, httpClient, options);
     }
 
     @Override
@@ -42,6 +66,30 @@ public class AsynchronousJiraRestClientFactory implements JiraRestClientFactory
         return create(serverUri, new BasicHttpAuthenticationHandler(username, password));
     }
 
+    @Override
+    public JiraRestClient createWithBasicHttpAuthentication(final URI serverUri, final String username, final String password,
+                                                            final JiraRestClientOptions options) {
+        return create(serverUri, new BasicHttpAuthenticationHandler(username, password), options);
+    }
+
+    /**
+     * Creates a client logging in once and authenticating its requests with the session cookie, see
+     * {@link SessionAuthenticationHandler}.
+     *
+     * @since v5.2.2
+     */
+    public JiraRestClient createWithSessionAuthentication(final URI serverUri, final String username, final String password) {
+        return createWithSessionAuthentication(serverUri, username, password, JiraRestClientOptions.DEFAULT);
+    }
+
+    /**
+     * @since v5.2.2
+     */
+    public JiraRestClient createWithSessionAuthentication(final URI serverUri, final String username, final String password,
+                                                          final JiraRestClientOptions options) {
+        return create(serverUri, new SessionAuthenticationHandler(serverUri, username, password), options);
+    }
+
     @Override
     public JiraRestClient createWithAuthenticationHandler(final URI serverUri, final AuthenticationHandler authenticationHandler) {
         return create(serverUri, authenticationHandler);
@@ -49,7 +97,7 @@ public class AsynchronousJiraRestClientFactory implements JiraRestClientFactory
 
     @Override
     public JiraRestClient create(final URI serverUri, final HttpClient httpClient) {
-        final DisposableHttpClient disposableHttpClient = new AsynchronousHttpClientFactory().createClient(httpClient);
+        final DisposableHttpClient disposableHttpClient = new AsynchronousHttpClientFactory(transport).createClient(httpClient);
         return new AsynchronousJiraRestClient(serverUri, disposableHttpClient);
     }
 }
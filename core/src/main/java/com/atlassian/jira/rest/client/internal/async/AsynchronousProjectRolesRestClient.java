@@ -21,14 +21,15 @@ import com.atlassian.jira.rest.client.api.domain.BasicProjectRole;
 import com.atlassian.jira.rest.client.api.domain.ProjectRole;
 import com.atlassian.jira.rest.client.internal.json.BasicProjectRoleJsonParser;
 import com.atlassian.jira.rest.client.internal.json.ProjectRoleJsonParser;
-import com.google.common.base.Function;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 import io.atlassian.util.concurrent.Promise;
 import io.atlassian.util.concurrent.Promises;
 
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Asynchronous implementation of ProjectRolesRestClient.
@@ -69,11 +70,13 @@ public class AsynchronousProjectRolesRestClient extends AbstractAsynchronousRest
                 .build();
         final Promise<Collection<BasicProjectRole>> basicProjectRoles = getAndParse(rolesUris, basicRoleJsonParser);
 
-        return Promises.promise(Iterables.transform(basicProjectRoles.claim(), new Function<BasicProjectRole, ProjectRole>() {
-            @Override
-            public ProjectRole apply(final BasicProjectRole basicProjectRole) {
-                return getRole(basicProjectRole.getSelf()).claim();
+        // all the roles are requested at once, and the result is built only once, when all of them arrive
+        return basicProjectRoles.flatMap(roles -> {
+            final List<Promise<ProjectRole>> projectRoles = new ArrayList<>(roles.size());
+            for (BasicProjectRole role : roles) {
+                projectRoles.add(getRole(role.getSelf()));
             }
-        }));
+            return Promises.when(projectRoles).map(ImmutableList::copyOf);
+        });
     }
 }
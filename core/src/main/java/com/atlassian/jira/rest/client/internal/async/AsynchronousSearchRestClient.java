@@ -18,12 +18,14 @@ package com.atlassian.jira.rest.client.internal.async;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.RetryableCall;
 import com.atlassian.jira.rest.client.api.SearchRestClient;
 import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.internal.json.FilterJsonParser;
 import com.atlassian.jira.rest.client.internal.json.GenericJsonArrayParser;
-import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.atlassian.jira.rest.client.internal.json.StreamingSearchResultJsonParser;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
@@ -37,6 +39,8 @@ import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos.NAMES;
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos.SCHEMA;
@@ -65,7 +69,7 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
     private static final String EXPAND_ATTRIBUTE = "expand";
     private static final String FIELDS_ATTRIBUTE = "fields";
 
-    private final SearchResultJsonParser searchResultJsonParser = new SearchResultJsonParser();
+    private final StreamingSearchResultJsonParser searchResultJsonParser = new StreamingSearchResultJsonParser();
     private final FilterJsonParser filterJsonParser = new FilterJsonParser();
     private final GenericJsonArrayParser<Filter> filtersParser = GenericJsonArrayParser.create(new FilterJsonParser());
 
@@ -130,7 +134,24 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
         } catch (JSONException e) {
             throw new RestClientException(e);
         }
-        return postAndParse(searchUri, postEntity, searchResultJsonParser);
+        // search doesn't modify anything, so it's as safe to retry as the GET variant
+        return RetryableCall.run(() -> postAndParse(searchUri, postEntity, searchResultJsonParser));
+    }
+
+    @Override
+    public Stream<Issue> searchJqlStream(@Nullable String jql, int pageSize, int maxBufferedPages, @Nullable Set<String> fields) {
+        return new SearchPager(this, jql, pageSize, maxBufferedPages, fields).stream();
+    }
+
+    @Override
+    public Promise<Void> searchJqlPages(@Nullable String jql, int pageSize, int maxBufferedPages, @Nullable Set<String> fields,
+                                        Function<? super SearchResult, ? extends Promise<?>> pageConsumer) {
+        return new SearchPager(this, jql, pageSize, maxBufferedPages, fields).forEachPage(pageConsumer);
+    }
+
+    @Override
+    public Stream<Issue> searchJqlPartitioned(@Nullable String jql, int pageSize, int parallelism, @Nullable Set<String> fields) {
+        return new PartitionedSearch(this, jql, pageSize, parallelism, fields).stream();
     }
 
     @Override
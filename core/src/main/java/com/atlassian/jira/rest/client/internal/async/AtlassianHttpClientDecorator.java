@@ -3,11 +3,29 @@ package com.atlassian.jira.rest.client.internal.async;
 import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
 import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
 import com.atlassian.httpclient.api.ResponseTransformation;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.RenewableAuthenticationHandler;
+import com.atlassian.jira.rest.client.api.RequestInterceptor;
+import com.atlassian.jira.rest.client.api.RetryableCall;
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.atlassian.jira.rest.client.api.metrics.NoOpMetricsRecorder;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 
+import javax.annotation.Nullable;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 /**
@@ -15,15 +33,138 @@ import java.util.regex.Pattern;
  */
 public abstract class AtlassianHttpClientDecorator implements DisposableHttpClient {
 
+    private static final int UNAUTHORIZED = 401;
+    // numbers the clients limiting their concurrency, to tell apart their limits in a shared metrics recorder
+    private static final AtomicInteger clientCount = new AtomicInteger();
+
     private final HttpClient httpClient;
     private final AuthenticationHandler authenticationHandler;
+    @Nullable
+    private final RequestCoalescer requestCoalescer;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final RequestExecutor requestExecutor;
+    private final MetricsRecorder metricsRecorder;
+    private final ImmutableList<RequestInterceptor> interceptors;
+    @Nullable
+    private final Executor parseExecutor;
 
     public AtlassianHttpClientDecorator(HttpClient httpClient, AuthenticationHandler authenticationHandler) {
+        this(httpClient, authenticationHandler, JiraRestClientOptions.DEFAULT);
+    }
+
+    public AtlassianHttpClientDecorator(HttpClient httpClient, AuthenticationHandler authenticationHandler,
+                                        JiraRestClientOptions options) {
         this.httpClient = httpClient;
         this.authenticationHandler = authenticationHandler;
+        this.requestCoalescer = options.isCoalesceGetRequests() ? new RequestCoalescer() : null;
+        this.responseCache = options.getResponseCacheMaxBytes() > 0 ? new ResponseCache(options.getResponseCacheMaxBytes()) : null;
+        this.requestExecutor = createRequestExecutor(httpClient, options);
+        this.metricsRecorder = options.getMetricsRecorder() != null
+                ? options.getMetricsRecorder() : NoOpMetricsRecorder.INSTANCE;
+        this.interceptors = options.getInterceptors();
+        this.parseExecutor = options.getParseExecutor();
+    }
+
+    /**
+     * @return pipeline of the optional request stages enabled by given options, or <code>null</code> when none
+     * is enabled and requests go straight to the HTTP client
+     */
+    @Nullable
+    private static RequestExecutor createRequestExecutor(final HttpClient httpClient, final JiraRestClientOptions options) {
+        final ScheduledExecutorService scheduler = options.getScheduler() != null
+                ? options.getScheduler() : RequestExecutors.DEFAULT_SCHEDULER;
+        final RequestMetrics metrics = options.getMetricsRecorder() != null
+                ? new RequestMetrics(options.getMetricsRecorder(), Ticker.systemTicker()) : null;
+        final RequestExecutor send = httpClient::execute;
+        RequestExecutor executor = metrics != null ? metrics.innermost(send) : send;
+        final SendTimes sendTimes = new SendTimes(Ticker.systemTicker());
+        if (options.getCircuitBreakerSettings() != null) {
+            // the circuit breaker times the calls from here, without the time they waited for a slot
+            executor = sendTimes.recording(executor);
+        }
+        if (options.getConcurrencyLimitSettings() != null) {
+            // inside the circuit breaker, so rejected requests take no slot, and inside rate limiting, so each
+            // throttled attempt is seen
+            executor = new ConcurrencyLimitingRequestExecutor(executor, new AdaptiveConcurrencyLimit(
+                    "jira-rest-client-" + clientCount.incrementAndGet(), options.getConcurrencyLimitSettings(),
+                    options.getMetricsRecorder() != null ? options.getMetricsRecorder() : NoOpMetricsRecorder.INSTANCE,
+                    Ticker.systemTicker()), Ticker.systemTicker());
+        }
+        if (options.getCircuitBreakerSettings() != null) {
+            executor = new CircuitBreakingRequestExecutor(executor, options.getCircuitBreakerSettings(),
+                    Ticker.systemTicker(), sendTimes);
+        }
+        // both stages may resend a request; they share the count, so a call is sent at most as many times as the
+        // highest of their limits rather than the product
+        final CallAttempts callAttempts = new CallAttempts(Math.max(
+                options.getRateLimitSettings() != null ? options.getRateLimitSettings().getMaxAttempts() : 1,
+                options.getRetrySettings() != null ? options.getRetrySettings().getMaxAttempts() : 1));
+        if (options.getRateLimitSettings() != null) {
+            executor = new RateLimitingRequestExecutor(executor, options.getRateLimitSettings(), scheduler,
+                    Ticker.systemTicker(), callAttempts);
+        }
+        if (options.getRetrySettings() != null) {
+            // outside of rate limiting, so each retry waits for its turn as well
+            executor = new RetryingRequestExecutor(executor, options.getRetrySettings(), scheduler, callAttempts);
+        }
+        if (metrics != null) {
+            executor = metrics.outermost(executor);
+        }
+        executor = intercept(options.getInterceptors(), executor);
+        return executor != send ? executor : null;
+    }
+
+    /**
+     * @return executor passing the requests through given interceptors, the first one outermost, then to given executor
+     */
+    static RequestExecutor intercept(final List<RequestInterceptor> interceptors, final RequestExecutor executor) {
+        RequestExecutor res = executor;
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            final RequestInterceptor interceptor = interceptors.get(i);
+            // created once, so proceeding down the chain does not allocate
+            final RequestInterceptor.Chain chain = res::execute;
+            res = request -> interceptor.intercept(request, chain);
+        }
+        return res;
+    }
+
+    /**
+     * @return coalescer of identical GET requests, or <code>null</code> when coalescing is not enabled
+     */
+    @Nullable
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * @return recorder of measurements, {@link NoOpMetricsRecorder} when nothing is measured
+     */
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * @return executor parsing the responses, or <code>null</code> when they are parsed on the callback threads
+     */
+    @Nullable
+    public Executor getParseExecutor() {
+        return parseExecutor;
+    }
+
+    /**
+     * @return cache of parsed GET responses, or <code>null</code> when response caching is not enabled
+     */
+    @Nullable
+    public ResponseCache getResponseCache() {
+        return responseCache;
     }
 
     public void flushCacheByUriPattern(Pattern urlPattern) {
+        if (responseCache != null) {
+            responseCache.flushByUriPattern(urlPattern);
+        }
         httpClient.flushCacheByUriPattern(urlPattern);
     }
 
@@ -66,7 +207,10 @@ public abstract class AtlassianHttpClientDecorator implements DisposableHttpClie
 
     @Override
     public ResponsePromise execute(Request request) {
-        return httpClient.execute(request);
+        if (requestExecutor == null) {
+            return httpClient.execute(request);
+        }
+        return ResponsePromises.toResponsePromise(requestExecutor.execute(request));
     }
 
     private class AuthenticatedRequestBuilder extends DefaultRequest.DefaultRequestBuilder {
@@ -76,11 +220,80 @@ public abstract class AtlassianHttpClientDecorator implements DisposableHttpClie
 
         @Override
         public ResponsePromise execute(Request.Method method) {
+            this.setMethod(method);
+            if (RetryableCall.isActive()) {
+                this.setAttribute(RetryingRequestExecutor.RETRYABLE_ATTRIBUTE, Boolean.TRUE.toString());
+            }
+            if (authenticationHandler instanceof RenewableAuthenticationHandler) {
+                @SuppressWarnings("unchecked")
+                final RenewableAuthenticationHandler<Object> handler = (RenewableAuthenticationHandler<Object>) authenticationHandler;
+                return ResponsePromises.toResponsePromise(executeRenewing(handler));
+            }
             if (authenticationHandler != null) {
-                this.setMethod(method);
                 authenticationHandler.configure(this);
             }
-            return super.execute(method);
+            configureInterceptors();
+            if (requestExecutor == null) {
+                return super.execute(method);
+            }
+            return AtlassianHttpClientDecorator.this.execute(build());
+        }
+
+        private Promise<Response> executeRenewing(final RenewableAuthenticationHandler<Object> handler) {
+            final Object credentials = handler.getCredentials();
+            if (credentials == null) {
+                return handler.renew(httpClient, null)
+                        .flatMap(renewed -> AtlassianHttpClientDecorator.this.execute(build(handler, renewed)));
+            }
+            final Request request = build(handler, credentials);
+            return AtlassianHttpClientDecorator.this.execute(request).flatMap(r -> {
+                if (r.getStatusCode() != UNAUTHORIZED || !RequestExecutors.rewind(request)) {
+                    return Promises.promise(r);
+                }
+                return handler.renew(httpClient, credentials)
+                        .flatMap(renewed -> AtlassianHttpClientDecorator.this.execute(copy(request, handler, renewed)));
+            });
+        }
+
+        private Request build(final RenewableAuthenticationHandler<Object> handler, final Object credentials) {
+            handler.configure(this, credentials);
+            configureInterceptors();
+            return build();
+        }
+
+        /**
+         * @return given request, already configured by the interceptors, with other credentials; built by a fresh
+         * builder, so nothing is configured twice
+         */
+        private Request copy(final Request request, final RenewableAuthenticationHandler<Object> handler,
+                             final Object credentials) {
+            final AuthenticatedRequestBuilder copy = new AuthenticatedRequestBuilder();
+            copy.setUri(request.getUri());
+            copy.setMethod(request.getMethod());
+            for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+                copy.setHeader(header.getKey(), header.getValue());
+            }
+            for (Map.Entry<String, String> attribute : request.getAttributes().entrySet()) {
+                copy.setAttribute(attribute.getKey(), attribute.getValue());
+            }
+            if (request.getContentType() != null) {
+                copy.setContentType(request.getContentType());
+            }
+            if (request.getContentCharset() != null) {
+                copy.setContentCharset(request.getContentCharset());
+            }
+            if (request.hasEntity()) {
+                // already rewound
+                copy.setEntityStream(request.getEntityStream());
+            }
+            handler.configure(copy, credentials);
+            return copy.build();
+        }
+
+        private void configureInterceptors() {
+            for (RequestInterceptor interceptor : interceptors) {
+                interceptor.configure(this);
+            }
         }
     }
 }
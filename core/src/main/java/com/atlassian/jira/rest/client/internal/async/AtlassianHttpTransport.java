@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.event.api.EventPublisher;
+import com.atlassian.httpclient.apache.httpcomponents.DefaultHttpClientFactory;
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.sal.api.ApplicationProperties;
+import com.atlassian.sal.api.UrlMode;
+import com.atlassian.sal.api.executor.ThreadLocalContextManager;
+import com.google.common.collect.MapMaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Default transport, based on the Atlassian HttpClient library and the Apache HttpAsyncClient.
+ *
+ * @since v5.2.2
+ */
+public class AtlassianHttpTransport implements HttpTransport {
+
+    // factories of the clients created and not destroyed yet, by client identity
+    @SuppressWarnings("rawtypes")
+    private final ConcurrentMap<HttpClient, DefaultHttpClientFactory> factories = new MapMaker().weakKeys().makeMap();
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HttpClient createHttpClient(final URI serverUri, final JiraRestClientOptions options) {
+        final DefaultHttpClientFactory defaultHttpClientFactory = new DefaultHttpClientFactory(new NoOpEventPublisher(),
+                new RestClientApplicationProperties(serverUri),
+                new ThreadLocalContextManager() {
+                    @Override
+                    public Object getThreadLocalContext() {
+                        return null;
+                    }
+
+                    @Override
+                    public void setThreadLocalContext(Object context) {
+                    }
+
+                    @Override
+                    public void clearThreadLocalContext() {
+                    }
+                });
+
+        final HttpClient httpClient = defaultHttpClientFactory.create(AsynchronousHttpClientFactory.toHttpClientOptions(options));
+        factories.put(httpClient, defaultHttpClientFactory);
+        return httpClient;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void destroy(final HttpClient httpClient) throws Exception {
+        final DefaultHttpClientFactory defaultHttpClientFactory = factories.remove(httpClient);
+        if (defaultHttpClientFactory != null) {
+            defaultHttpClientFactory.dispose(httpClient);
+        }
+    }
+
+    private static class NoOpEventPublisher implements EventPublisher {
+        @Override
+        public void publish(Object o) {
+        }
+
+        @Override
+        public void register(Object o) {
+        }
+
+        @Override
+        public void unregister(Object o) {
+        }
+
+        @Override
+        public void unregisterAll() {
+        }
+    }
+
+    /**
+     * These properties are used to present JRJC as a User-Agent during http requests.
+     */
+    @SuppressWarnings("deprecation")
+    private static class RestClientApplicationProperties implements ApplicationProperties {
+
+        private final String baseUrl;
+
+        private RestClientApplicationProperties(URI jiraURI) {
+            this.baseUrl = jiraURI.getPath();
+        }
+
+        @Override
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        /**
+         * We'll always have an absolute URL as a client.
+         */
+        @Nonnull
+        @Override
+        public String getBaseUrl(UrlMode urlMode) {
+            return baseUrl;
+        }
+
+        @Nonnull
+        @Override
+        public String getDisplayName() {
+            return "Atlassian JIRA Rest Java Client";
+        }
+
+        @Nonnull
+        @Override
+        public String getPlatformId() {
+            return ApplicationProperties.PLATFORM_JIRA;
+        }
+
+        @Nonnull
+        @Override
+        public String getVersion() {
+            return MavenUtils.getVersion("com.atlassian.jira", "jira-rest-java-client-core");
+        }
+
+        @Nonnull
+        @Override
+        public Date getBuildDate() {
+            // TODO implement using MavenUtils, JRJC-123
+            throw new UnsupportedOperationException();
+        }
+
+        @Nonnull
+        @Override
+        public String getBuildNumber() {
+            // TODO implement using MavenUtils, JRJC-123
+            return String.valueOf(0);
+        }
+
+        @Override
+        public File getHomeDirectory() {
+            return new File(".");
+        }
+
+        @Override
+        public String getPropertyValue(final String s) {
+            throw new UnsupportedOperationException("Not implemented");
+        }
+    }
+
+    private static final class MavenUtils {
+        private static final Logger logger = LoggerFactory.getLogger(MavenUtils.class);
+
+        private static final String UNKNOWN_VERSION = "unknown";
+
+        static String getVersion(String groupId, String artifactId) {
+            final Properties props = new Properties();
+            InputStream resourceAsStream = null;
+            try {
+                resourceAsStream = MavenUtils.class.getResourceAsStream(String
+                        .format("/META-INF/maven/%s/%s/pom.properties", groupId, artifactId));
+                props.load(resourceAsStream);
+                return props.getProperty("version", UNKNOWN_VERSION);
+            } catch (Exception e) {
+                logger.debug("Could not find version for maven artifact {}:{}", groupId, artifactId);
+                logger.debug("Got the following exception", e);
+                return UNKNOWN_VERSION;
+            } finally {
+                if (resourceAsStream != null) {
+                    try {
+                        resourceAsStream.close();
+                    } catch (IOException ioe) {
+                        // ignore
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A single value loaded asynchronously and kept for a time to live.
+ * <p>
+ * Concurrent callers share one load. A failed load is not kept, so the next caller loads again. A read after
+ * the refresh-ahead time reloads the value in the background while still answering with the current one;
+ * the reloaded value replaces it only when the reload succeeds.
+ *
+ * @since v5.2.2
+ */
+class CachedResource<T> {
+
+    private final Supplier<Promise<T>> loader;
+    private final long timeToLiveNanos;
+    private final long refreshAfterNanos;
+    private final Ticker ticker;
+    private final AtomicReference<Loaded<T>> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * @param refreshAfterNanos age after which a read triggers a background reload, {@link Long#MAX_VALUE} for never
+     */
+    CachedResource(final Supplier<Promise<T>> loader, final long timeToLiveNanos, final long refreshAfterNanos,
+                   final Ticker ticker) {
+        this.loader = loader;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.refreshAfterNanos = refreshAfterNanos;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @return resource loaded once and kept forever (unless the load fails)
+     */
+    static <T> CachedResource<T> permanent(final Supplier<Promise<T>> loader) {
+        return new CachedResource<>(loader, Long.MAX_VALUE, Long.MAX_VALUE, Ticker.systemTicker());
+    }
+
+    Promise<T> get() {
+        while (true) {
+            final Loaded<T> loaded = current.get();
+            final long now = ticker.read();
+            if (loaded != null && !loaded.value.isCompletedExceptionally() && now - loaded.loadedAt < timeToLiveNanos) {
+                if (now - loaded.loadedAt >= refreshAfterNanos) {
+                    refreshAhead(loaded);
+                }
+                return toPromise(loaded.value);
+            }
+            final Loaded<T> created = new Loaded<>(new CompletableFuture<>(), now);
+            if (current.compareAndSet(loaded, created)) {
+                load().done(created.value::complete).fail(created.value::completeExceptionally);
+                return toPromise(created.value);
+            }
+        }
+    }
+
+    /**
+     * Drops the current value, so the next caller loads it again.
+     */
+    void invalidate() {
+        current.set(null);
+    }
+
+    private void refreshAhead(final Loaded<T> loaded) {
+        if (!loaded.value.isDone() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        final long startedAt = ticker.read();
+        load().done(value -> {
+            current.compareAndSet(loaded, new Loaded<>(CompletableFuture.completedFuture(value), startedAt));
+            refreshing.set(false);
+        }).fail(e -> refreshing.set(false));
+    }
+
+    private Promise<T> load() {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            return Promises.rejected(e);
+        }
+    }
+
+    // a dependent stage per caller, so one caller cancelling doesn't cancel the shared load
+    private static <T> Promise<T> toPromise(final CompletableFuture<T> value) {
+        return Promises.forCompletionStage(value.thenApply(Function.identity()));
+    }
+
+    private static final class Loaded<T> {
+        private final CompletableFuture<T> value;
+        private final long loadedAt;
+
+        private Loaded(final CompletableFuture<T> value, final long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.IndexedMetadataRestClient;
+import com.atlassian.jira.rest.client.api.MetadataCacheSettings;
+import com.atlassian.jira.rest.client.api.MetadataIndex;
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.NamedEntity;
+import com.atlassian.jira.rest.client.api.domain.Field;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.IssuelinksType;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+
+import java.net.URI;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caching decorator of {@link MetadataRestClient}, keeping the metadata lists and the server info in memory
+ * as configured by {@link MetadataCacheSettings}. Lookups of single entities by URI are not cached.
+ *
+ * @since v5.2.2
+ */
+public class CachingMetadataRestClient implements IndexedMetadataRestClient {
+
+    private final MetadataRestClient delegate;
+    private final CachedResource<MetadataIndex<IssueType>> issueTypes;
+    private final CachedResource<MetadataIndex<IssuelinksType>> issueLinkTypes;
+    private final CachedResource<MetadataIndex<Status>> statuses;
+    private final CachedResource<MetadataIndex<Priority>> priorities;
+    private final CachedResource<MetadataIndex<Resolution>> resolutions;
+    private final CachedResource<MetadataIndex<Field>> fields;
+    private final CachedResource<ServerInfo> serverInfo;
+
+    public CachingMetadataRestClient(final MetadataRestClient delegate, final MetadataCacheSettings settings) {
+        this(delegate, settings, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    CachingMetadataRestClient(final MetadataRestClient delegate, final MetadataCacheSettings settings, final Ticker ticker) {
+        this.delegate = delegate;
+        this.issueTypes = index(settings, MetadataCacheSettings.Resource.ISSUE_TYPES, delegate::getIssueTypes,
+                IssueType::getId, ticker);
+        this.issueLinkTypes = index(settings, MetadataCacheSettings.Resource.ISSUE_LINK_TYPES, delegate::getIssueLinkTypes,
+                IssuelinksType::getId, ticker);
+        this.statuses = index(settings, MetadataCacheSettings.Resource.STATUSES, delegate::getStatuses,
+                Status::getId, ticker);
+        this.priorities = index(settings, MetadataCacheSettings.Resource.PRIORITIES, delegate::getPriorities,
+                Priority::getId, ticker);
+        this.resolutions = index(settings, MetadataCacheSettings.Resource.RESOLUTIONS, delegate::getResolutions,
+                Resolution::getId, ticker);
+        this.fields = index(settings, MetadataCacheSettings.Resource.FIELDS, delegate::getFields,
+                Field::getId, ticker);
+        this.serverInfo = cached(settings, MetadataCacheSettings.Resource.SERVER_INFO, delegate::getServerInfo, ticker);
+    }
+
+    @Override
+    public Promise<MetadataIndex<IssueType>> getIssueTypeIndex() {
+        return issueTypes.get();
+    }
+
+    @Override
+    public Promise<MetadataIndex<IssuelinksType>> getIssueLinkTypeIndex() {
+        return issueLinkTypes.get();
+    }
+
+    @Override
+    public Promise<MetadataIndex<Status>> getStatusIndex() {
+        return statuses.get();
+    }
+
+    @Override
+    public Promise<MetadataIndex<Priority>> getPriorityIndex() {
+        return priorities.get();
+    }
+
+    @Override
+    public Promise<MetadataIndex<Resolution>> getResolutionIndex() {
+        return resolutions.get();
+    }
+
+    @Override
+    public Promise<MetadataIndex<Field>> getFieldIndex() {
+        return fields.get();
+    }
+
+    @Override
+    public Promise<Iterable<IssueType>> getIssueTypes() {
+        return issueTypes.get().map(MetadataIndex::getValues);
+    }
+
+    @Override
+    public Promise<Iterable<IssuelinksType>> getIssueLinkTypes() {
+        return issueLinkTypes.get().map(MetadataIndex::getValues);
+    }
+
+    @Override
+    public Promise<Iterable<Status>> getStatuses() {
+        return statuses.get().map(MetadataIndex::getValues);
+    }
+
+    @Override
+    public Promise<Iterable<Priority>> getPriorities() {
+        return priorities.get().map(MetadataIndex::getValues);
+    }
+
+    @Override
+    public Promise<Iterable<Resolution>> getResolutions() {
+        return resolutions.get().map(MetadataIndex::getValues);
+    }
+
+    @Override
+    public Promise<Iterable<Field>> getFields() {
+        return fields.get().map(MetadataIndex::getValues);
+    }
+
+    @Override
+    public Promise<ServerInfo> getServerInfo() {
+        return serverInfo.get();
+    }
+
+    @Override
+    public Promise<IssueType> getIssueType(final URI uri) {
+        return delegate.getIssueType(uri);
+    }
+
+    @Override
+    public Promise<Status> getStatus(final URI uri) {
+        return delegate.getStatus(uri);
+    }
+
+    @Override
+    public Promise<Priority> getPriority(final URI uri) {
+        return delegate.getPriority(uri);
+    }
+
+    @Override
+    public Promise<Resolution> getResolution(final URI uri) {
+        return delegate.getResolution(uri);
+    }
+
+    private static <T extends NamedEntity> CachedResource<MetadataIndex<T>> index(
+            final MetadataCacheSettings settings, final MetadataCacheSettings.Resource resource,
+            final Supplier<Promise<Iterable<T>>> loader, final Function<? super T, ?> idFunction, final Ticker ticker) {
+        return cached(settings, resource, () -> loader.get().map(values -> MetadataIndex.create(values, idFunction)), ticker);
+    }
+
+    private static <T> CachedResource<T> cached(final MetadataCacheSettings settings,
+                                                final MetadataCacheSettings.Resource resource,
+                                                final Supplier<Promise<T>> loader, final Ticker ticker) {
+        final long timeToLiveNanos = settings.getTimeToLive(resource).toNanos();
+        final long refreshAfterNanos = (long) (timeToLiveNanos * settings.getRefreshAheadFactor());
+        return new CachedResource<>(loader, timeToLiveNanos, refreshAfterNanos, ticker);
+    }
+}
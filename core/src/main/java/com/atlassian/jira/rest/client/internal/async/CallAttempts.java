@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.google.common.collect.MapMaker;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Number of times each call has been sent, shared by the stages resending requests (retrying and rate limiting).
+ * Each stage still resends within its own limit, but together they send a call at most <code>maxAttempts</code>
+ * times, instead of the product of their limits.
+ *
+ * @since v5.2.2
+ */
+class CallAttempts {
+
+    private final int maxAttempts;
+    private final ConcurrentMap<Request, AtomicInteger> attempts = new MapMaker().weakKeys().makeMap();
+
+    CallAttempts(final int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @return <code>true</code> when the request may be sent once more, counting that attempt
+     */
+    boolean tryResend(final Request request) {
+        final AtomicInteger sent = attempts.computeIfAbsent(request, r -> new AtomicInteger(1));
+        return sent.getAndUpdate(count -> count < maxAttempts ? count + 1 : count) < maxAttempts;
+    }
+
+    /**
+     * The call is over, its request won't be resent anymore.
+     */
+    void completed(final Request request) {
+        attempts.remove(request);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.CircuitBreakerListener;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings.State;
+import com.google.common.base.Ticker;
+
+/**
+ * Circuit breaker of one endpoint, see {@link CircuitBreakerSettings}.
+ * <p>
+ * Every state transition starts a new generation; outcomes of requests let through in an earlier generation
+ * (e.g. requests still running when the circuit breaker opened) are ignored.
+ *
+ * @since v5.2.2
+ */
+class CircuitBreaker {
+
+    static final long REJECTED = -1;
+
+    private final String endpoint;
+    private final CircuitBreakerSettings settings;
+    private final long openNanos;
+    private final Ticker ticker;
+    private final boolean[] failures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int recorded;
+    private int nextSlot;
+    private int failureCount;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    CircuitBreaker(final String endpoint, final CircuitBreakerSettings settings, final Ticker ticker) {
+        this.endpoint = endpoint;
+        this.settings = settings;
+        this.openNanos = settings.getOpenDuration().toNanos();
+        this.ticker = ticker;
+        this.failures = new boolean[settings.getWindowSize()];
+    }
+
+    /**
+     * @return generation of the circuit breaker which lets the request through, to be passed to
+     * {@link #onResult(long, boolean)} or {@link #release(long)}, or {@link #REJECTED} when the request must not be sent
+     */
+    long tryAcquire() {
+        State from = null;
+        final long permit;
+        synchronized (this) {
+            if (state == State.OPEN && ticker.read() - openedAt >= openNanos) {
+                from = transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                permit = generation;
+            } else if (state == State.HALF_OPEN && probesStarted < settings.getHalfOpenProbes()) {
+                probesStarted++;
+                permit = generation;
+            } else {
+                permit = REJECTED;
+            }
+        }
+        if (from != null) {
+            notifyListeners(from, State.HALF_OPEN);
+        }
+        return permit;
+    }
+
+    void onResult(final long permit, final boolean failed) {
+        final State from;
+        final State to;
+        synchronized (this) {
+            if (permit != generation) {
+                return;
+            }
+            from = state;
+            if (state == State.CLOSED) {
+                record(failed);
+                if (recorded >= settings.getMinimumCalls()
+                        && failureCount >= settings.getFailureRateThreshold() * recorded) {
+                    transitionTo(State.OPEN);
+                }
+            } else if (state == State.HALF_OPEN) {
+                if (failed) {
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= settings.getHalfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            to = state;
+        }
+        if (from != to) {
+            notifyListeners(from, to);
+        }
+    }
+
+    /**
+     * Gives the permit back without an outcome, e.g. when the request was cancelled: it says nothing about
+     * the endpoint, but a half-open circuit breaker may let another probe through instead.
+     */
+    synchronized void release(final long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            probesStarted--;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    private void record(final boolean failed) {
+        if (recorded == failures.length) {
+            if (failures[nextSlot]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[nextSlot] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        nextSlot = (nextSlot + 1) % failures.length;
+    }
+
+    private State transitionTo(final State newState) {
+        final State from = state;
+        state = newState;
+        generation++;
+        if (newState == State.OPEN) {
+            openedAt = ticker.read();
+        } else if (newState == State.HALF_OPEN) {
+            probesStarted = 0;
+            probesSucceeded = 0;
+        } else {
+            recorded = 0;
+            nextSlot = 0;
+            failureCount = 0;
+        }
+        return from;
+    }
+
+    private void notifyListeners(final State from, final State to) {
+        for (CircuitBreakerListener listener : settings.getListeners()) {
+            listener.onStateTransition(endpoint, from, to);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.CircuitBreakerOpenException;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings;
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Guards each endpoint with its own {@link CircuitBreaker}, so requests to an endpoint in trouble fail fast
+ * instead of holding connections needed by the other endpoints.
+ * <p>
+ * Calls are judged slow by the time since they were actually sent, as recorded in given {@link SendTimes} by a stage
+ * inside this one, so the time spent waiting for a concurrency limit slot does not make an endpoint look unhealthy.
+ * Cancelled calls are not counted at all.
+ *
+ * @since v5.2.2
+ */
+class CircuitBreakingRequestExecutor implements RequestExecutor {
+
+    private static final int SERVER_ERROR = 500;
+
+    private final RequestExecutor delegate;
+    private final CircuitBreakerSettings settings;
+    private final Ticker ticker;
+    private final long slowCallNanos;
+    private final SendTimes sendTimes;
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * Judges calls by the time since they were passed to given delegate.
+     */
+    CircuitBreakingRequestExecutor(final RequestExecutor delegate, final CircuitBreakerSettings settings,
+                                   final Ticker ticker) {
+        this(delegate, settings, ticker, new SendTimes(ticker));
+    }
+
+    CircuitBreakingRequestExecutor(final RequestExecutor delegate, final CircuitBreakerSettings settings,
+                                   final Ticker ticker, final SendTimes sendTimes) {
+        this.delegate = delegate;
+        this.sendTimes = sendTimes;
+        this.settings = settings;
+        this.ticker = ticker;
+        this.slowCallNanos = settings.getSlowCallDuration() != null
+                ? settings.getSlowCallDuration().toNanos() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public Promise<Response> execute(final Request request) {
+        final CircuitBreaker circuitBreaker = getCircuitBreaker(Endpoints.of(request.getUri()));
+        final long permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            return Promises.rejected(new CircuitBreakerOpenException(circuitBreaker.getEndpoint()));
+        }
+        final long startedAt = ticker.read();
+        final Promise<Response> response;
+        try {
+            response = delegate.execute(request);
+        } catch (RuntimeException e) {
+            circuitBreaker.onResult(permit, true);
+            throw e;
+        }
+        return response.done(r -> circuitBreaker.onResult(permit, r.getStatusCode() >= SERVER_ERROR
+                || sendTimes.elapsedSinceSent(request, startedAt) > slowCallNanos))
+                .fail(e -> {
+                    // only drops the record of the attempt
+                    sendTimes.elapsedSinceSent(request, startedAt);
+                    if (e instanceof CancellationException) {
+                        circuitBreaker.release(permit);
+                    } else {
+                        circuitBreaker.onResult(permit, true);
+                    }
+                });
+    }
+
+    CircuitBreaker getCircuitBreaker(final String endpoint) {
+        return circuitBreakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(key, settings, ticker));
+    }
+}
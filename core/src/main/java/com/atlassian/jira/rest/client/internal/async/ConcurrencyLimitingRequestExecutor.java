@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends at most {@link AdaptiveConcurrencyLimit#getLimit()} requests at a time. Requests above the limit wait in
+ * a queue, without holding a thread, and are sent in order as responses come back. Throttling responses
+ * (<code>429</code> and <code>503</code>) and requests failed without response lower the limit.
+ * <p>
+ * Cancelling the returned promise removes a waiting request from the queue, or cancels the request in flight.
+ *
+ * @since v5.2.2
+ */
+class ConcurrencyLimitingRequestExecutor implements RequestExecutor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final RequestExecutor delegate;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Ticker ticker;
+    private final Queue<Pending> waiting = new ConcurrentLinkedQueue<>();
+    // only the thread incrementing it from 0 sends waiting requests, so synchronous responses do not recurse
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    ConcurrencyLimitingRequestExecutor(final RequestExecutor delegate, final AdaptiveConcurrencyLimit limit,
+                                       final Ticker ticker) {
+        this.delegate = delegate;
+        this.limit = limit;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public Promise<Response> execute(final Request request) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        final Pending pending = new Pending(request, result);
+        waiting.add(pending);
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                waiting.remove(pending);
+            }
+        });
+        drain();
+        return Promises.forCompletionStage(result);
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Pending next;
+            while ((next = waiting.peek()) != null) {
+                if (next.result.isDone()) {
+                    // cancelled while waiting
+                    waiting.remove(next);
+                } else if (!limit.tryAcquire()) {
+                    break;
+                } else if (waiting.remove(next)) {
+                    send(next);
+                } else {
+                    // cancelled since peeked
+                    limit.release();
+                }
+            }
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private void send(final Pending pending) {
+        final String endpoint = Endpoints.of(pending.request.getUri());
+        final long sentAt = ticker.read();
+        final CompletableFuture<Response> response = new CompletableFuture<>();
+        RequestExecutors.cancelWith(pending.result, RequestExecutors.execute(delegate, pending.request, response));
+        response.whenComplete((value, e) -> {
+            if (pending.result.isCancelled()) {
+                // says nothing about the load of the server
+                limit.release();
+            } else {
+                limit.onResponse(endpoint, ticker.read() - sentAt, e != null || isThrottling(value.getStatusCode()));
+            }
+            if (e != null) {
+                pending.result.completeExceptionally(e);
+            } else {
+                pending.result.complete(value);
+            }
+            drain();
+        });
+    }
+
+    private static boolean isThrottling(final int statusCode) {
+        return statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE;
+    }
+
+    private static class Pending {
+        private final Request request;
+        private final CompletableFuture<Response> result;
+
+        private Pending(final Request request, final CompletableFuture<Response> result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.atlassian.jira.rest.client.internal.async;
 
+import com.atlassian.jira.rest.client.api.CircuitBreakerOpenException;
 import com.atlassian.jira.rest.client.api.RestClientException;
 import io.atlassian.util.concurrent.Promise;
 
@@ -41,6 +42,8 @@ public class DelegatingPromise<T> implements Promise<T> {
     public T claim() {
         try {
             return delegate.claim();
+        } catch (CircuitBreakerOpenException e) {
+            throw new CircuitBreakerOpenException(e);
         } catch (RestClientException e) {
             throw new RestClientException(e);
         }
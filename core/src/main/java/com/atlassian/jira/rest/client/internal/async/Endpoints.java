@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Groups REST resources into endpoints, for circuit breaking and metrics.
+ *
+ * @since v5.2.2
+ */
+final class Endpoints {
+
+    /**
+     * Endpoint of responses parsed without knowing their URI.
+     */
+    static final String OTHER = "other";
+
+    private static final Splitter PATH_SPLITTER = Splitter.on('/').omitEmptyStrings();
+
+    private Endpoints() {
+    }
+
+    /**
+     * Endpoint of a REST resource URI, made of the REST API name and the top level resource, e.g.
+     * <code>api/search</code> for <code>/rest/api/latest/search</code> or <code>auth/session</code> for
+     * <code>/rest/auth/1/session</code>. Resource ids and sub-resources are left out, so e.g. all the issues
+     * share one endpoint.
+     */
+    static String of(@Nullable final URI uri) {
+        if (uri == null) {
+            return OTHER;
+        }
+        final List<String> segments = PATH_SPLITTER.splitToList(uri.getPath() != null ? uri.getPath() : "");
+        final int rest = segments.indexOf("rest");
+        if (rest < 0) {
+            return Iterables.getFirst(segments, "");
+        }
+        final List<String> api = segments.subList(rest + 1, segments.size());
+        if (api.size() >= 3) {
+            return api.get(0) + "/" + api.get(2);
+        }
+        return String.join("/", api);
+    }
+}
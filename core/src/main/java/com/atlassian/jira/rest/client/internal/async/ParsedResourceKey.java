@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+import java.net.URI;
+
+/**
+ * Identifies a resource read with a given parser. Two keys are equal only when they hold the same parser instance,
+ * as different parsers (e.g. with different expand options) build different objects from the same resource.
+ *
+ * @since v5.2.2
+ */
+final class ParsedResourceKey {
+    private final URI uri;
+    private final Object parser;
+
+    ParsedResourceKey(final URI uri, final Object parser) {
+        this.uri = uri;
+        this.parser = parser;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof ParsedResourceKey) {
+            final ParsedResourceKey that = (ParsedResourceKey) obj;
+            return this.parser == that.parser && Objects.equal(this.uri, that.uri);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * uri.hashCode() + System.identityHashCode(parser);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("uri", uri).
+                add("parser", parser.getClass().getName()).
+                toString();
+    }
+}
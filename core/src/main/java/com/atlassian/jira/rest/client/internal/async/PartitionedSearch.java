@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Splits a JQL search into slices of contiguous issue id ranges and fetches the slices concurrently.
+ * <p>
+ * Bounds of the whole id range are found first (by the lowest and the highest matching id); the half-open slices
+ * <code>[from, to)</code> cover that range exactly. Each slice is paged by keyset rather than by offset: every page
+ * asks for the issues with ids above the last one seen, ordered by id, always from <code>startAt=0</code>. So issues
+ * created, deleted or moved in or out of a slice while it is paged never shift the other issues between pages: no
+ * issue is returned twice and none of the issues matching during the whole search is skipped. Issues created after
+ * the bounds were found with ids above the highest bound are not returned.
+ * <p>
+ * Pages of different slices are interleaved in the order they arrive; within a slice issues come in id order.
+ * At most <code>maxBufferedPages</code> pages wait for the consumer, slices are paused when it's slower.
+ *
+ * @since v5.2.2
+ */
+class PartitionedSearch implements Closeable {
+
+    /**
+     * Fields JIRA always requires to build an issue; enough to find the id bounds.
+     */
+    static final Set<String> BOUNDS_FIELDS = ImmutableSet.of("summary", "issuetype", "created", "updated", "project", "status");
+
+    /**
+     * More slices than parallel fetches, so one dense id range doesn't leave the other workers idle.
+     */
+    private static final int SLICES_PER_WORKER = 4;
+    private static final Pattern ORDER_BY = Pattern.compile("(?i)order\\s+by\\b");
+
+    private final SearchRestClient searchRestClient;
+    private final String jql;
+    private final int pageSize;
+    private final int parallelism;
+    @Nullable
+    private final Set<String> fields;
+
+    private final ArrayDeque<Slice> pendingSlices = new ArrayDeque<>();
+    private final Set<Promise<SearchResult>> pagesInFlight = new HashSet<>();
+    private final ArrayDeque<SearchResult> pages = new ArrayDeque<>();
+    private final ArrayDeque<CompletableFuture<Void>> blockedSlices = new ArrayDeque<>();
+    private final int maxBufferedPages;
+    private int runningSlices;
+    private boolean started;
+    private boolean finished;
+    private boolean closed;
+    @Nullable
+    private Throwable failure;
+
+    PartitionedSearch(final SearchRestClient searchRestClient, @Nullable final String jql, final int pageSize,
+                      final int parallelism, @Nullable final Set<String> fields) {
+        Preconditions.checkArgument(pageSize > 0, "pageSize must be positive");
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        this.searchRestClient = searchRestClient;
+        this.jql = stripOrderBy(StringUtils.defaultString(jql));
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.maxBufferedPages = 2 * parallelism;
+        this.fields = fields;
+    }
+
+    /**
+     * @return given JQL without its <code>ORDER BY</code> clause, found outside of quoted strings
+     */
+    static String stripOrderBy(final String jql) {
+        final Matcher orderBy = ORDER_BY.matcher(jql);
+        char quote = 0;
+        for (int i = 0; i < jql.length(); i++) {
+            final char c = jql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if ((i == 0 || !Character.isLetterOrDigit(jql.charAt(i - 1))) && orderBy.region(i, jql.length()).lookingAt()) {
+                return jql.substring(0, i).trim();
+            }
+        }
+        return jql.trim();
+    }
+
+    /**
+     * @return JQL selecting issues with ids in <code>(after, to)</code>, ordered by id
+     */
+    static String sliceJql(final String jql, final long after, final long to) {
+        final String range = "id > " + after + " AND id < " + to;
+        return (jql.isEmpty() ? range : "(" + jql + ") AND " + range) + " ORDER BY id ASC";
+    }
+
+    /**
+     * Splits <code>[minId, maxId]</code> into at most <code>count</code> contiguous, half-open ranges.
+     */
+    static List<long[]> split(final long minId, final long maxId, final int count) {
+        final long span = maxId - minId + 1;
+        final int slices = (int) Math.max(1, Math.min(count, span));
+        final List<long[]> res = new ArrayList<>(slices);
+        long from = minId;
+        for (int i = 1; i <= slices; i++) {
+            final long to = (i == slices) ? maxId + 1 : minId + span * i / slices;
+            res.add(new long[]{from, to});
+            from = to;
+        }
+        return res;
+    }
+
+    private void start() {
+        final Promise<SearchResult> lowest = searchRestClient.searchJql(boundJql("ASC"), 1, 0, BOUNDS_FIELDS);
+        final Promise<SearchResult> highest = searchRestClient.searchJql(boundJql("DESC"), 1, 0, BOUNDS_FIELDS);
+        lowest.done(low -> highest.done(high -> {
+            final Issue first = Iterables.getFirst(low.getIssues(), null);
+            final Issue last = Iterables.getFirst(high.getIssues(), null);
+            synchronized (this) {
+                if (first != null && last != null) {
+                    for (long[] range : split(first.getId(), last.getId(), parallelism * SLICES_PER_WORKER)) {
+                        pendingSlices.add(new Slice(range[0], range[1]));
+                    }
+                }
+                startSlices();
+            }
+        }).fail(this::fail)).fail(this::fail);
+    }
+
+    private String boundJql(final String direction) {
+        return (jql.isEmpty() ? "" : jql + " ") + "ORDER BY id " + direction;
+    }
+
+    // called with the lock held
+    private void startSlices() {
+        while (!closed && runningSlices < parallelism && !pendingSlices.isEmpty()) {
+            runningSlices++;
+            pendingSlices.poll().fetchNextPage();
+        }
+        if (runningSlices == 0 && pendingSlices.isEmpty()) {
+            finished = true;
+            notifyAll();
+        }
+    }
+
+    private synchronized void onSliceDone() {
+        runningSlices--;
+        startSlices();
+    }
+
+    private synchronized Promise<Void> offer(final SearchResult page) {
+        if (closed) {
+            return Promises.rejected(new IllegalStateException("Search closed"));
+        }
+        pages.add(page);
+        notifyAll();
+        if (pages.size() < maxBufferedPages) {
+            return Promises.promise(null);
+        }
+        final CompletableFuture<Void> resume = new CompletableFuture<>();
+        blockedSlices.add(resume);
+        return Promises.forCompletionStage(resume);
+    }
+
+    private void fail(final Throwable e) {
+        synchronized (this) {
+            if (failure == null && !closed) {
+                failure = e;
+            }
+            finished = true;
+            notifyAll();
+        }
+        close();
+    }
+
+    @Nullable
+    private SearchResult take() {
+        final CompletableFuture<Void> toResume;
+        final SearchResult page;
+        synchronized (this) {
+            if (!started) {
+                started = true;
+                start();
+            }
+            while (pages.isEmpty() && !finished && failure == null && !closed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RestClientException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure instanceof RestClientException ? (RestClientException) failure : new RestClientException(failure);
+            }
+            page = pages.poll();
+            toResume = pages.size() < maxBufferedPages ? blockedSlices.poll() : null;
+        }
+        if (toResume != null) {
+            // outside of the lock, the slice may fetch and offer its next page right away
+            toResume.complete(null);
+        }
+        return page;
+    }
+
+    /**
+     * Stops all slices; already fetched pages are dropped.
+     */
+    @Override
+    public void close() {
+        final List<CompletableFuture<Void>> toResume;
+        final List<Promise<SearchResult>> toCancel;
+        synchronized (this) {
+            closed = true;
+            pendingSlices.clear();
+            pages.clear();
+            toResume = new ArrayList<>(blockedSlices);
+            blockedSlices.clear();
+            toCancel = new ArrayList<>(pagesInFlight);
+            pagesInFlight.clear();
+            notifyAll();
+        }
+        for (CompletableFuture<Void> blocked : toResume) {
+            blocked.completeExceptionally(new IllegalStateException("Search closed"));
+        }
+        for (Promise<SearchResult> page : toCancel) {
+            page.cancel(true);
+        }
+    }
+
+    /**
+     * Issues of one id range, paged by keyset.
+     */
+    private class Slice {
+        private final long to;
+        // id of the last issue seen, the next page starts above it
+        private long after;
+        // requests to fetch the next page; only the thread incrementing it from 0 fetches, so pages which are
+        // already done are fetched in a loop instead of recursing once per page
+        private final AtomicInteger fetchRequests = new AtomicInteger();
+
+        private Slice(final long from, final long to) {
+            this.after = from - 1;
+            this.to = to;
+        }
+
+        private void fetchNextPage() {
+            if (fetchRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                fetchPage();
+            } while (fetchRequests.decrementAndGet() != 0);
+        }
+
+        private void fetchPage() {
+            final Promise<SearchResult> page;
+            synchronized (PartitionedSearch.this) {
+                if (closed) {
+                    return;
+                }
+                page = searchRestClient.searchJql(sliceJql(jql, after, to), pageSize, 0, fields);
+                pagesInFlight.add(page);
+            }
+            page.done(result -> {
+                synchronized (PartitionedSearch.this) {
+                    pagesInFlight.remove(page);
+                }
+                final Issue last = Iterables.getLast(result.getIssues(), null);
+                if (last == null) {
+                    onSliceDone();
+                    return;
+                }
+                after = last.getId();
+                // total counts the issues above the previous page, so this page was the last one when it had them all
+                final boolean hasMore = Iterables.size(result.getIssues()) < result.getTotal();
+                offer(result)
+                        .done(ignored -> {
+                            if (hasMore) {
+                                fetchNextPage();
+                            } else {
+                                onSliceDone();
+                            }
+                        })
+                        .fail(PartitionedSearch.this::fail);
+            }).fail(PartitionedSearch.this::fail);
+        }
+    }
+
+    Iterator<Issue> iterator() {
+        return new AbstractIterator<Issue>() {
+            private Iterator<Issue> current = Collections.emptyIterator();
+
+            @Override
+            protected Issue computeNext() {
+                while (!current.hasNext()) {
+                    final SearchResult page = take();
+                    if (page == null) {
+                        return endOfData();
+                    }
+                    current = page.getIssues().iterator();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    Stream<Issue> stream() {
+        final Spliterator<Issue> spliterator = Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RateLimitSettings;
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Sends requests at the rate allowed by {@link RateLimitSettings}, and resends throttled requests once the pause
+ * requested by the server is over. All the requests passing through one executor share its token bucket,
+ * so a pause requested for one request delays all the others too. Resends are counted in {@link CallAttempts}
+ * shared with the retrying stage, if any. Cancelling the returned promise cancels the request waiting for its token
+ * or in flight, and stops the resends.
+ *
+ * @since v5.2.2
+ */
+class RateLimitingRequestExecutor implements RequestExecutor {
+
+    static final String RETRY_AFTER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final RequestExecutor delegate;
+    private final TokenBucket tokenBucket;
+    private final ScheduledExecutorService scheduler;
+    private final int maxAttempts;
+    private final long defaultRetryAfterNanos;
+    private final long maxRetryAfterNanos;
+    private final CallAttempts callAttempts;
+
+    RateLimitingRequestExecutor(final RequestExecutor delegate, final RateLimitSettings settings,
+                                final ScheduledExecutorService scheduler, final Ticker ticker) {
+        this(delegate, settings, scheduler, ticker, new CallAttempts(settings.getMaxAttempts()));
+    }
+
+    RateLimitingRequestExecutor(final RequestExecutor delegate, final RateLimitSettings settings,
+                                final ScheduledExecutorService scheduler, final Ticker ticker,
+                                final CallAttempts callAttempts) {
+        this.delegate = delegate;
+        this.tokenBucket = new TokenBucket(settings.getPermitsPerSecond() != null
+                ? settings.getPermitsPerSecond() : Double.POSITIVE_INFINITY, settings.getBurstSize(), ticker);
+        this.scheduler = scheduler;
+        this.maxAttempts = settings.getMaxAttempts();
+        this.defaultRetryAfterNanos = settings.getDefaultRetryAfter().toNanos();
+        this.maxRetryAfterNanos = settings.getMaxRetryAfter().toNanos();
+        this.callAttempts = callAttempts;
+    }
+
+    @Override
+    public Promise<Response> execute(final Request request) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        attempt(request, 1, result);
+        return Promises.forCompletionStage(result);
+    }
+
+    private void attempt(final Request request, final int attempt, final CompletableFuture<Response> result) {
+        final CompletableFuture<Response> response = new CompletableFuture<>();
+        RequestExecutors.cancelWith(result, response);
+        RequestExecutors.executeLater(scheduler, tokenBucket.reserve(), delegate, request, response);
+        response.whenComplete((value, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            final Long pauseNanos = throttledFor(value);
+            if (pauseNanos != null && !result.isDone() && attempt < maxAttempts && pauseNanos <= maxRetryAfterNanos
+                    && RequestExecutors.rewind(request) && callAttempts.tryResend(request)) {
+                tokenBucket.pause(pauseNanos);
+                attempt(request, attempt + 1, result);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * @return pause requested by the server, or <code>null</code> when the response is not a throttling one
+     */
+    @Nullable
+    private Long throttledFor(final Response response) {
+        final int status = response.getStatusCode();
+        if (status != TOO_MANY_REQUESTS && status != SERVICE_UNAVAILABLE) {
+            return null;
+        }
+        final Duration retryAfter = parseRetryAfter(response.getHeader(RETRY_AFTER), Instant.now());
+        if (retryAfter != null) {
+            return retryAfter.toNanos();
+        }
+        // without Retry-After, 503 is just an error, not a request to slow down
+        return status == TOO_MANY_REQUESTS ? defaultRetryAfterNanos : null;
+    }
+
+    /**
+     * @param value value of the <code>Retry-After</code> header: a number of seconds or an HTTP date
+     * @return time to wait, or <code>null</code> when the header is missing or malformed
+     */
+    @Nullable
+    static Duration parseRetryAfter(@Nullable final String value, final Instant now) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        final String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            // not a number of seconds, maybe a date
+        }
+        try {
+            final Instant retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return retryAt.isAfter(now) ? Duration.between(now, retryAt) : Duration.ZERO;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
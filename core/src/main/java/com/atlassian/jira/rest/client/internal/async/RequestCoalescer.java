@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultResponse;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
+import com.google.common.base.Objects;
+import com.google.common.io.ByteStreams;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical GET requests share one HTTP request.
+ * <p>
+ * Requests are identical when they target the same URI with the same conditional headers, whatever parses their
+ * responses. One coalescer serves one {@link AtlassianHttpClientDecorator}, so all the shared requests carry
+ * the same credentials. Only requests in flight are shared; once a request is done, the next one goes to the server
+ * again. The body of the shared response is read once, and each caller gets its own copy to parse.
+ *
+ * @since v5.2.2
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param ifNoneMatch     value of the <code>If-None-Match</code> header sent by the request, if any
+     * @param ifModifiedSince value of the <code>If-Modified-Since</code> header sent by the request, if any
+     * @param request         sends the request, when no identical one is in flight
+     * @return copy of the response for this caller only
+     */
+    public ResponsePromise coalesce(final URI uri, @Nullable final String ifNoneMatch,
+                                    @Nullable final String ifModifiedSince, final Supplier<ResponsePromise> request) {
+        final Key key = new Key(uri, ifNoneMatch, ifModifiedSince);
+        final CompletableFuture<BufferedResponse> created = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> shared = inFlight.putIfAbsent(key, created);
+        if (shared == null) {
+            shared = created;
+            final ResponsePromise response;
+            try {
+                response = request.get();
+            } catch (RuntimeException e) {
+                inFlight.remove(key, created);
+                throw e;
+            }
+            response.done(result -> {
+                inFlight.remove(key, created);
+                try {
+                    created.complete(new BufferedResponse(result));
+                } catch (IOException e) {
+                    created.completeExceptionally(e);
+                }
+            }).fail(e -> {
+                inFlight.remove(key, created);
+                created.completeExceptionally(e);
+            });
+        }
+        // a dependent stage per caller, so one caller cancelling doesn't cancel the others
+        return ResponsePromises.toResponsePromise(Promises.forCompletionStage(shared.thenApply(BufferedResponse::copy)));
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static final class Key {
+        private final URI uri;
+        @Nullable
+        private final String ifNoneMatch;
+        @Nullable
+        private final String ifModifiedSince;
+
+        private Key(final URI uri, @Nullable final String ifNoneMatch, @Nullable final String ifModifiedSince) {
+            this.uri = uri;
+            this.ifNoneMatch = ifNoneMatch;
+            this.ifModifiedSince = ifModifiedSince;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof Key) {
+                final Key that = (Key) obj;
+                return uri.equals(that.uri) && Objects.equal(ifNoneMatch, that.ifNoneMatch)
+                        && Objects.equal(ifModifiedSince, that.ifModifiedSince);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(uri, ifNoneMatch, ifModifiedSince);
+        }
+    }
+
+    /**
+     * Response with its body read into memory, so it can be handed to several callers.
+     */
+    private static final class BufferedResponse {
+        private final int statusCode;
+        private final String statusText;
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+        private BufferedResponse(final Response response) throws IOException {
+            this.statusCode = response.getStatusCode();
+            this.statusText = response.getStatusText();
+            this.headers = response.getHeaders();
+            try (InputStream entityStream = response.getEntityStream()) {
+                this.body = entityStream != null ? ByteStreams.toByteArray(entityStream) : new byte[0];
+            }
+        }
+
+        private Response copy() {
+            final DefaultResponse.DefaultResponseBuilder builder = DefaultResponse.builder()
+                    // already read within the limit of the HTTP client
+                    .setMaxEntitySize(Long.MAX_VALUE)
+                    .setStatusCode(statusCode)
+                    .setStatusText(statusText)
+                    .setEntityStream(new ByteArrayInputStream(body));
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                builder.setHeader(header.getKey(), header.getValue());
+            }
+            return builder.build();
+        }
+    }
+}
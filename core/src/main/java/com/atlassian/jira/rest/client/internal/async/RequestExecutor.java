@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Stage of the request pipeline of {@link AtlassianHttpClientDecorator}. Stages wrap each other, the innermost
+ * one sending the request with the underlying HTTP client.
+ *
+ * @since v5.2.2
+ */
+@FunctionalInterface
+interface RequestExecutor {
+
+    /**
+     * @param request request to send; it may be sent more than once, see {@link RequestExecutors#rewind(Request)}
+     * @return promise of the response, whatever its status
+     */
+    Promise<Response> execute(Request request);
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers for {@link RequestExecutor}s.
+ *
+ * @since v5.2.2
+ */
+final class RequestExecutors {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     * Timer of delayed requests, shared by all the clients. Its daemon thread only hands the requests over to
+     * the HTTP client, which sends them asynchronously.
+     */
+    static final ScheduledExecutorService DEFAULT_SCHEDULER = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory());
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * Prepares the request to be sent again.
+     *
+     * @return <code>false</code> when the entity of the request can't be read again, so the request can't be resent
+     */
+    static boolean rewind(final Request request) {
+        if (!request.hasEntity()) {
+            return true;
+        }
+        final InputStream entityStream = request.getEntityStream();
+        if (entityStream == null || !entityStream.markSupported()) {
+            return false;
+        }
+        try {
+            entityStream.reset();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Executes the request after given delay, completing the result with its response. Cancelling the result
+     * cancels the request, whether it's still waiting for the delay or already sent.
+     */
+    static void executeLater(final ScheduledExecutorService scheduler, final long delayNanos,
+                             final RequestExecutor executor, final Request request,
+                             final CompletableFuture<Response> result) {
+        if (delayNanos <= 0) {
+            cancelWith(result, execute(executor, request, result));
+            return;
+        }
+        try {
+            cancelWith(result, scheduler.schedule(() -> {
+                if (!result.isDone()) {
+                    cancelWith(result, execute(executor, request, result));
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * @return promise of the response, or <code>null</code> when the executor threw
+     */
+    @Nullable
+    static Promise<Response> execute(final RequestExecutor executor, final Request request,
+                                     final CompletableFuture<Response> result) {
+        final Promise<Response> response;
+        try {
+            response = executor.execute(request);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return null;
+        }
+        response.done(result::complete).fail(result::completeExceptionally);
+        return response;
+    }
+
+    /**
+     * Cancels given task when the result is cancelled.
+     */
+    static void cancelWith(final CompletableFuture<?> result, @Nullable final Future<?> task) {
+        if (task != null) {
+            result.whenComplete((value, e) -> {
+                if (result.isCancelled()) {
+                    task.cancel(true);
+                }
+            });
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "jira-rest-client-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
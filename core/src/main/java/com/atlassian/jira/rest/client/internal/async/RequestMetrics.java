@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.google.common.base.Ticker;
+import com.google.common.collect.MapMaker;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Measures requests passing through the request pipeline with two stages: the outermost one sees each request
+ * once, from entering the pipeline to its final outcome, and the innermost one sees each attempt actually sent.
+ *
+ * @since v5.2.2
+ */
+class RequestMetrics {
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final MetricsRecorder recorder;
+    private final Ticker ticker;
+    // requests entered the pipeline but not sent yet, by identity
+    private final ConcurrentMap<Request, Long> startTimes = new MapMaker().weakKeys().makeMap();
+
+    RequestMetrics(final MetricsRecorder recorder, final Ticker ticker) {
+        this.recorder = recorder;
+        this.ticker = ticker;
+    }
+
+    RequestExecutor outermost(final RequestExecutor delegate) {
+        return request -> {
+            final String endpoint = Endpoints.of(request.getUri());
+            final Object context = recorder.beginRequest(endpoint, String.valueOf(request.getMethod()));
+            final long startedAt = ticker.read();
+            recorder.requestStarted(endpoint);
+            startTimes.put(request, startedAt);
+            final Promise<Response> response;
+            try {
+                response = delegate.execute(request);
+            } catch (RuntimeException e) {
+                completed(request, endpoint, startedAt, context, null);
+                throw e;
+            }
+            return response
+                    .done(r -> completed(request, endpoint, startedAt, context, r))
+                    .fail(e -> completed(request, endpoint, startedAt, context, null));
+        };
+    }
+
+    RequestExecutor innermost(final RequestExecutor send) {
+        return request -> {
+            final String endpoint = Endpoints.of(request.getUri());
+            final String method = String.valueOf(request.getMethod());
+            final long sentAt = ticker.read();
+            final Long startedAt = startTimes.remove(request);
+            if (startedAt != null) {
+                recorder.requestSent(endpoint, sentAt - startedAt);
+            }
+            return send.execute(request)
+                    .done(r -> recorder.responseReceived(endpoint, method, r.getStatusCode(), ticker.read() - sentAt))
+                    .fail(e -> recorder.requestFailed(endpoint, method, e, ticker.read() - sentAt));
+        };
+    }
+
+    private void completed(final Request request, final String endpoint, final long startedAt,
+                           @Nullable final Object context, @Nullable final Response response) {
+        // e.g. rejected by an open circuit breaker, without being sent
+        startTimes.remove(request);
+        recorder.requestCompleted(endpoint, ticker.read() - startedAt);
+        if (context != null) {
+            recorder.endRequest(context, response != null ? response.getStatusCode() : 0, contentLength(response));
+        }
+    }
+
+    private static long contentLength(@Nullable final Response response) {
+        final String contentLength = response != null ? response.getHeader(CONTENT_LENGTH) : null;
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of parsed GET responses, revalidated with the server on every use.
+ * <p>
+ * Each entry keeps the <code>ETag</code> and <code>Last-Modified</code> validators of the response together with
+ * the object parsed from it. The next request for the same resource sends them as <code>If-None-Match</code> and
+ * <code>If-Modified-Since</code>; when the server answers <code>304 Not Modified</code>, the cached object is
+ * returned without transferring or parsing the body again. As every use is revalidated, the cache never returns
+ * stale data. Responses without validators are not cached.
+ * <p>
+ * The cache is bounded by a budget in bytes, counted as the size of the cached response bodies, and evicts
+ * the least recently used entries when the budget is exceeded.
+ *
+ * @since v5.2.2
+ */
+public class ResponseCache {
+
+    static final String ETAG = "ETag";
+    static final String LAST_MODIFIED = "Last-Modified";
+    static final String IF_NONE_MATCH = "If-None-Match";
+    static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private final long maxBytes;
+    private final LinkedHashMap<ParsedResourceKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public ResponseCache(final long maxBytes) {
+        Preconditions.checkArgument(maxBytes > 0, "maxBytes must be positive");
+        this.maxBytes = maxBytes;
+    }
+
+    @Nullable
+    synchronized Entry get(final URI uri, final Object parser) {
+        return entries.get(new ParsedResourceKey(uri, parser));
+    }
+
+    /**
+     * Stores the object parsed from given response, if the response carries any validator and its body
+     * fits in the budget.
+     *
+     * @param bodySize number of bytes of the response body
+     */
+    void put(final URI uri, final Object parser, final Response response, final Object value, final long bodySize) {
+        put(uri, parser, response.getHeader(ETAG), response.getHeader(LAST_MODIFIED), value, bodySize);
+    }
+
+    void put(final URI uri, final Object parser, @Nullable final String etag, @Nullable final String lastModified,
+             final Object value, final long bodySize) {
+        final ParsedResourceKey key = new ParsedResourceKey(uri, parser);
+        synchronized (this) {
+            remove(key);
+            if ((etag == null && lastModified == null) || bodySize > maxBytes) {
+                return;
+            }
+            entries.put(key, new Entry(etag, lastModified, value, bodySize));
+            bytes += bodySize;
+            final Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+            while (bytes > maxBytes) {
+                bytes -= leastRecentlyUsed.next().size;
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all the entries of resources with URI matching given pattern.
+     */
+    public synchronized void flushByUriPattern(final Pattern uriPattern) {
+        final Iterator<Map.Entry<ParsedResourceKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<ParsedResourceKey, Entry> entry = it.next();
+            if (uriPattern.matcher(entry.getKey().getUri().toString()).matches()) {
+                bytes -= entry.getValue().size;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return number of bytes currently used out of the budget
+     */
+    public synchronized long getSize() {
+        return bytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    private void remove(final ParsedResourceKey key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    static final class Entry {
+        @Nullable
+        private final String etag;
+        @Nullable
+        private final String lastModified;
+        private final Object value;
+        private final long size;
+
+        private Entry(@Nullable final String etag, @Nullable final String lastModified, final Object value,
+                      final long size) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+            this.size = size;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        @Nullable
+        String getEtag() {
+            return etag;
+        }
+
+        @Nullable
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Makes the request conditional on the cached representation having changed.
+         */
+        void addValidators(final Request.Builder request) {
+            if (etag != null) {
+                request.setHeader(IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                request.setHeader(IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+    }
+}
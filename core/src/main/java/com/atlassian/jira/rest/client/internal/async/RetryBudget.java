@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+/**
+ * Limits retries to a ratio of the requests sent. Each request deposits the ratio into the budget and each retry
+ * withdraws one; the balance is capped, so the budget saved while the server is healthy can't be spent
+ * all at once when it is not.
+ *
+ * @since v5.2.2
+ */
+class RetryBudget {
+
+    private final double ratio;
+    private final double maxBalance;
+    private double balance;
+
+    /**
+     * @param ratio      retries allowed per request, in the long run
+     * @param minRetries retries allowed when no request has been sent for a while
+     */
+    RetryBudget(final double ratio, final int minRetries) {
+        this.ratio = ratio;
+        this.maxBalance = Math.max(minRetries, 1);
+        this.balance = minRetries;
+    }
+
+    synchronized void onRequest() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * @return whether a retry is allowed; if so, it is withdrawn from the budget
+     */
+    synchronized boolean tryWithdraw() {
+        if (balance >= 1) {
+            balance -= 1;
+            return true;
+        }
+        return false;
+    }
+}
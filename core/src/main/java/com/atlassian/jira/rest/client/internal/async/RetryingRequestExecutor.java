@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RetrySettings;
+import com.google.common.collect.ImmutableSet;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resends requests which failed for a transient reason, as configured by {@link RetrySettings}, after a randomized
+ * exponential backoff ("full jitter"), so clients failing at the same time don't retry at the same time.
+ * Cancelling the returned promise cancels the attempt in flight or the retry waiting for its backoff.
+ * <p>
+ * Attempts are counted together with the resends of the rate limiting stage this one wraps, see
+ * {@link CallAttempts}, so a call is sent at most as many times as the highest of both limits.
+ *
+ * @since v5.2.2
+ */
+class RetryingRequestExecutor implements RequestExecutor {
+
+    /**
+     * Attribute of requests which may be retried although their method is not idempotent.
+     */
+    static final String RETRYABLE_ATTRIBUTE = "jira-rest-client.retryable";
+
+    private static final ImmutableSet<Request.Method> IDEMPOTENT_METHODS = ImmutableSet.of(Request.Method.GET,
+            Request.Method.HEAD, Request.Method.OPTIONS, Request.Method.PUT, Request.Method.DELETE, Request.Method.TRACE);
+
+    private final RequestExecutor delegate;
+    private final RetrySettings settings;
+    private final RetryBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final CallAttempts callAttempts;
+
+    RetryingRequestExecutor(final RequestExecutor delegate, final RetrySettings settings,
+                            final ScheduledExecutorService scheduler) {
+        this(delegate, settings, scheduler, new CallAttempts(settings.getMaxAttempts()));
+    }
+
+    RetryingRequestExecutor(final RequestExecutor delegate, final RetrySettings settings,
+                            final ScheduledExecutorService scheduler, final CallAttempts callAttempts) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.budget = new RetryBudget(settings.getRetryBudgetRatio(), settings.getMinRetryBudget());
+        this.scheduler = scheduler;
+        this.callAttempts = callAttempts;
+    }
+
+    @Override
+    public Promise<Response> execute(final Request request) {
+        budget.onRequest();
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        result.whenComplete((response, e) -> callAttempts.completed(request));
+        attempt(request, 1, result);
+        return Promises.forCompletionStage(result);
+    }
+
+    private void attempt(final Request request, final int attempt, final CompletableFuture<Response> result) {
+        if (result.isDone()) {
+            // cancelled while waiting for the backoff
+            return;
+        }
+        final CompletableFuture<Response> outcome = new CompletableFuture<>();
+        RequestExecutors.cancelWith(result, RequestExecutors.execute(delegate, request, outcome));
+        outcome.whenComplete((response, e) -> {
+            if (!result.isDone() && attempt < settings.getMaxAttempts() && isTransient(response, e)
+                    && isRetryable(request) && RequestExecutors.rewind(request) && callAttempts.tryResend(request)
+                    && budget.tryWithdraw()) {
+                try {
+                    RequestExecutors.cancelWith(result, scheduler.schedule(() -> attempt(request, attempt + 1, result),
+                            backoffNanos(attempt), TimeUnit.NANOSECONDS));
+                    return;
+                } catch (RuntimeException rejected) {
+                    // scheduler shut down, report the last outcome
+                }
+            }
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    private boolean isTransient(@Nullable final Response response, @Nullable final Throwable e) {
+        if (e != null) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException || cause instanceof TimeoutException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return settings.getRetryableStatuses().contains(response.getStatusCode());
+    }
+
+    private static boolean isRetryable(final Request request) {
+        return IDEMPOTENT_METHODS.contains(request.getMethod())
+                || Boolean.parseBoolean(request.getAttributes().get(RETRYABLE_ATTRIBUTE));
+    }
+
+    /**
+     * @param attempt number of the failed attempt, starting at 1
+     */
+    long backoffNanos(final int attempt) {
+        final double maxBackoff = settings.getMaxBackoff().toNanos();
+        final double backoff = Math.min(maxBackoff,
+                settings.getInitialBackoff().toNanos() * Math.pow(settings.getBackoffMultiplier(), attempt - 1));
+        return (long) (ThreadLocalRandom.current().nextDouble() * backoff);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterables;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks through all the pages of a JQL search, keeping up to <code>maxBufferedPages</code> page requests
+ * ahead of the consumer.
+ * <p>
+ * The first page is fetched alone: it tells the total and the page size actually used by JIRA (which caps
+ * <code>maxResults</code>), so the following offsets never skip issues. Pages are delivered in order.
+ * <p>
+ * Like any <code>startAt</code> based paging, issues created or updated while paging may shift between pages.
+ *
+ * @since v5.2.2
+ */
+class SearchPager implements Closeable {
+
+    private final SearchRestClient searchRestClient;
+    @Nullable
+    private final String jql;
+    @Nullable
+    private final Set<String> fields;
+    private final int maxBufferedPages;
+    private final ArrayDeque<Promise<SearchResult>> pending = new ArrayDeque<>();
+
+    private int pageSize;
+    private int nextStartAt;
+    // -1 until the first page arrives
+    private int total = -1;
+    private boolean closed;
+
+    SearchPager(final SearchRestClient searchRestClient, @Nullable final String jql, final int pageSize,
+                final int maxBufferedPages, @Nullable final Set<String> fields) {
+        Preconditions.checkArgument(pageSize > 0, "pageSize must be positive");
+        Preconditions.checkArgument(maxBufferedPages > 0, "maxBufferedPages must be positive");
+        this.searchRestClient = searchRestClient;
+        this.jql = jql;
+        this.pageSize = pageSize;
+        this.maxBufferedPages = maxBufferedPages;
+        this.fields = fields;
+    }
+
+    /**
+     * @return promise of the next page, or <code>null</code> when there are no more pages
+     */
+    @Nullable
+    synchronized Promise<SearchResult> nextPage() {
+        if (closed) {
+            return null;
+        }
+        if (total < 0) {
+            Preconditions.checkState(nextStartAt == 0, "the first page has not arrived yet");
+            nextStartAt = pageSize;
+            return searchRestClient.searchJql(jql, pageSize, 0, fields).map(this::onFirstPage);
+        }
+        final Promise<SearchResult> page = pending.poll();
+        fill();
+        return page;
+    }
+
+    private synchronized SearchResult onFirstPage(final SearchResult firstPage) {
+        total = firstPage.getTotal();
+        if (firstPage.getMaxResults() > 0 && firstPage.getMaxResults() < pageSize) {
+            // JIRA caps maxResults and reports the value it actually used
+            pageSize = firstPage.getMaxResults();
+        }
+        nextStartAt = firstPage.getStartIndex() + pageSize;
+        fill();
+        return firstPage;
+    }
+
+    private void fill() {
+        while (!closed && pending.size() < maxBufferedPages && nextStartAt < total) {
+            pending.add(searchRestClient.searchJql(jql, pageSize, nextStartAt, fields));
+            nextStartAt += pageSize;
+        }
+    }
+
+    /**
+     * Cancels all prefetched pages.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Promise<SearchResult> page : pending) {
+            page.cancel(true);
+        }
+        pending.clear();
+    }
+
+    Iterator<Issue> iterator() {
+        return new AbstractIterator<Issue>() {
+            private Iterator<Issue> current = Collections.emptyIterator();
+
+            @Override
+            protected Issue computeNext() {
+                while (!current.hasNext()) {
+                    final Promise<SearchResult> page = nextPage();
+                    if (page == null) {
+                        return endOfData();
+                    }
+                    final SearchResult searchResult;
+                    try {
+                        searchResult = page.claim();
+                    } catch (RuntimeException e) {
+                        close();
+                        throw e;
+                    }
+                    current = searchResult.getIssues().iterator();
+                    if (!current.hasNext()) {
+                        // the result set shrank while paging
+                        close();
+                        return endOfData();
+                    }
+                }
+                return current.next();
+            }
+        };
+    }
+
+    Stream<Issue> stream() {
+        final Spliterator<Issue> spliterator = Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Hands the pages to the consumer one by one; the next page is handed over only after the promise returned
+     * by the consumer for the previous one is done.
+     */
+    Promise<Void> forEachPage(final Function<? super SearchResult, ? extends Promise<?>> pageConsumer) {
+        final PageLoop loop = new PageLoop(pageConsumer);
+        loop.consumeNextPage();
+        return Promises.forCompletionStage(loop.result);
+    }
+
+    private class PageLoop {
+        private final Function<? super SearchResult, ? extends Promise<?>> pageConsumer;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        // requests to consume the next page; only the thread incrementing it from 0 consumes, so pages and
+        // consumer promises which are already done are consumed in a loop instead of recursing once per page
+        private final AtomicInteger consumeRequests = new AtomicInteger();
+
+        private PageLoop(final Function<? super SearchResult, ? extends Promise<?>> pageConsumer) {
+            this.pageConsumer = pageConsumer;
+        }
+
+        private void consumeNextPage() {
+            if (consumeRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                consumePage();
+            } while (consumeRequests.decrementAndGet() != 0);
+        }
+
+        private void consumePage() {
+            final Promise<SearchResult> page = nextPage();
+            if (page == null) {
+                result.complete(null);
+                return;
+            }
+            page.done(searchResult -> {
+                if (Iterables.isEmpty(searchResult.getIssues())) {
+                    close();
+                    result.complete(null);
+                    return;
+                }
+                final Promise<?> consumed;
+                try {
+                    consumed = pageConsumer.apply(searchResult);
+                } catch (RuntimeException e) {
+                    fail(result, e);
+                    return;
+                }
+                consumed.done(ignored -> consumeNextPage()).fail(e -> fail(result, e));
+            }).fail(e -> fail(result, e));
+        }
+    }
+
+    private void fail(final CompletableFuture<Void> result, final Throwable e) {
+        close();
+        result.completeExceptionally(e);
+    }
+}
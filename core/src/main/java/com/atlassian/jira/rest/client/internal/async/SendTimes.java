@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.google.common.base.Ticker;
+import com.google.common.collect.MapMaker;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Times at which requests were actually sent, recorded by a stage right before sending and read by an outer stage,
+ * so the outer stage does not count the time requests waited in between, e.g. for a concurrency limit slot.
+ *
+ * @since v5.2.2
+ */
+class SendTimes {
+
+    private final Ticker ticker;
+    // requests sent and not completed yet, by identity
+    private final ConcurrentMap<Request, Long> sentAt = new MapMaker().weakKeys().makeMap();
+
+    SendTimes(final Ticker ticker) {
+        this.ticker = ticker;
+    }
+
+    /**
+     * @return executor recording when each request is passed to given one
+     */
+    RequestExecutor recording(final RequestExecutor send) {
+        return request -> {
+            sentAt.put(request, ticker.read());
+            return send.execute(request);
+        };
+    }
+
+    /**
+     * @param startedAt time to measure from when the request has not been recorded as sent
+     * @return time elapsed since the request was sent; the record is removed, so a resent request is timed anew
+     */
+    long elapsedSinceSent(final Request request, final long startedAt) {
+        final Long sent = sentAt.remove(request);
+        return ticker.read() - (sent != null ? sent : startedAt);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Resolves {@link ServerInfo} once and shares the result among all the callers, without blocking them.
+ * <p>
+ * Concurrent first callers share one request. A failed request is not cached, so the next caller tries again.
+ *
+ * @since v5.2.2
+ */
+public class ServerInfoCache {
+
+    private final CachedResource<ServerInfo> serverInfo;
+
+    public ServerInfoCache(final MetadataRestClient metadataRestClient) {
+        this.serverInfo = CachedResource.permanent(metadataRestClient::getServerInfo);
+    }
+
+    public Promise<ServerInfo> get() {
+        return serverInfo.get();
+    }
+
+    /**
+     * Starts resolving the server info in the background, so the first version dependent call doesn't wait for it.
+     */
+    public void prewarm() {
+        get();
+    }
+}
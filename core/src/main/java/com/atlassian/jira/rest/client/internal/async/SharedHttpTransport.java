@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport sharing one HTTP client, with its connection pool and thread pools, among all the JiraRestClients
+ * created on top of it, e.g. to talk to many JIRA instances from one service:
+ * <pre>
+ * SharedHttpTransport transport = new SharedHttpTransport(new JiraRestClientOptionsBuilder()
+ *         .setMaxTotalConnections(200)
+ *         .setMaxConnectionsPerHost(20)
+ *         .build());
+ * AsynchronousJiraRestClientFactory factory = new AsynchronousJiraRestClientFactory(transport);
+ * </pre>
+ * The connection options given here apply to the shared client: the connection limit per host, the global connection
+ * limit, which caps the requests in flight across all the clients (further requests wait for a connection), and the
+ * thread pool sizes. Connection options of the clients themselves are ignored, while their other options (retries,
+ * rate limiting, caching...) still apply per client.
+ * <p>
+ * Closing a JiraRestClient does not affect the shared client, which is released by {@link #close()}.
+ *
+ * @since v5.2.2
+ */
+public class SharedHttpTransport implements HttpTransport, Closeable {
+
+    private final HttpTransport transport;
+    private final HttpClient httpClient;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * @param options connection options of the shared client, based on the Apache HttpAsyncClient
+     */
+    public SharedHttpTransport(final JiraRestClientOptions options) {
+        this(new AtlassianHttpTransport(), options);
+    }
+
+    /**
+     * @param transport transport creating the shared client
+     * @param options   connection options of the shared client
+     */
+    public SharedHttpTransport(final HttpTransport transport, final JiraRestClientOptions options) {
+        this.transport = transport;
+        // requests carry absolute URIs, so the client is not tied to a server
+        this.httpClient = transport.createHttpClient(URI.create(""), options);
+    }
+
+    @Override
+    public HttpClient createHttpClient(final URI serverUri, final JiraRestClientOptions options) {
+        Preconditions.checkState(!closed.get(), "Transport is closed");
+        return httpClient;
+    }
+
+    @Override
+    public void destroy(final HttpClient httpClient) {
+        // released only when the transport is closed
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            transport.destroy(httpClient);
+        } catch (Exception e) {
+            throw (e instanceof IOException) ? ((IOException) e) : new IOException(e);
+        }
+    }
+}
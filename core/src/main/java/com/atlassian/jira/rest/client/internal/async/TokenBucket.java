@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Non-blocking token bucket. Instead of waiting for a token, callers reserve one and are told how long to wait
+ * before using it, so the delay can be scheduled without holding a thread.
+ * <p>
+ * The bucket can also be paused, e.g. when the server asks the client to slow down: no token is available before
+ * the pause ends.
+ *
+ * @since v5.2.2
+ */
+class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final Ticker ticker;
+    // time at which the next token would be available if no burst was allowed
+    private long nextTokenAt;
+    private long pausedUntil;
+
+    /**
+     * @param permitsPerSecond average rate of tokens, {@link Double#POSITIVE_INFINITY} for no limit (only pauses)
+     * @param burstSize        number of tokens available at once after a period of inactivity
+     */
+    TokenBucket(final double permitsPerSecond, final int burstSize, final Ticker ticker) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = (burstSize - 1) * intervalNanos;
+        this.ticker = ticker;
+        this.nextTokenAt = ticker.read();
+        this.pausedUntil = nextTokenAt;
+    }
+
+    /**
+     * Reserves a token.
+     *
+     * @return nanoseconds to wait before using the token, <code>0</code> when it may be used right away
+     */
+    synchronized long reserve() {
+        final long now = ticker.read();
+        final long start = Math.max(now, pausedUntil);
+        final long tokenAt = Math.max(nextTokenAt, start);
+        nextTokenAt = tokenAt + intervalNanos;
+        return Math.max(start, tokenAt - burstToleranceNanos) - now;
+    }
+
+    /**
+     * Makes no token available during given time from now (or longer, if already paused for longer).
+     */
+    synchronized void pause(final long nanos) {
+        final long until = ticker.read() + nanos;
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+        }
+    }
+}
@@ -25,8 +25,10 @@ import com.atlassian.jira.rest.client.api.domain.BasicVotes;
 import com.atlassian.jira.rest.client.api.domain.BasicWatchers;
 import com.atlassian.jira.rest.client.api.domain.ChangelogGroup;
 import com.atlassian.jira.rest.client.api.domain.Comment;
+import com.atlassian.jira.rest.client.api.domain.IndexedIssueFields;
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.IssueField;
+import com.atlassian.jira.rest.client.api.domain.IssueFieldDescriptors;
 import com.atlassian.jira.rest.client.api.domain.IssueFieldId;
 import com.atlassian.jira.rest.client.api.domain.IssueLink;
 import com.atlassian.jira.rest.client.api.domain.IssueType;
@@ -52,7 +54,6 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -114,17 +115,46 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
     private static final String FIELDS = "fields";
     private static final String VALUE_ATTR = "value";
 
-    private final JSONObject providedNames;
-    private final JSONObject providedSchema;
+    @Nullable
+    private final IssueFieldDescriptors providedFieldDescriptors;
 
     public IssueJsonParser() {
-        providedNames = null;
-        providedSchema = null;
+        providedFieldDescriptors = null;
     }
 
+    /**
+     * Creates parser sharing field names and types among all parsed issues (e.g. issues from one search result).
+     * The sections are decoded once, here, instead of once per parsed issue.
+     *
+     * @throws IllegalArgumentException when the sections are malformed
+     */
     public IssueJsonParser(final JSONObject providedNames, final JSONObject providedSchema) {
-        this.providedNames = providedNames;
-        this.providedSchema = providedSchema;
+        this(parseFieldDescriptorsUnchecked(providedNames, providedSchema));
+    }
+
+    public IssueJsonParser(final IssueFieldDescriptors providedFieldDescriptors) {
+        this.providedFieldDescriptors = providedFieldDescriptors;
+    }
+
+    /**
+     * Decodes <code>names</code> and <code>schema</code> sections into a table which may be shared by many issues.
+     */
+    public static IssueFieldDescriptors parseFieldDescriptors(@Nullable final JSONObject names, @Nullable final JSONObject schema)
+            throws JSONException {
+        if (names == null && schema == null) {
+            // shared, so that its extensions by field ids are shared too
+            return IssueFieldDescriptors.EMPTY;
+        }
+        return IssueFieldDescriptors.create(parseNames(names), parseSchema(schema));
+    }
+
+    private static IssueFieldDescriptors parseFieldDescriptorsUnchecked(@Nullable final JSONObject names,
+                                                                        @Nullable final JSONObject schema) {
+        try {
+            return parseFieldDescriptors(names, schema);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Malformed names or schema section", e);
+        }
     }
 
     static Iterable<String> parseExpandos(final JSONObject json) throws JSONException {
@@ -303,25 +333,28 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
     }
 
     private Collection<IssueField> parseFields(final JSONObject issueJson) throws JSONException {
-        final JSONObject names = (providedNames != null) ? providedNames : issueJson.optJSONObject(NAMES_SECTION);
-        final Map<String, String> namesMap = parseNames(names);
-        final JSONObject schema = (providedSchema != null) ? providedSchema : issueJson.optJSONObject(SCHEMA_SECTION);
-        final Map<String, String> typesMap = parseSchema(schema);
+        final IssueFieldDescriptors fieldDescriptors = (providedFieldDescriptors != null) ? providedFieldDescriptors
+                : parseFieldDescriptors(issueJson.optJSONObject(NAMES_SECTION), issueJson.optJSONObject(SCHEMA_SECTION));
 
         final JSONObject json = issueJson.getJSONObject(FIELDS);
-        final ArrayList<IssueField> res = new ArrayList<IssueField>(json.length());
+        final ArrayList<String> keys = new ArrayList<String>(json.length());
         @SuppressWarnings("unchecked") final Iterator<String> iterator = json.keys();
         while (iterator.hasNext()) {
             final String key = iterator.next();
+            if (!SPECIAL_FIELDS.contains(key)) {
+                keys.add(key);
+            }
+        }
+
+        // issues of one search page usually share the very same table; it's extended only for fields missing in names
+        final IndexedIssueFields.Builder res = IndexedIssueFields.builder(fieldDescriptors.withIds(keys), keys.size());
+        for (String key : keys) {
             try {
-                if (SPECIAL_FIELDS.contains(key)) {
-                    continue;
-                }
                 // TODO: JRJC-122
                 // we should use fieldParser here (some new version as the old one probably won't work)
                 // enable IssueJsonParserTest#testParseIssueWithUserPickerCustomFieldFilledOut after fixing this
                 final Object value = json.opt(key);
-                res.add(new IssueField(key, namesMap.get(key), typesMap.get("key"), value != JSONObject.NULL ? value : null));
+                res.put(key, value != JSONObject.NULL ? value : null);
             } catch (final Exception e) {
                 throw new JSONException("Error while parsing [" + key + "] field: " + e.getMessage()) {
                     @Override
@@ -331,11 +364,14 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
                 };
             }
         }
-        return res;
+        return res.build();
     }
 
-    private Map<String, String> parseSchema(final JSONObject json) throws JSONException {
-        final HashMap<String, String> res = Maps.newHashMap();
+    private static Map<String, String> parseSchema(@Nullable final JSONObject json) throws JSONException {
+        final Map<String, String> res = Maps.newLinkedHashMap();
+        if (json == null) {
+            return res;
+        }
         final Iterator<String> it = JsonParseUtil.getStringKeys(json);
         while (it.hasNext()) {
             final String fieldId = it.next();
@@ -346,8 +382,11 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
         return res;
     }
 
-    private Map<String, String> parseNames(final JSONObject json) throws JSONException {
-        final HashMap<String, String> res = Maps.newHashMap();
+    private static Map<String, String> parseNames(@Nullable final JSONObject json) throws JSONException {
+        final Map<String, String> res = Maps.newLinkedHashMap();
+        if (json == null) {
+            return res;
+        }
         final Iterator<String> iterator = getStringKeys(json);
         while (iterator.hasNext()) {
             final String key = iterator.next();
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Helpers for reading JSON documents from a token stream.
+ * <p>
+ * Values are converted to the same types Jettison produces when parsing a String (Integer/Long/Double,
+ * Boolean, String, {@link JSONObject#NULL}, {@link JSONObject} and {@link JSONArray}), so subtrees read here
+ * can be handed over to any existing {@link JsonObjectParser} or {@link JsonArrayParser}.
+ *
+ * @since v5.2.2
+ */
+public class JsonStreamUtil {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public static <T> T parse(final InputStream inputStream, final StreamingJsonParser<T> parser)
+            throws JSONException, IOException {
+        try (org.codehaus.jackson.JsonParser json = JSON_FACTORY.createJsonParser(inputStream)) {
+            json.nextToken();
+            return parser.parse(json);
+        }
+    }
+
+    public static org.codehaus.jackson.JsonParser createParser(final String json) throws IOException {
+        return JSON_FACTORY.createJsonParser(json);
+    }
+
+    /**
+     * Creates UTF-8 generator writing to given stream. Jackson recycles the generator's internal buffers
+     * per thread, so the only per-call allocation is the destination stream itself.
+     */
+    public static org.codehaus.jackson.JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+        return JSON_FACTORY.createJsonGenerator(outputStream, JsonEncoding.UTF8);
+    }
+
+    /**
+     * Adapts tree based parser to the token stream. The document is read directly into a Jettison tree,
+     * skipping the intermediate String representation.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> StreamingJsonParser<T> adapt(final JsonParser<?, T> parser) {
+        if (parser instanceof JsonObjectParser) {
+            final JsonObjectParser<T> objectParser = (JsonObjectParser<T>) parser;
+            return json -> objectParser.parse(readObject(json));
+        } else if (parser instanceof JsonArrayParser) {
+            final JsonArrayParser<T> arrayParser = (JsonArrayParser<T>) parser;
+            return json -> arrayParser.parse(readArray(json));
+        }
+        throw new IllegalArgumentException("Unsupported parser type: " + parser.getClass());
+    }
+
+    /**
+     * Reads the object starting at the current token. After returning, the parser is positioned at the
+     * matching END_OBJECT token.
+     */
+    public static JSONObject readObject(final org.codehaus.jackson.JsonParser json) throws JSONException, IOException {
+        if (json.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw new JSONException("A JSONObject text must begin with '{' but found " + json.getCurrentToken());
+        }
+        final JSONObject res = new JSONObject();
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = json.getCurrentName();
+            json.nextToken();
+            res.put(key, readValue(json));
+        }
+        return res;
+    }
+
+    /**
+     * Reads the array starting at the current token. After returning, the parser is positioned at the
+     * matching END_ARRAY token.
+     */
+    public static JSONArray readArray(final org.codehaus.jackson.JsonParser json) throws JSONException, IOException {
+        if (json.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw new JSONException("A JSONArray text must start with '[' but found " + json.getCurrentToken());
+        }
+        final JSONArray res = new JSONArray();
+        while (json.nextToken() != JsonToken.END_ARRAY) {
+            res.put(readValue(json));
+        }
+        return res;
+    }
+
+    public static Object readValue(final org.codehaus.jackson.JsonParser json) throws JSONException, IOException {
+        final JsonToken token = json.getCurrentToken();
+        if (token == null) {
+            throw new JSONException("Unexpected end of JSON input");
+        }
+        switch (token) {
+            case START_OBJECT:
+                return readObject(json);
+            case START_ARRAY:
+                return readArray(json);
+            case VALUE_STRING:
+                return json.getText();
+            case VALUE_NUMBER_INT:
+                switch (json.getNumberType()) {
+                    case INT:
+                        return json.getIntValue();
+                    case LONG:
+                        return json.getLongValue();
+                    default:
+                        return json.getDoubleValue();
+                }
+            case VALUE_NUMBER_FLOAT:
+                return json.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return JSONObject.NULL;
+            default:
+                throw new JSONException("Unexpected token " + token);
+        }
+    }
+
+    /**
+     * Reads the scalar at the current token as an int, following the same coercion rules as
+     * {@link JSONObject#getInt(String)}.
+     */
+    public static int readInt(final org.codehaus.jackson.JsonParser json, final String attributeName) throws JSONException, IOException {
+        final JsonToken token = json.getCurrentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return json.getIntValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return (int) Double.parseDouble(json.getText());
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+        }
+        throw new JSONException("JSONObject[\"" + attributeName + "\"] is not a number.");
+    }
+}
@@ -35,7 +35,8 @@ public class SearchResultJsonParser implements JsonObjectParser<SearchResult> {
 
         final Iterable<Issue> issues;
         if (issuesJsonArray.length() > 0) {
-            final IssueJsonParser issueParser = new IssueJsonParser(json.getJSONObject("names"), json.getJSONObject("schema"));
+            final IssueJsonParser issueParser = new IssueJsonParser(IssueJsonParser.parseFieldDescriptors(
+                    json.getJSONObject("names"), json.getJSONObject("schema")));
             final GenericJsonArrayParser<Issue> issuesParser = GenericJsonArrayParser.create(issueParser);
             issues = issuesParser.parse(issuesJsonArray);
         } else {
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jettison.json.JSONException;
+
+import java.io.IOException;
+
+/**
+ * Parser which consumes a JSON document token by token, so the response body never has to be materialized
+ * as a String or as a single tree.
+ *
+ * @since v5.2.2
+ */
+public interface StreamingJsonParser<T> {
+    T parse(org.codehaus.jackson.JsonParser json) throws JSONException, IOException;
+}
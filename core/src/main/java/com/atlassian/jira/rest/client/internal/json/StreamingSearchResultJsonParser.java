@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming counterpart of {@link SearchResultJsonParser}.
+ * <p>
+ * Only a single issue is held as a JSON tree at any time when the <code>names</code> and <code>schema</code>
+ * sections precede the <code>issues</code> array. JIRA usually sends them after the issues, in which case
+ * the issue trees are kept until these sections are read and released one by one while being parsed.
+ *
+ * @since v5.2.2
+ */
+public class StreamingSearchResultJsonParser implements StreamingJsonParser<SearchResult> {
+
+    private static final String START_AT_ATTR = "startAt";
+    private static final String MAX_RESULTS_ATTR = "maxResults";
+    private static final String TOTAL_ATTR = "total";
+    private static final String ISSUES_ATTR = "issues";
+
+    @Override
+    public SearchResult parse(final org.codehaus.jackson.JsonParser json) throws JSONException, IOException {
+        if (json.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw new JSONException("A JSONObject text must begin with '{' but found " + json.getCurrentToken());
+        }
+        Integer startAt = null;
+        Integer maxResults = null;
+        Integer total = null;
+        JSONObject names = null;
+        JSONObject schema = null;
+        List<Issue> issues = null;
+        List<JSONObject> pendingIssues = null;
+
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            final String attributeName = json.getCurrentName();
+            json.nextToken();
+            switch (attributeName) {
+                case START_AT_ATTR:
+                    startAt = JsonStreamUtil.readInt(json, attributeName);
+                    break;
+                case MAX_RESULTS_ATTR:
+                    maxResults = JsonStreamUtil.readInt(json, attributeName);
+                    break;
+                case TOTAL_ATTR:
+                    total = JsonStreamUtil.readInt(json, attributeName);
+                    break;
+                case IssueJsonParser.NAMES_SECTION:
+                    names = JsonStreamUtil.readObject(json);
+                    break;
+                case IssueJsonParser.SCHEMA_SECTION:
+                    schema = JsonStreamUtil.readObject(json);
+                    break;
+                case ISSUES_ATTR:
+                    if (json.getCurrentToken() != JsonToken.START_ARRAY) {
+                        throw new JSONException("JSONObject[\"" + ISSUES_ATTR + "\"] is not a JSONArray.");
+                    }
+                    if (names != null && schema != null) {
+                        final IssueJsonParser issueParser = new IssueJsonParser(IssueJsonParser.parseFieldDescriptors(names, schema));
+                        issues = new ArrayList<>();
+                        while (json.nextToken() != JsonToken.END_ARRAY) {
+                            issues.add(issueParser.parse(JsonStreamUtil.readObject(json)));
+                        }
+                    } else {
+                        pendingIssues = new ArrayList<>();
+                        while (json.nextToken() != JsonToken.END_ARRAY) {
+                            pendingIssues.add(JsonStreamUtil.readObject(json));
+                        }
+                    }
+                    break;
+                default:
+                    json.skipChildren();
+            }
+        }
+
+        if (startAt == null || maxResults == null || total == null) {
+            throw new JSONException("Search result is missing one of [" + START_AT_ATTR + ", " + MAX_RESULTS_ATTR
+                    + ", " + TOTAL_ATTR + "]");
+        }
+        if (issues == null && pendingIssues == null) {
+            throw new JSONException("JSONObject[\"" + ISSUES_ATTR + "\"] not found.");
+        }
+        if (pendingIssues != null) {
+            issues = parsePendingIssues(pendingIssues, names, schema);
+        }
+        return new SearchResult(startAt, maxResults, total, issues.isEmpty() ? Collections.<Issue>emptyList() : issues);
+    }
+
+    private List<Issue> parsePendingIssues(final List<JSONObject> pendingIssues, final JSONObject names,
+                                           final JSONObject schema) throws JSONException {
+        if (pendingIssues.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (names == null) {
+            throw new JSONException("JSONObject[\"" + IssueJsonParser.NAMES_SECTION + "\"] not found.");
+        }
+        if (schema == null) {
+            throw new JSONException("JSONObject[\"" + IssueJsonParser.SCHEMA_SECTION + "\"] not found.");
+        }
+        final IssueJsonParser issueParser = new IssueJsonParser(IssueJsonParser.parseFieldDescriptors(names, schema));
+        final List<Issue> res = new ArrayList<>(pendingIssues.size());
+        for (int i = 0; i < pendingIssues.size(); i++) {
+            res.add(issueParser.parse(pendingIssues.get(i)));
+            // let the tree be collected as soon as the issue is parsed
+            pendingIssues.set(i, null);
+        }
+        return res;
+    }
+}
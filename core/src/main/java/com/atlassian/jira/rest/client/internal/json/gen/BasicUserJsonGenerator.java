@@ -18,14 +18,18 @@ package com.atlassian.jira.rest.client.internal.json.gen;
 
 import com.atlassian.jira.rest.client.api.domain.BasicUser;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
 
-public class BasicUserJsonGenerator implements JsonGenerator<BasicUser> {
+import java.io.IOException;
+
+import static com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil.writeStringFieldIfNotNull;
+
+public class BasicUserJsonGenerator implements StreamingJsonGenerator<BasicUser> {
     @Override
-    public JSONObject generate(BasicUser user) throws JSONException {
-        return new JSONObject()
-                .put("self", user.getSelf())
-                .put("name", user.getName())
-                .put("displayName", user.getDisplayName());
+    public void generate(BasicUser user, org.codehaus.jackson.JsonGenerator json) throws JSONException, IOException {
+        json.writeStartObject();
+        writeStringFieldIfNotNull(json, "self", user.getSelf());
+        writeStringFieldIfNotNull(json, "name", user.getName());
+        writeStringFieldIfNotNull(json, "displayName", user.getDisplayName());
+        json.writeEndObject();
     }
 }
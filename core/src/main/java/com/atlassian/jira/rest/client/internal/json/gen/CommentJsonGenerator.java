@@ -22,9 +22,12 @@ import com.atlassian.jira.rest.client.api.domain.Visibility;
 import com.atlassian.jira.rest.client.internal.ServerVersionConstants;
 import com.atlassian.jira.rest.client.internal.json.CommentJsonParser;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
 
-public class CommentJsonGenerator implements JsonGenerator<Comment> {
+import java.io.IOException;
+
+import static com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil.writeStringFieldIfNotNull;
+
+public class CommentJsonGenerator implements StreamingJsonGenerator<Comment> {
 
     private final ServerInfo serverInfo;
 
@@ -33,36 +36,34 @@ public class CommentJsonGenerator implements JsonGenerator<Comment> {
     }
 
     @Override
-    public JSONObject generate(Comment comment) throws JSONException {
-        JSONObject res = new JSONObject();
-        if (comment.getBody() != null) {
-            res.put("body", comment.getBody());
-        }
+    public void generate(Comment comment, org.codehaus.jackson.JsonGenerator json) throws JSONException, IOException {
+        json.writeStartObject();
+        writeStringFieldIfNotNull(json, "body", comment.getBody());
 
         final Visibility commentVisibility = comment.getVisibility();
         if (commentVisibility != null) {
 
             final int buildNumber = serverInfo.getBuildNumber();
             if (buildNumber >= ServerVersionConstants.BN_JIRA_4_3) {
-                JSONObject visibilityJson = new JSONObject();
                 final String commentVisibilityType;
                 if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
                     commentVisibilityType = commentVisibility.getType() == Visibility.Type.GROUP ? "group" : "role";
                 } else {
                     commentVisibilityType = commentVisibility.getType() == Visibility.Type.GROUP ? "GROUP" : "ROLE";
                 }
-                visibilityJson.put("type", commentVisibilityType);
-                visibilityJson.put("value", commentVisibility.getValue());
-                res.put(CommentJsonParser.VISIBILITY_KEY, visibilityJson);
+                json.writeObjectFieldStart(CommentJsonParser.VISIBILITY_KEY);
+                json.writeStringField("type", commentVisibilityType);
+                writeStringFieldIfNotNull(json, "value", commentVisibility.getValue());
+                json.writeEndObject();
             } else {
                 if (commentVisibility.getType() == Visibility.Type.ROLE) {
-                    res.put("role", commentVisibility.getValue());
+                    writeStringFieldIfNotNull(json, "role", commentVisibility.getValue());
                 } else {
-                    res.put("group", commentVisibility.getValue());
+                    writeStringFieldIfNotNull(json, "group", commentVisibility.getValue());
                 }
             }
         }
 
-        return res;
+        json.writeEndObject();
     }
 }
@@ -21,6 +21,7 @@ import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -58,4 +59,33 @@ public class ComplexIssueInputFieldValueJsonGenerator implements JsonGenerator<C
             throw new JSONException("Cannot generate value - unknown type for me: " + rawValue.getClass());
         }
     }
+
+    /**
+     * Streaming counterpart of {@link #generateFieldValueForJson(Object)}.
+     */
+    public void writeFieldValue(Object rawValue, org.codehaus.jackson.JsonGenerator json) throws JSONException, IOException {
+        if (rawValue == null) {
+            json.writeNull();
+        } else if (rawValue instanceof ComplexIssueInputFieldValue) {
+            json.writeStartObject();
+            for (Map.Entry<String, Object> entry : ((ComplexIssueInputFieldValue) rawValue).getValuesMap().entrySet()) {
+                json.writeFieldName(entry.getKey());
+                writeFieldValue(entry.getValue(), json);
+            }
+            json.writeEndObject();
+        } else if (rawValue instanceof Iterable) {
+            // array with values
+            json.writeStartArray();
+            for (Object value : (Iterable) rawValue) {
+                writeFieldValue(value, json);
+            }
+            json.writeEndArray();
+        } else if (rawValue instanceof CharSequence) {
+            json.writeString(rawValue.toString());
+        } else if (rawValue instanceof Number) {
+            JsonGeneratorUtil.writeNumber(json, (Number) rawValue);
+        } else {
+            throw new JSONException("Cannot generate value - unknown type for me: " + rawValue.getClass());
+        }
+    }
 }
@@ -19,48 +19,48 @@ package com.atlassian.jira.rest.client.internal.json.gen;
 import com.atlassian.jira.rest.client.api.domain.input.FieldInput;
 import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
 import com.atlassian.jira.rest.client.api.domain.input.PropertyInput;
-import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
 
 /**
  * Json Generator for IssueInput
  *
  * @since 1.0
  */
-public class IssueInputJsonGenerator implements JsonGenerator<IssueInput> {
+public class IssueInputJsonGenerator implements StreamingJsonGenerator<IssueInput> {
 
     private final ComplexIssueInputFieldValueJsonGenerator complexIssueInputFieldValueJsonGenerator = new ComplexIssueInputFieldValueJsonGenerator();
 
     @Override
-    public JSONObject generate(final IssueInput issue) throws JSONException {
-        final JSONObject jsonObject = new JSONObject();
-        final JSONObject fields = new JSONObject();
+    public void generate(final IssueInput issue, final org.codehaus.jackson.JsonGenerator json) throws JSONException, IOException {
+        json.writeStartObject();
 
+        json.writeObjectFieldStart("fields");
         if (issue != null && issue.getFields() != null) {
             for (final FieldInput field : issue.getFields().values()) {
                 if (field.getValue() != null) {
-                    fields.put(field.getId(), complexIssueInputFieldValueJsonGenerator.generateFieldValueForJson(field
-                            .getValue()));
+                    json.writeFieldName(field.getId());
+                    complexIssueInputFieldValueJsonGenerator.writeFieldValue(field.getValue(), json);
                 }
             }
         }
-
-        jsonObject.put("fields", fields);
+        json.writeEndObject();
 
         // Add entity properties
-        final JSONArray entityProperties = new JSONArray();
+        json.writeArrayFieldStart("properties");
         if (issue != null && issue.getProperties() != null) {
             for (final PropertyInput p : issue.getProperties()) {
-                final JSONObject property = new JSONObject();
-                property.put("key", p.getKey());
-                property.put("value", new JSONObject(p.getValue()));
-                entityProperties.put(property);
+                json.writeStartObject();
+                json.writeStringField("key", p.getKey());
+                json.writeFieldName("value");
+                JsonGeneratorUtil.writeRawJsonObject(json, p.getValue());
+                json.writeEndObject();
             }
         }
-        jsonObject.put("properties", entityProperties);
+        json.writeEndArray();
 
-        return jsonObject;
+        json.writeEndObject();
     }
 
 }
@@ -17,30 +17,28 @@
 package com.atlassian.jira.rest.client.internal.json.gen;
 
 import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
-import com.google.common.collect.Lists;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
 
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Json Generator for IssuesInput
  *
  * @since 1.0
  */
-public class IssuesInputJsonGenerator implements JsonGenerator<Iterable<IssueInput>> {
+public class IssuesInputJsonGenerator implements StreamingJsonGenerator<Iterable<IssueInput>> {
 
     private final IssueInputJsonGenerator issueInputJsonGenerator = new IssueInputJsonGenerator();
 
     @Override
-    public JSONObject generate(final Iterable<IssueInput> issues) throws JSONException {
-        final JSONObject issueUpdates = new JSONObject();
-        final List<JSONObject> obj = Lists.newArrayList();
-
+    public void generate(final Iterable<IssueInput> issues, final org.codehaus.jackson.JsonGenerator json)
+            throws JSONException, IOException {
+        json.writeStartObject();
+        json.writeArrayFieldStart("issueUpdates");
         for (final IssueInput issue : issues) {
-            obj.add(issueInputJsonGenerator.generate(issue));
+            issueInputJsonGenerator.generate(issue, json);
         }
-        issueUpdates.put("issueUpdates", obj);
-        return issueUpdates;
+        json.writeEndArray();
+        json.writeEndObject();
     }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json.gen;
+
+import com.atlassian.jira.rest.client.internal.json.JsonStreamUtil;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Helpers for {@link StreamingJsonGenerator}s.
+ *
+ * @since v5.2.2
+ */
+public class JsonGeneratorUtil {
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    /**
+     * Generates the bean into a buffer and exposes that buffer as a stream, without copying it.
+     */
+    public static <T> InputStream toInputStream(final StreamingJsonGenerator<T> generator, final T bean)
+            throws JSONException, IOException {
+        final ExposedByteArrayOutputStream buffer = new ExposedByteArrayOutputStream();
+        try (org.codehaus.jackson.JsonGenerator json = JsonStreamUtil.createGenerator(buffer)) {
+            generator.generate(bean, json);
+        }
+        return buffer.toInputStream();
+    }
+
+    public static <T> JSONObject toJsonObject(final StreamingJsonGenerator<T> generator, final T bean)
+            throws JSONException {
+        try {
+            return JsonStreamUtil.parse(toInputStream(generator, bean), JsonStreamUtil::readObject);
+        } catch (IOException e) {
+            // the JSON is written to and read from memory only
+            throw new IllegalStateException("Cannot generate JSON", e);
+        }
+    }
+
+    /**
+     * Writes a field holding given object, unless the object is <code>null</code>, following the way
+     * {@link JSONObject#put(String, Object)} drops <code>null</code> values.
+     */
+    public static void writeStringFieldIfNotNull(final org.codehaus.jackson.JsonGenerator json, final String fieldName,
+                                                 final Object value) throws IOException {
+        if (value != null) {
+            json.writeStringField(fieldName, value.toString());
+        }
+    }
+
+    public static <K> void writeFieldIfNotNull(final org.codehaus.jackson.JsonGenerator json, final String fieldName,
+                                               final K value, final StreamingJsonGenerator<K> generator)
+            throws JSONException, IOException {
+        if (value != null) {
+            json.writeFieldName(fieldName);
+            generator.generate(value, json);
+        }
+    }
+
+    public static void writeNumber(final org.codehaus.jackson.JsonGenerator json, final Number number) throws IOException {
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            json.writeNumber(number.intValue());
+        } else if (number instanceof Long) {
+            json.writeNumber(number.longValue());
+        } else if (number instanceof Double || number instanceof Float) {
+            json.writeNumber(number.doubleValue());
+        } else if (number instanceof BigDecimal) {
+            json.writeNumber((BigDecimal) number);
+        } else if (number instanceof BigInteger) {
+            json.writeNumber((BigInteger) number);
+        } else {
+            json.writeNumber(number.toString());
+        }
+    }
+
+    /**
+     * Copies a JSON object given as text (e.g. an entity property value) into the generator.
+     */
+    public static void writeRawJsonObject(final org.codehaus.jackson.JsonGenerator json, final String jsonObject)
+            throws JSONException, IOException {
+        try (org.codehaus.jackson.JsonParser parser = JsonStreamUtil.createParser(jsonObject)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JSONException("A JSONObject text must begin with '{' but found " + parser.getCurrentToken());
+            }
+            json.copyCurrentStructure(parser);
+        }
+    }
+
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        ExposedByteArrayOutputStream() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json.gen;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+
+/**
+ * Generator writing UTF-8 JSON directly to the request body, without building a {@link JSONObject} tree
+ * and its String representation first.
+ * <p>
+ * The tree based {@link #generate(Object)} is still available for callers embedding the result in another
+ * {@link JSONObject}; it is derived from the streaming output so both always stay in sync.
+ *
+ * @since v5.2.2
+ */
+public interface StreamingJsonGenerator<T> extends JsonGenerator<T> {
+
+    void generate(T bean, org.codehaus.jackson.JsonGenerator json) throws JSONException, IOException;
+
+    @Override
+    default JSONObject generate(T bean) throws JSONException {
+        return JsonGeneratorUtil.toJsonObject(this, bean);
+    }
+}
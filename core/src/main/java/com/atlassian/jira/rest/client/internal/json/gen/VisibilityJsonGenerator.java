@@ -18,14 +18,18 @@ package com.atlassian.jira.rest.client.internal.json.gen;
 
 import com.atlassian.jira.rest.client.api.domain.Visibility;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
 
-public class VisibilityJsonGenerator implements JsonGenerator<Visibility> {
+import java.io.IOException;
+
+import static com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil.writeStringFieldIfNotNull;
+
+public class VisibilityJsonGenerator implements StreamingJsonGenerator<Visibility> {
 
     @Override
-    public JSONObject generate(Visibility visibility) throws JSONException {
-        return new JSONObject()
-                .put("type", visibility.getType().name().toLowerCase())
-                .put("value", visibility.getValue());
+    public void generate(Visibility visibility, org.codehaus.jackson.JsonGenerator json) throws JSONException, IOException {
+        json.writeStartObject();
+        json.writeStringField("type", visibility.getType().name().toLowerCase());
+        writeStringFieldIfNotNull(json, "value", visibility.getValue());
+        json.writeEndObject();
     }
 }
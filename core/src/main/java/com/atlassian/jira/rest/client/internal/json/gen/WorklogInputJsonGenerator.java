@@ -21,13 +21,17 @@ import com.atlassian.jira.rest.client.api.domain.Visibility;
 import com.atlassian.jira.rest.client.api.domain.input.WorklogInput;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
 import org.joda.time.format.DateTimeFormatter;
 
-public class WorklogInputJsonGenerator implements JsonGenerator<WorklogInput> {
+import java.io.IOException;
 
-    private final JsonGenerator<Visibility> visibilityGenerator = new VisibilityJsonGenerator();
-    private final JsonGenerator<BasicUser> basicUserJsonGenerator = new BasicUserJsonGenerator();
+import static com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil.writeFieldIfNotNull;
+import static com.atlassian.jira.rest.client.internal.json.gen.JsonGeneratorUtil.writeStringFieldIfNotNull;
+
+public class WorklogInputJsonGenerator implements StreamingJsonGenerator<WorklogInput> {
+
+    private final StreamingJsonGenerator<Visibility> visibilityGenerator = new VisibilityJsonGenerator();
+    private final StreamingJsonGenerator<BasicUser> basicUserJsonGenerator = new BasicUserJsonGenerator();
     private final DateTimeFormatter dateTimeFormatter;
 
     public WorklogInputJsonGenerator() {
@@ -39,24 +43,17 @@ public class WorklogInputJsonGenerator implements JsonGenerator<WorklogInput> {
     }
 
     @Override
-    public JSONObject generate(final WorklogInput worklogInput) throws JSONException {
-        final JSONObject res = new JSONObject()
-                .put("self", worklogInput.getSelf())
-                .put("comment", worklogInput.getComment())
-                .put("started", dateTimeFormatter.print(worklogInput.getStartDate()))
-                .put("timeSpent", worklogInput.getMinutesSpent() + "m");
-
-        putGeneratedIfNotNull("visibility", worklogInput.getVisibility(), res, visibilityGenerator);
-        putGeneratedIfNotNull("author", worklogInput.getAuthor(), res, basicUserJsonGenerator);
-        putGeneratedIfNotNull("updateAuthor", worklogInput.getUpdateAuthor(), res, basicUserJsonGenerator);
-        return res;
-    }
-
-    private <K> JSONObject putGeneratedIfNotNull(final String key, final K value, final JSONObject dest, final JsonGenerator<K> generator)
-            throws JSONException {
-        if (value != null) {
-            dest.put(key, generator.generate(value));
-        }
-        return dest;
+    public void generate(final WorklogInput worklogInput, final org.codehaus.jackson.JsonGenerator json)
+            throws JSONException, IOException {
+        json.writeStartObject();
+        writeStringFieldIfNotNull(json, "self", worklogInput.getSelf());
+        writeStringFieldIfNotNull(json, "comment", worklogInput.getComment());
+        json.writeStringField("started", dateTimeFormatter.print(worklogInput.getStartDate()));
+        json.writeStringField("timeSpent", worklogInput.getMinutesSpent() + "m");
+
+        writeFieldIfNotNull(json, "visibility", worklogInput.getVisibility(), visibilityGenerator);
+        writeFieldIfNotNull(json, "author", worklogInput.getAuthor(), basicUserJsonGenerator);
+        writeFieldIfNotNull(json, "updateAuthor", worklogInput.getUpdateAuthor(), basicUserJsonGenerator);
+        json.writeEndObject();
     }
 }
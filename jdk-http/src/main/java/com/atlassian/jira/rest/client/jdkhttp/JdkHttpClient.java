@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.jdkhttp;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
+import com.atlassian.httpclient.apache.httpcomponents.DefaultResponse;
+import com.atlassian.httpclient.api.DefaultResponseTransformation;
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
+import com.atlassian.httpclient.api.ResponseTransformation;
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Atlassian {@link HttpClient} sending the requests with the JDK {@link java.net.http.HttpClient}. Responses are
+ * buffered, like in the default transport.
+ *
+ * @since v5.2.2
+ */
+class JdkHttpClient implements HttpClient {
+
+    // set by the JDK client itself, which rejects them
+    private static final ImmutableSet<String> RESTRICTED_HEADERS = ImmutableSet.of(
+            "connection", "content-length", "expect", "host", "upgrade");
+    private static final String CONTENT_TYPE = "Content-Type";
+    // its values contain commas (e.g. in Expires) and can't be combined into one
+
+    // HTTP/2 header names are lower case; these are the spellings used to look headers up
+    private static final ImmutableMap<String, String> HEADER_NAMES = ImmutableMap.<String, String>builder()
+            .put("etag", "ETag")
+            .put("www-authenticate", "WWW-Authenticate")
+            .build();
+
+    private static final long MAX_ENTITY_SIZE = new HttpClientOptions().getMaxEntitySize();
+
+    private final java.net.http.HttpClient client;
+    @Nullable
+    private final Duration requestTimeout;
+
+    JdkHttpClient(final java.net.http.HttpClient client, @Nullable final Duration requestTimeout) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public Request.Builder newRequest() {
+        return new DefaultRequest.DefaultRequestBuilder(this);
+    }
+
+    @Override
+    public Request.Builder newRequest(URI uri) {
+        return newRequest().setUri(uri);
+    }
+
+    @Override
+    public Request.Builder newRequest(URI uri, String contentType, String entity) {
+        return newRequest(uri).setContentType(contentType).setEntity(entity);
+    }
+
+    @Override
+    public Request.Builder newRequest(String uri) {
+        return newRequest(URI.create(uri));
+    }
+
+    @Override
+    public Request.Builder newRequest(String uri, String contentType, String entity) {
+        return newRequest(URI.create(uri), contentType, entity);
+    }
+
+    @Override
+    public void flushCacheByUriPattern(Pattern urlPattern) {
+        // responses are not cached by the transport
+    }
+
+    @Override
+    public <A> ResponseTransformation.Builder<A> transformation() {
+        return DefaultResponseTransformation.builder();
+    }
+
+    @Override
+    public ResponsePromise execute(Request request) {
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (IOException | RuntimeException e) {
+            return ResponsePromises.toResponsePromise(Promises.rejected(e));
+        }
+        return ResponsePromises.toResponsePromise(Promises.forCompletionStage(
+                client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                        .thenApply(JdkHttpClient::toResponse)));
+    }
+
+    private HttpRequest toHttpRequest(final Request request) throws IOException {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        boolean hasContentType = false;
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            final String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!RESTRICTED_HEADERS.contains(name) && header.getValue() != null) {
+                builder.header(header.getKey(), header.getValue());
+                hasContentType |= name.equals("content-type");
+            }
+        }
+        if (!hasContentType && request.getContentType() != null) {
+            builder.header(CONTENT_TYPE, request.getContentCharset() != null
+                    ? request.getContentType() + "; charset=" + request.getContentCharset() : request.getContentType());
+        }
+        // entities are small JSON documents or attachments; sent with their length rather than chunked
+        final HttpRequest.BodyPublisher body = request.hasEntity()
+                ? HttpRequest.BodyPublishers.ofByteArray(toByteArray(request.getEntityStream()))
+                : HttpRequest.BodyPublishers.noBody();
+        return builder.method(request.getMethod().name(), body).build();
+    }
+
+    private static byte[] toByteArray(final InputStream entityStream) throws IOException {
+        try (InputStream in = entityStream) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+
+    private static Response toResponse(final HttpResponse<byte[]> response) {
+        final var builder = DefaultResponse.builder()
+                .setMaxEntitySize(MAX_ENTITY_SIZE)
+                .setStatusCode(response.statusCode())
+                .setStatusText("")
+                .setEntityStream(new ByteArrayInputStream(response.body()));
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!header.getKey().startsWith(":")) {
+                // HTTP/2 pseudo headers left out
+                builder.setHeader(headerName(header.getKey()), headerValue(header.getValue()));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return values of a header combined into one, as {@link Response} holds one value per header; all the
+     * <code>Set-Cookie</code> values are kept too, so no cookie (e.g. the session one) is lost
+     */
+    static String headerValue(final List<String> values) {
+        return values.size() == 1 ? values.get(0) : String.join(", ", values);
+    }
+
+    /**
+     * @return header name in the usual spelling, e.g. <code>Retry-After</code> for <code>retry-after</code>
+     */
+    static String headerName(final String name) {
+        final String lowerCase = name.toLowerCase(Locale.ROOT);
+        final String known = HEADER_NAMES.get(lowerCase);
+        if (known != null) {
+            return known;
+        }
+        final char[] chars = lowerCase.toCharArray();
+        boolean startOfWord = true;
+        for (int i = 0; i < chars.length; i++) {
+            if (startOfWord) {
+                chars[i] = Character.toUpperCase(chars[i]);
+            }
+            startOfWord = chars[i] == '-';
+        }
+        return new String(chars);
+    }
+}
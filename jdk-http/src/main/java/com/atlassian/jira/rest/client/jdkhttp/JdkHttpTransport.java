@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.jdkhttp;
+
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+
+/**
+ * Transport based on the JDK {@link HttpClient}: asynchronous, HTTP/2 when the server supports it, and without
+ * the Spring, SAL and Atlassian Event dependencies of the default transport. Select it with
+ * <code>new AsynchronousJiraRestClientFactory(new JdkHttpTransport())</code>.
+ * <p>
+ * Of the connection options, the connection and request timeouts are applied. Connection pooling is managed by the
+ * JDK client itself (see the <code>jdk.httpclient.*</code> system properties), and the socket timeout is covered by
+ * the request timeout.
+ *
+ * @since v5.2.2
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    @Override
+    public com.atlassian.httpclient.api.HttpClient createHttpClient(final URI serverUri, final JiraRestClientOptions options) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (options.getConnectionTimeout() != null) {
+            builder.connectTimeout(options.getConnectionTimeout());
+        }
+        return new JdkHttpClient(builder.build(), options.getRequestTimeout());
+    }
+
+    @Override
+    public void destroy(final com.atlassian.httpclient.api.HttpClient httpClient) {
+        // connections of the JDK client are released once the client is no longer referenced
+    }
+}
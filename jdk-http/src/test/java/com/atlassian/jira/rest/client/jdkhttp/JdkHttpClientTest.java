@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.jdkhttp;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JdkHttpClientTest {
+
+    private final Map<String, String> receivedHeaders = new ConcurrentHashMap<>();
+    private volatile String receivedMethod;
+    private volatile String receivedBody;
+    private HttpServer server;
+    private URI serverUri;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", this::echo);
+        server.createContext("/cookies", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "JSESSIONID=1; Expires=Wed, 21 Oct 2026 07:28:00 GMT");
+            exchange.getResponseHeaders().add("Set-Cookie", "atlassian.xsrf.token=2; Path=/");
+            exchange.getResponseHeaders().add("Vary", "Accept");
+            exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+            exchange.getResponseHeaders().add("etag", "\"1\"");
+            respond(exchange, 200, "{}");
+        });
+        server.createContext("/rest/api/latest/serverInfo", exchange -> {
+            receivedHeaders.put("Authorization", String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            respond(exchange, 200, "{\"baseUrl\": \"" + serverUri + "\", \"version\": \"8.5.0\", \"buildNumber\": 805000,"
+                    + " \"buildDate\": \"2019-10-08T00:00:00.000+0000\", \"scmInfo\": \"abc128082\","
+                    + " \"serverTitle\": \"Test JIRA\"}");
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        serverUri = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testHeaderName() {
+        assertEquals("Retry-After", JdkHttpClient.headerName("retry-after"));
+        assertEquals("Content-Type", JdkHttpClient.headerName("CONTENT-TYPE"));
+        assertEquals("ETag", JdkHttpClient.headerName("etag"));
+        assertEquals("WWW-Authenticate", JdkHttpClient.headerName("www-authenticate"));
+        assertEquals("X-Seraph-Loginreason", JdkHttpClient.headerName("x-seraph-loginreason"));
+    }
+
+    @Test
+    public void testHeaderValue() {
+        assertEquals("Accept, Accept-Encoding", JdkHttpClient.headerValue(ImmutableList.of("Accept", "Accept-Encoding")));
+        assertEquals("a=1; Path=/, b=2", JdkHttpClient.headerValue(ImmutableList.of("a=1; Path=/", "b=2")));
+    }
+
+    @Test
+    public void testRequestHeadersAndEntity() {
+        final Response response = client(null).newRequest(serverUri.resolve("/echo"))
+                .setHeader("X-Atlassian-Token", "no-check")
+                .setContentType("application/json")
+                .setEntity("{\"summary\": \"Test issue\"}")
+                .post()
+                .claim();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("POST", receivedMethod);
+        assertEquals("{\"summary\": \"Test issue\"}", receivedBody);
+        assertEquals("no-check", receivedHeaders.get("X-atlassian-token"));
+        assertTrue(receivedHeaders.get("Content-type"), receivedHeaders.get("Content-type").startsWith("application/json"));
+        assertEquals(Integer.toString(receivedBody.getBytes(StandardCharsets.UTF_8).length), receivedHeaders.get("Content-length"));
+        assertEquals("application/json", response.getHeaders().get("Content-Type"));
+    }
+
+    @Test
+    public void testRestrictedHeadersAreLeftToTheJdkClient() {
+        final Response response = client(null).newRequest(serverUri.resolve("/echo"))
+                .setHeader("Host", "elsewhere.example.com")
+                .setHeader("Content-Length", "1000")
+                .setHeader("Expect", "100-continue")
+                .setEntity("{}")
+                .put()
+                .claim();
+
+        assertEquals(200, response.getStatusCode());
+        assertNotEquals("elsewhere.example.com", receivedHeaders.get("Host"));
+        assertEquals("2", receivedHeaders.get("Content-length"));
+    }
+
+    @Test
+    public void testMultiValuedResponseHeaders() {
+        final Response response = client(null).newRequest(serverUri.resolve("/cookies")).get().claim();
+
+        assertEquals("Accept, Accept-Encoding", response.getHeaders().get("Vary"));
+        assertEquals("JSESSIONID=1; Expires=Wed, 21 Oct 2026 07:28:00 GMT, atlassian.xsrf.token=2; Path=/",
+                response.getHeaders().get("Set-Cookie"));
+        assertEquals("\"1\"", response.getHeaders().get("ETag"));
+    }
+
+    @Test
+    public void testJiraRestClientOnJdkTransport() throws IOException {
+        try (JiraRestClient restClient = new AsynchronousJiraRestClientFactory(new JdkHttpTransport())
+                .createWithBasicHttpAuthentication(serverUri, "admin", "admin")) {
+            final ServerInfo serverInfo = restClient.getMetadataClient().getServerInfo().claim();
+
+            assertEquals("8.5.0", serverInfo.getVersion());
+            assertEquals(805000, serverInfo.getBuildNumber());
+            assertEquals("Test JIRA", serverInfo.getServerTitle());
+            assertTrue(receivedHeaders.get("Authorization"), receivedHeaders.get("Authorization").startsWith("Basic "));
+        }
+    }
+
+    @Test
+    public void testRequestTimeout() {
+        final HttpClient client = client(Duration.ofMillis(200));
+        try {
+            client.newRequest(serverUri.resolve("/slow")).get().claim();
+            fail("request should time out");
+        } catch (RuntimeException e) {
+            boolean timedOut = false;
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                timedOut |= cause instanceof HttpTimeoutException;
+            }
+            assertTrue(e.toString(), timedOut);
+        }
+    }
+
+    private HttpClient client(final Duration requestTimeout) {
+        final JiraRestClientOptionsBuilder options = new JiraRestClientOptionsBuilder().setConnectionTimeout(Duration.ofSeconds(5));
+        if (requestTimeout != null) {
+            options.setRequestTimeout(requestTimeout);
+        }
+        return new JdkHttpTransport().createHttpClient(serverUri, options.build());
+    }
+
+    private void echo(final HttpExchange exchange) throws IOException {
+        receivedMethod = exchange.getRequestMethod();
+        receivedBody = new String(ByteStreams.toByteArray(exchange.getRequestBody()), StandardCharsets.UTF_8);
+        exchange.getRequestHeaders().forEach((name, values) -> receivedHeaders.put(name, values.get(0)));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        respond(exchange, 200, "{}");
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
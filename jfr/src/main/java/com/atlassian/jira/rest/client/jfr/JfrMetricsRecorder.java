@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.jfr;
+
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.atlassian.jira.rest.client.api.metrics.NoOpMetricsRecorder;
+import jdk.jfr.EventType;
+
+import javax.annotation.Nullable;
+
+/**
+ * Emits requests as <code>com.atlassian.jira.rest.client.JiraRequest</code> and response parsing as
+ * <code>com.atlassian.jira.rest.client.JiraParse</code> JDK Flight Recorder events, so they can be correlated with
+ * GC and thread activity in JDK Mission Control.
+ * <p>
+ * While the events are not enabled in a running recording, the recorder allocates and measures nothing of its own,
+ * it only forwards to its delegate. All the other measurements are forwarded to the delegate too, so the events can
+ * be added to any other recorder, e.g.
+ * <code>new JfrMetricsRecorder(new HistogramMetricsRecorder())</code>.
+ *
+ * @since v5.2.2
+ */
+public class JfrMetricsRecorder implements MetricsRecorder {
+
+    private static final EventType REQUEST_EVENT_TYPE = EventType.getEventType(JiraRequestEvent.class);
+    private static final EventType PARSE_EVENT_TYPE = EventType.getEventType(JiraParseEvent.class);
+
+    private final MetricsRecorder delegate;
+
+    public JfrMetricsRecorder() {
+        this(NoOpMetricsRecorder.INSTANCE);
+    }
+
+    public JfrMetricsRecorder(final MetricsRecorder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Nullable
+    @Override
+    public Object beginRequest(String endpoint, String method) {
+        if (!REQUEST_EVENT_TYPE.isEnabled()) {
+            return delegate.beginRequest(endpoint, method);
+        }
+        final JiraRequestEvent event = new JiraRequestEvent();
+        event.begin();
+        event.endpoint = endpoint;
+        event.method = method;
+        return new Context(event, delegate.beginRequest(endpoint, method));
+    }
+
+    @Override
+    public void endRequest(Object context, int statusCode, long bytes) {
+        if (!(context instanceof Context)) {
+            delegate.endRequest(context, statusCode, bytes);
+            return;
+        }
+        final Context jfrContext = (Context) context;
+        final JiraRequestEvent event = (JiraRequestEvent) jfrContext.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.status = statusCode;
+            event.bytes = bytes;
+            event.commit();
+        }
+        if (jfrContext.delegateContext != null) {
+            delegate.endRequest(jfrContext.delegateContext, statusCode, bytes);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Object beginParse(String endpoint, String parser) {
+        if (!PARSE_EVENT_TYPE.isEnabled()) {
+            return delegate.beginParse(endpoint, parser);
+        }
+        final JiraParseEvent event = new JiraParseEvent();
+        event.begin();
+        event.endpoint = endpoint;
+        event.parser = parser;
+        return new Context(event, delegate.beginParse(endpoint, parser));
+    }
+
+    @Override
+    public void endParse(Object context, long bytes, int elements) {
+        if (!(context instanceof Context)) {
+            delegate.endParse(context, bytes, elements);
+            return;
+        }
+        final Context jfrContext = (Context) context;
+        final JiraParseEvent event = (JiraParseEvent) jfrContext.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = bytes;
+            event.elements = elements;
+            event.commit();
+        }
+        if (jfrContext.delegateContext != null) {
+            delegate.endParse(jfrContext.delegateContext, bytes, elements);
+        }
+    }
+
+    @Override
+    public void requestStarted(String endpoint) {
+        delegate.requestStarted(endpoint);
+    }
+
+    @Override
+    public void requestSent(String endpoint, long queueNanos) {
+        delegate.requestSent(endpoint, queueNanos);
+    }
+
+    @Override
+    public void responseReceived(String endpoint, String method, int statusCode, long responseNanos) {
+        delegate.responseReceived(endpoint, method, statusCode, responseNanos);
+    }
+
+    @Override
+    public void requestFailed(String endpoint, String method, Throwable failure, long failureNanos) {
+        delegate.requestFailed(endpoint, method, failure, failureNanos);
+    }
+
+    @Override
+    public void requestCompleted(String endpoint, long totalNanos) {
+        delegate.requestCompleted(endpoint, totalNanos);
+    }
+
+    @Override
+    public void responseParsed(String endpoint, String parser, long bytes, long parseNanos) {
+        delegate.responseParsed(endpoint, parser, bytes, parseNanos);
+    }
+
+    @Override
+    public void concurrencyLimitChanged(String client, int limit) {
+        delegate.concurrencyLimitChanged(client, limit);
+    }
+
+    private static final class Context {
+        private final jdk.jfr.Event event;
+        @Nullable
+        private final Object delegateContext;
+
+        private Context(final jdk.jfr.Event event, @Nullable final Object delegateContext) {
+            this.event = event;
+            this.delegateContext = delegateContext;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Parsing of a response body.
+ *
+ * @since v5.2.2
+ */
+@Name("com.atlassian.jira.rest.client.JiraParse")
+@Label("Jira Parse")
+@Category("Jira REST Client")
+@Description("Parsing of a Jira response body")
+class JiraParseEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Parser")
+    String parser;
+
+    @Label("Body Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Elements")
+    @Description("Size of the parsed collection, number of issues of a search result, 1 for a single object")
+    int elements;
+}
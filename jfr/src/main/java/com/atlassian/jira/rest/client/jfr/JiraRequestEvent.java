@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Request sent through the client's request pipeline, from entering the pipeline to the final response, including
+ * queueing and retries.
+ *
+ * @since v5.2.2
+ */
+@Name("com.atlassian.jira.rest.client.JiraRequest")
+@Label("Jira Request")
+@Category("Jira REST Client")
+@Description("Request to Jira, including queueing and retries")
+class JiraRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("REST API and top level resource, e.g. api/search")
+    String endpoint;
+
+    @Label("Status")
+    @Description("Status of the final response, 0 when failed without a response")
+    int status;
+
+    @Label("Response Size")
+    @Description("Declared size of the response body, -1 when unknown")
+    @DataAmount
+    long bytes;
+}
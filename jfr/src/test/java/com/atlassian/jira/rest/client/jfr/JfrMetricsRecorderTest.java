@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.jfr;
+
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class JfrMetricsRecorderTest {
+
+    private static final String REQUEST_EVENT = "com.atlassian.jira.rest.client.JiraRequest";
+    private static final String PARSE_EVENT = "com.atlassian.jira.rest.client.JiraParse";
+
+    @Test
+    public void testRecordsRequestAndParseEvents() throws IOException {
+        final JfrMetricsRecorder recorder = new JfrMetricsRecorder();
+        final Path file = Files.createTempFile("jira-rest-client", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(JiraRequestEvent.class);
+                recording.enable(JiraParseEvent.class);
+                recording.start();
+
+                final Object request = recorder.beginRequest("api/search", "POST");
+                final Object parse = recorder.beginParse("api/search", "SearchResultJsonParser");
+                recorder.endParse(parse, 2048, 50);
+                recorder.endRequest(request, 200, 4096);
+
+                recording.stop();
+                recording.dump(file);
+            }
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            final RecordedEvent request = single(events, REQUEST_EVENT);
+            assertEquals("api/search", request.getString("endpoint"));
+            assertEquals("POST", request.getString("method"));
+            assertEquals(200, request.getInt("status"));
+            assertEquals(4096, request.getLong("bytes"));
+            final RecordedEvent parse = single(events, PARSE_EVENT);
+            assertEquals("api/search", parse.getString("endpoint"));
+            assertEquals("SearchResultJsonParser", parse.getString("parser"));
+            assertEquals(2048, parse.getLong("bytes"));
+            assertEquals(50, parse.getInt("elements"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testOnlyDelegatesWithoutRecording() {
+        assertNull(new JfrMetricsRecorder().beginRequest("api/issue", "GET"));
+        assertNull(new JfrMetricsRecorder().beginParse("api/issue", "IssueJsonParser"));
+
+        final ContextRecorder delegate = new ContextRecorder();
+        assertSame(delegate.context, new JfrMetricsRecorder(delegate).beginRequest("api/issue", "GET"));
+    }
+
+    private static RecordedEvent single(final List<RecordedEvent> events, final String name) {
+        final List<RecordedEvent> named = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertEquals(1, named.size());
+        return named.get(0);
+    }
+
+    /**
+     * Follows requests with a context of its own, ignores the other measurements.
+     */
+    private static class ContextRecorder implements MetricsRecorder {
+        private final Object context = new Object();
+
+        @Override
+        public Object beginRequest(String endpoint, String method) {
+            return context;
+        }
+
+        @Override
+        public void requestStarted(String endpoint) {
+        }
+
+        @Override
+        public void requestSent(String endpoint, long queueNanos) {
+        }
+
+        @Override
+        public void responseReceived(String endpoint, String method, int statusCode, long responseNanos) {
+        }
+
+        @Override
+        public void requestFailed(String endpoint, String method, Throwable failure, long failureNanos) {
+        }
+
+        @Override
+        public void requestCompleted(String endpoint, long totalNanos) {
+        }
+
+        @Override
+        public void responseParsed(String endpoint, String parser, long bytes, long parseNanos) {
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.micrometer;
+
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes the client's measurements to a Micrometer {@link MeterRegistry}:
+ * <ul>
+ * <li><code>jira.client.requests</code> - timer of whole requests, including queueing and retries</li>
+ * <li><code>jira.client.requests.queue</code> - timer of the time requests waited in the client before sending</li>
+ * <li><code>jira.client.responses</code> - timer of single attempts, tagged with method and status
+ * (<code>IO_ERROR</code> for attempts failed without a response)</li>
+ * <li><code>jira.client.requests.active</code> - gauge of requests in the pipeline</li>
+ * <li><code>jira.client.parse</code> - timer of response parsing, tagged with parser</li>
+ * <li><code>jira.client.response.size</code> - summary of parsed response sizes in bytes</li>
+ * <li><code>jira.client.concurrency.limit</code> - gauge of the adaptive limit of requests in flight, tagged with
+ * the client, e.g. <code>jira-rest-client-1</code>; only registered for clients limiting their requests</li>
+ * </ul>
+ * All the meters but the last one are tagged with the endpoint, e.g. <code>api/search</code>.
+ *
+ * @since v5.2.2
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+
+    private static final String PREFIX = "jira.client.";
+
+    private final MeterRegistry registry;
+    private final Tags commonTags;
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> concurrencyLimits = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsRecorder(final MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param commonTags tags added to all the meters, e.g. to tell apart several JIRA instances
+     */
+    public MicrometerMetricsRecorder(final MeterRegistry registry, final Iterable<Tag> commonTags) {
+        this.registry = registry;
+        this.commonTags = Tags.of(commonTags);
+    }
+
+    @Override
+    public void requestStarted(final String endpoint) {
+        inFlight(endpoint).incrementAndGet();
+    }
+
+    @Override
+    public void requestSent(final String endpoint, final long queueNanos) {
+        timer("requests.queue", Tags.of("endpoint", endpoint)).record(queueNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void responseReceived(final String endpoint, final String method, final int statusCode, final long responseNanos) {
+        timer("responses", Tags.of("endpoint", endpoint, "method", method, "status", Integer.toString(statusCode)))
+                .record(responseNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestFailed(final String endpoint, final String method, final Throwable failure, final long failureNanos) {
+        timer("responses", Tags.of("endpoint", endpoint, "method", method, "status", "IO_ERROR"))
+                .record(failureNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestCompleted(final String endpoint, final long totalNanos) {
+        inFlight(endpoint).decrementAndGet();
+        timer("requests", Tags.of("endpoint", endpoint)).record(totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void responseParsed(final String endpoint, final String parser, final long bytes, final long parseNanos) {
+        final Tags tags = Tags.of("endpoint", endpoint, "parser", parser);
+        timer("parse", tags).record(parseNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(PREFIX + "response.size")
+                .baseUnit("bytes")
+                .tags(commonTags.and(tags))
+                .register(registry)
+                .record(bytes);
+    }
+
+    @Override
+    public void concurrencyLimitChanged(final String client, final int limit) {
+        concurrencyLimits.computeIfAbsent(client, c -> registry.gauge(PREFIX + "concurrency.limit",
+                commonTags.and("client", c), new AtomicInteger())).set(limit);
+    }
+
+    private Timer timer(final String name, final Tags tags) {
+        return Timer.builder(PREFIX + name)
+                .tags(commonTags.and(tags))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private AtomicInteger inFlight(final String endpoint) {
+        return inFlight.computeIfAbsent(endpoint, e -> registry.gauge(PREFIX + "requests.active",
+                commonTags.and("endpoint", e), new AtomicInteger()));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.micrometer;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MicrometerMetricsRecorderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerMetricsRecorder recorder = new MicrometerMetricsRecorder(registry, Tags.of("jira", "test"));
+
+    @Test
+    public void testRequestTimers() {
+        recorder.requestStarted("api/issue");
+        recorder.requestSent("api/issue", TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.responseReceived("api/issue", "GET", 503, TimeUnit.MILLISECONDS.toNanos(20));
+        recorder.requestFailed("api/issue", "GET", new IOException("connection reset"), TimeUnit.MILLISECONDS.toNanos(30));
+        recorder.responseReceived("api/issue", "GET", 200, TimeUnit.MILLISECONDS.toNanos(40));
+        recorder.requestCompleted("api/issue", TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTimer(5, registry.get("jira.client.requests.queue").tags("jira", "test", "endpoint", "api/issue").timer());
+        assertTimer(20, registry.get("jira.client.responses").tags("endpoint", "api/issue", "method", "GET", "status", "503").timer());
+        assertTimer(30, registry.get("jira.client.responses").tags("status", "IO_ERROR").timer());
+        assertTimer(40, registry.get("jira.client.responses").tags("status", "200").timer());
+        assertTimer(100, registry.get("jira.client.requests").tags("endpoint", "api/issue").timer());
+    }
+
+    @Test
+    public void testRequestsInFlightGauge() {
+        recorder.requestStarted("api/issue");
+        recorder.requestStarted("api/issue");
+        recorder.requestStarted("api/search");
+        recorder.requestCompleted("api/issue", 0);
+
+        assertEquals(1, registry.get("jira.client.requests.active").tags("endpoint", "api/issue").gauge().value(), 0);
+        assertEquals(1, registry.get("jira.client.requests.active").tags("endpoint", "api/search").gauge().value(), 0);
+    }
+
+    @Test
+    public void testParseMeters() {
+        recorder.responseParsed("api/search", "SearchResultJsonParser", 2048, TimeUnit.MILLISECONDS.toNanos(3));
+        recorder.responseParsed("api/search", "SearchResultJsonParser", 1024, TimeUnit.MILLISECONDS.toNanos(1));
+
+        final Timer parse = registry.get("jira.client.parse").tags("endpoint", "api/search", "parser", "SearchResultJsonParser").timer();
+        assertEquals(2, parse.count());
+        assertEquals(4, parse.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(3072, registry.get("jira.client.response.size").tags("jira", "test").summary().totalAmount(), 0);
+    }
+
+    @Test
+    public void testConcurrencyLimitGaugePerClient() {
+        assertNull(registry.find("jira.client.concurrency.limit").gauge());
+
+        recorder.concurrencyLimitChanged("jira-rest-client-1", 16);
+        recorder.concurrencyLimitChanged("jira-rest-client-2", 4);
+        recorder.concurrencyLimitChanged("jira-rest-client-1", 12);
+
+        assertEquals(12, registry.get("jira.client.concurrency.limit").tags("jira", "test", "client", "jira-rest-client-1")
+                .gauge().value(), 0);
+        assertEquals(4, registry.get("jira.client.concurrency.limit").tags("client", "jira-rest-client-2").gauge().value(), 0);
+    }
+
+    private static void assertTimer(final long millis, final Timer timer) {
+        assertEquals(1, timer.count());
+        assertEquals(millis, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryableCallTest {
+
+    @Test
+    public void testActiveOnlyWithinCall() {
+        assertFalse(RetryableCall.isActive());
+        assertTrue(RetryableCall.run(RetryableCall::isActive));
+        assertFalse(RetryableCall.isActive());
+    }
+
+    @Test
+    public void testNestedCalls() {
+        RetryableCall.run(() -> {
+            RetryableCall.run(() -> null);
+            assertTrue(RetryableCall.isActive());
+            return null;
+        });
+        assertFalse(RetryableCall.isActive());
+    }
+
+    @Test
+    public void testResetAfterFailure() {
+        try {
+            RetryableCall.run(() -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        assertFalse(RetryableCall.isActive());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.metrics;
+package com.atlassian.jira.rest.client.api.bulk;
+
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkExecutorTest {
+
+    private final ConcurrentLinkedQueue<Object> succeeded = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Object> failed = new ConcurrentLinkedQueue<>();
+    private final BulkListener<Object, Object> listener = new BulkListener<Object, Object>() {
+        @Override
+        public void onSuccess(Object input, Object result) {
+            succeeded.add(input);
+        }
+
+        @Override
+        public void onFailure(Object input, Throwable failure) {
+            failed.add(input);
+        }
+    };
+
+    @Test
+    public void testStartsNextOperationOnlyWhenSlotFrees() {
+        final List<CompletableFuture<String>> started = new ArrayList<>();
+        final BulkRun run = new BulkExecutor(2).execute(IntStream.range(0, 5).boxed(), input -> {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            started.add(future);
+            return Promises.forCompletionStage(future);
+        }, listener);
+
+        assertEquals(2, started.size());
+        assertEquals(2, run.getProgress().getInFlight());
+
+        started.get(1).complete("1");
+        assertEquals(3, started.size());
+        started.get(0).completeExceptionally(new IllegalStateException());
+        started.get(2).complete("2");
+        assertEquals(5, started.size());
+        assertFalse(run.getCompletion().isDone());
+
+        started.get(3).complete("3");
+        started.get(4).complete("4");
+        final BulkProgress progress = run.getCompletion().claim();
+        assertEquals(5, progress.getSubmitted());
+        assertEquals(4, progress.getSucceeded());
+        assertEquals(1, progress.getFailed());
+        assertEquals(0, progress.getInFlight());
+        assertEquals(4, succeeded.size());
+        assertEquals(0, failed.peek());
+    }
+
+    @Test
+    public void testSynchronousCompletionsDoNotRecurse() {
+        final AtomicLong calls = new AtomicLong();
+        final BulkRun run = new BulkExecutor(4).execute(LongStream.range(0, 100000).boxed(),
+                input -> {
+                    calls.incrementAndGet();
+                    return input % 1000 == 0 ? Promises.<Long>rejected(new IllegalStateException()) : Promises.promise(input);
+                }, listener);
+
+        assertTrue(run.getCompletion().isDone());
+        assertEquals(100000, calls.get());
+        assertEquals(99900, run.getCompletion().claim().getSucceeded());
+        assertEquals(100, failed.size());
+    }
+
+    @Test
+    public void testCancelStopsStartingOperations() {
+        final List<CompletableFuture<String>> started = new ArrayList<>();
+        final BulkRun run = new BulkExecutor(1).execute(IntStream.range(0, 5).boxed(), input -> {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            started.add(future);
+            return Promises.forCompletionStage(future);
+        }, listener);
+
+        run.cancel();
+        assertFalse(run.getCompletion().isDone());
+        started.get(0).complete("0");
+
+        assertEquals(1, started.size());
+        assertEquals(1, run.getCompletion().claim().getSucceeded());
+    }
+
+    @Test
+    public void testOperationThrowingIsReportedAsFailure() {
+        final Promise<BulkProgress> completion = new BulkExecutor(3).execute(IntStream.range(0, 3).boxed(), input -> {
+            throw new IllegalArgumentException();
+        }, listener).getCompletion();
+
+        assertEquals(3, completion.claim().getFailed());
+        assertEquals(3, failed.size());
+    }
+}
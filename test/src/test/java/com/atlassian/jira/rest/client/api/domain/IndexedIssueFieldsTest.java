@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IndexedIssueFieldsTest {
+
+    private static final IssueFieldDescriptors DESCRIPTORS = IssueFieldDescriptors.create(
+            ImmutableMap.of("customfield_1", "Points", "customfield_2", "Team", "customfield_3", "Points"),
+            ImmutableMap.of("customfield_1", "number", "customfield_2", "string"));
+
+    @Test
+    public void testGetById() {
+        final IndexedIssueFields fields = IndexedIssueFields.builder(DESCRIPTORS)
+                .put("customfield_2", "A-Team")
+                .put("customfield_3", null)
+                .build();
+
+        assertEquals(new IssueField("customfield_2", "Team", "string", "A-Team"), fields.get("customfield_2"));
+        assertEquals(new IssueField("customfield_3", "Points", null, null), fields.get("customfield_3"));
+        assertNull(fields.get("customfield_1"));
+        assertNull(fields.get("customfield_4"));
+        assertEquals(2, fields.size());
+    }
+
+    @Test
+    public void testGetByNameReturnsFirstPresentField() {
+        final IndexedIssueFields fields = IndexedIssueFields.builder(DESCRIPTORS)
+                .put("customfield_3", 5)
+                .build();
+
+        assertEquals(new IssueField("customfield_3", "Points", null, 5), fields.getByName("Points"));
+        assertNull(fields.getByName("Team"));
+    }
+
+    @Test
+    public void testIterationFollowsPutOrder() {
+        final IndexedIssueFields fields = IndexedIssueFields.builder(DESCRIPTORS)
+                .put("customfield_3", 5)
+                .put("customfield_1", 1.5)
+                .put("customfield_3", 6)
+                .build();
+
+        assertEquals(Arrays.asList(
+                new IssueField("customfield_3", "Points", null, 6),
+                new IssueField("customfield_1", "Points", "number", 1.5)), Lists.newArrayList(fields));
+    }
+
+    @Test
+    public void testGrowsBeyondExpectedSize() {
+        final IndexedIssueFields fields = IndexedIssueFields.builder(DESCRIPTORS, 1)
+                .put("customfield_1", 1.5)
+                .put("customfield_2", "A-Team")
+                .put("customfield_3", 5)
+                .build();
+
+        assertEquals(3, fields.size());
+        assertEquals(new IssueField("customfield_1", "Points", "number", 1.5), fields.get("customfield_1"));
+        assertEquals(new IssueField("customfield_2", "Team", "string", "A-Team"), fields.get("customfield_2"));
+        assertEquals(new IssueField("customfield_3", "Points", null, 5), fields.get("customfield_3"));
+    }
+
+    @Test
+    public void testPutsOutOfSlotOrderKeepOneValuePerField() {
+        final IndexedIssueFields fields = IndexedIssueFields.builder(DESCRIPTORS)
+                .put("customfield_2", "A-Team")
+                .put("customfield_1", 1.5)
+                .put("customfield_2", "B-Team")
+                .put("customfield_3", 5)
+                .build();
+
+        assertEquals(3, fields.size());
+        assertEquals(new IssueField("customfield_2", "Team", "string", "B-Team"), fields.get("customfield_2"));
+        assertEquals(new IssueField("customfield_1", "Points", "number", 1.5), fields.getByName("Points"));
+        assertEquals(new IssueField("customfield_3", "Points", null, 5), fields.get("customfield_3"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderCannotBeUsedAfterBuild() {
+        final IndexedIssueFields.Builder builder = IndexedIssueFields.builder(DESCRIPTORS).put("customfield_1", 1);
+        builder.build();
+        builder.put("customfield_2", "A-Team");
+    }
+
+    @Test
+    public void testWithIdsExtendsOnlyWhenNeeded() {
+        assertSame(DESCRIPTORS, DESCRIPTORS.withIds(Arrays.asList("customfield_1", "customfield_3")));
+
+        final IssueFieldDescriptors extended = DESCRIPTORS.withIds(Arrays.asList("customfield_1", "customfield_9"));
+        assertEquals(4, extended.size());
+        assertEquals(0, extended.slotOf("customfield_1"));
+        assertEquals("number", extended.getType("customfield_1"));
+        assertEquals(3, extended.slotOf("customfield_9"));
+        assertNull(extended.getName("customfield_9"));
+        assertSame(extended, DESCRIPTORS.withIds(Arrays.asList("customfield_9", "customfield_2")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutUndescribedField() {
+        IndexedIssueFields.builder(DESCRIPTORS).put("customfield_9", 1);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HistogramMetricsRecorderTest {
+
+    private final HistogramMetricsRecorder recorder = new HistogramMetricsRecorder();
+
+    @Test
+    public void testRecordsPerEndpoint() {
+        recorder.requestStarted("api/search");
+        recorder.requestSent("api/search", 10);
+        recorder.responseReceived("api/search", "GET", 503, 200);
+        recorder.responseReceived("api/search", "GET", 200, 100);
+        recorder.requestStarted("api/issue");
+
+        final EndpointMetrics search = recorder.getEndpointMetrics("api/search");
+        assertEquals(1, search.getRequestCount());
+        assertEquals(1, search.getInFlight());
+        assertEquals(ImmutableMap.of(503, 1L, 200, 1L), search.getStatusCodeCounts());
+        assertEquals(2, search.getResponseTime().getCount());
+        assertEquals(10, search.getQueueTime().getMax());
+
+        recorder.requestCompleted("api/search", 400);
+        recorder.responseParsed("api/search", "SearchResultJsonParser", 2048, 50);
+
+        assertEquals(0, search.getInFlight());
+        assertEquals(400, search.getTotalTime().getMax());
+        assertEquals(2048, search.getResponseBytes().getMax());
+        assertEquals(1, search.getParseTime().getCount());
+        assertEquals(1, recorder.getEndpointMetrics("api/issue").getInFlight());
+        assertEquals(2, recorder.getEndpointMetrics().size());
+    }
+
+    @Test
+    public void testFailures() {
+        recorder.requestStarted("api/issue");
+        recorder.requestFailed("api/issue", "GET", new IOException(), 100);
+        recorder.requestCompleted("api/issue", 100);
+
+        final EndpointMetrics issue = recorder.getEndpointMetrics("api/issue");
+        assertEquals(1, issue.getFailureCount());
+        assertEquals(ImmutableMap.of(), issue.getStatusCodeCounts());
+        assertNull(recorder.getEndpointMetrics("api/search"));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.auth;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.SessionCookie;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SessionAuthenticationHandlerTest {
+
+    private static final SessionCookie FIRST = new SessionCookie("JSESSIONID", "first");
+    private static final SessionCookie SECOND = new SessionCookie("JSESSIONID", "second");
+
+    private final List<CompletableFuture<SessionCookie>> logins = new ArrayList<>();
+    private long nanos;
+
+    private final SessionAuthenticationHandler handler = new SessionAuthenticationHandler(
+            URI.create("http://localhost:2990/jira"), "admin", "admin", new Ticker() {
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }) {
+        @Override
+        Promise<SessionCookie> login(HttpClient httpClient) {
+            final CompletableFuture<SessionCookie> login = new CompletableFuture<>();
+            logins.add(login);
+            return Promises.forCompletionStage(login);
+        }
+    };
+
+    @Test
+    public void testConcurrentRequestsShareOneLogin() {
+        assertNull(handler.getCredentials());
+        final Promise<SessionCookie> first = handler.renew(null, null);
+        final Promise<SessionCookie> second = handler.renew(null, null);
+        assertEquals(1, logins.size());
+        assertFalse(first.isDone());
+
+        logins.get(0).complete(FIRST);
+
+        assertEquals(FIRST, first.claim());
+        assertEquals(FIRST, second.claim());
+        assertEquals(FIRST, handler.getCredentials());
+    }
+
+    @Test
+    public void testRejectedSessionIsRenewedOnce() {
+        handler.renew(null, null);
+        logins.get(0).complete(FIRST);
+
+        final Promise<SessionCookie> renewed = handler.renew(null, FIRST);
+        final Promise<SessionCookie> alsoRejected = handler.renew(null, FIRST);
+        assertEquals(2, logins.size());
+        logins.get(1).complete(SECOND);
+
+        assertEquals(SECOND, renewed.claim());
+        assertEquals(SECOND, alsoRejected.claim());
+        // rejected before the renewal completed, gets the renewed session without another login
+        assertEquals(SECOND, handler.renew(null, FIRST).claim());
+        assertEquals(2, logins.size());
+    }
+
+    @Test
+    public void testFailedLoginIsRetried() {
+        final Promise<SessionCookie> failed = handler.renew(null, null);
+        logins.get(0).completeExceptionally(new IllegalStateException("down"));
+        assertTrue(failed.isDone());
+        assertNull(handler.getCredentials());
+
+        // the failure is reported without another login during the backoff
+        assertTrue(handler.renew(null, null).isDone());
+        assertEquals(1, logins.size());
+
+        nanos += SessionAuthenticationHandler.LOGIN_RETRY_BACKOFF.toNanos();
+        final Promise<SessionCookie> retried = handler.renew(null, null);
+        assertEquals(2, logins.size());
+        logins.get(1).complete(FIRST);
+
+        assertEquals(FIRST, retried.claim());
+    }
+
+    @Test
+    public void testRejectedCredentialsAreNotRetried() {
+        handler.renew(null, null);
+        logins.get(0).completeExceptionally(new RestClientException(ImmutableList.of(), 401));
+
+        nanos += TimeUnit.HOURS.toNanos(1);
+        final Promise<SessionCookie> renewed = handler.renew(null, null);
+
+        assertEquals(1, logins.size());
+        try {
+            renewed.claim();
+            fail("rejected credentials should not be used again");
+        } catch (RuntimeException e) {
+            final RestClientException rejection = e instanceof RestClientException
+                    ? (RestClientException) e : (RestClientException) e.getCause();
+            assertEquals(Integer.valueOf(401), rejection.getStatusCode().get());
+        }
+    }
+}
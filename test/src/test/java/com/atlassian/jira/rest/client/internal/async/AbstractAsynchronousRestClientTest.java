@@ -16,19 +16,36 @@
 
 package com.atlassian.jira.rest.client.internal.async;
 
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
 import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
 import com.google.common.collect.Iterators;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 import org.codehaus.jettison.json.JSONException;
 import org.hamcrest.collection.IsIterableContainingInAnyOrder;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 public class AbstractAsynchronousRestClientTest {
 
     private static final int BAD_REQUEST = 400;
+    private static final URI ISSUE_URI = URI.create("http://localhost/rest/api/2/issue/TST-1");
 
     @Test
     public void testExtractErrors() throws JSONException {
@@ -65,4 +82,126 @@ public class AbstractAsynchronousRestClientTest {
         Assert.assertEquals(errorCollection.getErrors().get("c"), "z");
     }
 
+    @Test
+    public void testParsesOnParseExecutor() {
+        final ExecutorService parseExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "parse-thread"));
+        try {
+            final TestRestClient restClient = new TestRestClient(request -> FakeHttpClient.ok("{}"), parseExecutor);
+
+            Assert.assertEquals("parse-thread", restClient.parsingThread(ISSUE_URI).claim());
+        } finally {
+            parseExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testResponseIsParsedOnlyWhenParseTaskRuns() {
+        final RecordingExecutor parseExecutor = new RecordingExecutor();
+        final TestRestClient restClient = new TestRestClient(request -> FakeHttpClient.ok("{}"), parseExecutor);
+
+        final Promise<String> parsed = restClient.parsingThread(ISSUE_URI);
+
+        Assert.assertFalse(parsed.isDone());
+        Assert.assertEquals(1, parseExecutor.tasks.size());
+        parseExecutor.runAll();
+        Assert.assertEquals(Thread.currentThread().getName(), parsed.claim());
+    }
+
+    @Test
+    public void testRejectedParseTaskFailsCall() {
+        final Executor parseExecutor = runnable -> {
+            throw new RejectedExecutionException("parse queue full");
+        };
+        final TestRestClient restClient = new TestRestClient(request -> FakeHttpClient.ok("{}"), parseExecutor);
+
+        try {
+            restClient.parsingThread(ISSUE_URI).claim();
+            Assert.fail("RejectedExecutionException expected");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(String.valueOf(e.getMessage()), rootCause(e) instanceof RejectedExecutionException);
+            Assert.assertEquals("parse queue full", rootCause(e).getMessage());
+        }
+    }
+
+    @Test
+    public void testErrorsOfVoidCallAreExtractedOnParseExecutor() {
+        final RecordingExecutor parseExecutor = new RecordingExecutor();
+        final String errors = ResourceUtil.getStringFromResource("/json/error/valid.json");
+        final TestRestClient restClient = new TestRestClient(
+                request -> Promises.promise(FakeHttpClient.response(BAD_REQUEST, errors)), parseExecutor);
+
+        final Promise<Void> deleted = restClient.remove(ISSUE_URI);
+
+        Assert.assertFalse(deleted.isDone());
+        parseExecutor.runAll();
+        try {
+            deleted.claim();
+            Assert.fail("RestClientException expected");
+        } catch (RestClientException e) {
+            Assert.assertEquals(Integer.valueOf(BAD_REQUEST), e.getStatusCode().get());
+        }
+    }
+
+    @Test
+    public void testCancelCancelsRequest() {
+        final CompletableFuture<Response> pending = new CompletableFuture<>();
+        final RecordingExecutor parseExecutor = new RecordingExecutor();
+        final TestRestClient restClient = new TestRestClient(request -> Promises.forCompletionStage(pending), parseExecutor);
+
+        final Promise<String> parsed = restClient.parsingThread(ISSUE_URI);
+        parsed.cancel(true);
+
+        Assert.assertTrue(parsed.isCancelled());
+        Assert.assertTrue(pending.isCancelled());
+        Assert.assertTrue(parseExecutor.tasks.isEmpty());
+    }
+
+    private static Throwable rootCause(final Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static class TestRestClient extends AbstractAsynchronousRestClient {
+
+        TestRestClient(final Function<Request, Promise<Response>> handler,
+                       final Executor parseExecutor) {
+            super(decorated(handler, parseExecutor));
+        }
+
+        private static HttpClient decorated(
+                final Function<Request, Promise<Response>> handler,
+                final Executor parseExecutor) {
+            return new FakeHttpClient(handler).decorated(null,
+                    new JiraRestClientOptionsBuilder().setParseExecutor(parseExecutor).build());
+        }
+
+        Promise<String> parsingThread(final URI uri) {
+            final ResponseHandler<String> threadName = response -> Thread.currentThread().getName();
+            return callAndParse(client().newRequest(uri).get(), threadName);
+        }
+
+        Promise<Void> remove(final URI uri) {
+            return delete(uri);
+        }
+    }
+
+    /**
+     * Runs its tasks only when asked to.
+     */
+    private static class RecordingExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        synchronized void runAll() {
+            tasks.forEach(Runnable::run);
+            tasks.clear();
+        }
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitSettingsBuilder;
+import com.atlassian.jira.rest.client.api.metrics.HistogramMetricsRecorder;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long RTT = Duration.ofMillis(100).toNanos();
+    private static final String CLIENT = "jira-rest-client-1";
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final HistogramMetricsRecorder metricsRecorder = new HistogramMetricsRecorder();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(CLIENT, new ConcurrencyLimitSettingsBuilder()
+            .setInitialLimit(4)
+            .setMinLimit(2)
+            .setMaxLimit(6)
+            .setBackoffRatio(0.5)
+            .build(), metricsRecorder, ticker);
+
+    @Test
+    public void testRejectsAboveLimit() {
+        acquire(4);
+
+        assertFalse(limit.tryAcquire());
+        limit.onResponse("api/issue", RTT, false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(4, metricsRecorder.getConcurrencyLimit(CLIENT));
+    }
+
+    @Test
+    public void testReleaseFreesSlotWithoutChangingLimit() {
+        acquire(4);
+
+        limit.release();
+
+        assertEquals(3, limit.getInFlight());
+        assertTrue(limit.tryAcquire());
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    public void testGrowsByOnePerRoundTripWhenUsed() {
+        for (int i = 0; i < 4; i++) {
+            acquire(1);
+            limit.onResponse("api/issue", RTT, false);
+        }
+        // in flight stayed below half of the limit
+        assertEquals(4, limit.getLimit());
+
+        acquire(4);
+        for (int i = 0; i < 5; i++) {
+            limit.onResponse("api/issue", RTT, false);
+            acquire(1);
+        }
+        assertEquals(5, limit.getLimit());
+        assertEquals(5, metricsRecorder.getConcurrencyLimit(CLIENT));
+    }
+
+    @Test
+    public void testBacksOffOncePerRoundTripOnThrottling() {
+        acquire(4);
+        limit.onResponse("api/issue", RTT, false);
+        limit.onResponse("api/issue", RTT, true);
+        limit.onResponse("api/issue", RTT, true);
+        assertEquals(2, limit.getLimit());
+
+        ticker.advance(Duration.ofMillis(100));
+        acquire(1);
+        limit.onResponse("api/issue", RTT, true);
+        // never below the minimum
+        assertEquals(2, limit.getLimit());
+        assertEquals(2, metricsRecorder.getConcurrencyLimit(CLIENT));
+    }
+
+    @Test
+    public void testBacksOffOnLatencyOfSameEndpointOnly() {
+        acquire(4);
+        limit.onResponse("api/issue", RTT, false);
+        limit.onResponse("api/search", 5 * RTT, false);
+        assertEquals(4, limit.getLimit());
+
+        limit.onResponse("api/issue", 3 * RTT, false);
+        assertEquals(2, limit.getLimit());
+        assertEquals(1, limit.getInFlight());
+    }
+
+    private void acquire(final int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class AsynchronousHttpClientFactoryTest {
+
+    @Test
+    public void testDefaultOptionsKeepHttpClientDefaults() {
+        final HttpClientOptions defaults = new HttpClientOptions();
+        final HttpClientOptions options = AsynchronousHttpClientFactory.toHttpClientOptions(JiraRestClientOptions.DEFAULT);
+
+        assertEquals(defaults.getMaxTotalConnections(), options.getMaxTotalConnections());
+        assertEquals(defaults.getMaxConnectionsPerHost(), options.getMaxConnectionsPerHost());
+        assertEquals(defaults.getSocketTimeout(), options.getSocketTimeout());
+    }
+
+    @Test
+    public void testOptionsArePassedToHttpClient() {
+        final JiraRestClientOptions clientOptions = new JiraRestClientOptionsBuilder()
+                .setMaxTotalConnections(400)
+                .setMaxConnectionsPerHost(200)
+                .setIoThreadCount(8)
+                .setConnectionTimeout(Duration.ofSeconds(2))
+                .setSocketTimeout(Duration.ofSeconds(30))
+                .setRequestTimeout(Duration.ofMinutes(1))
+                .setConnectionTimeToLive(Duration.ofMinutes(5))
+                .build();
+
+        final HttpClientOptions options = AsynchronousHttpClientFactory.toHttpClientOptions(clientOptions);
+
+        assertEquals(400, options.getMaxTotalConnections());
+        assertEquals(200, options.getMaxConnectionsPerHost());
+        assertEquals(8, options.getIoThreadCount());
+        assertEquals(2000, options.getConnectionTimeout());
+        assertEquals(30000, options.getSocketTimeout());
+        assertEquals(60000, options.getRequestTimeout());
+        assertEquals(300000, options.getConnectionPoolTimeToLive());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositivePoolSize() {
+        new JiraRestClientOptionsBuilder().setMaxConnectionsPerHost(0);
+    }
+
+    @Test
+    public void testClientIsCreatedAndDestroyedByTransport() throws Exception {
+        final HttpClient transportClient = (HttpClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpClient.class}, (proxy, method, args) -> null);
+        final List<HttpClient> destroyed = new ArrayList<>();
+        final HttpTransport transport = new HttpTransport() {
+            @Override
+            public HttpClient createHttpClient(URI serverUri, JiraRestClientOptions options) {
+                return transportClient;
+            }
+
+            @Override
+            public void destroy(HttpClient httpClient) {
+                destroyed.add(httpClient);
+            }
+        };
+
+        final DisposableHttpClient client = new AsynchronousHttpClientFactory(transport)
+                .createClient(URI.create("http://localhost:2990/jira"), null);
+        assertEquals(0, destroyed.size());
+
+        client.destroy();
+        assertEquals(1, destroyed.size());
+        assertSame(transportClient, destroyed.get(0));
+    }
+}
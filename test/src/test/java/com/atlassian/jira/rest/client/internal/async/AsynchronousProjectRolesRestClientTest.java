@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.domain.ProjectRole;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class AsynchronousProjectRolesRestClientTest {
+
+    private static final URI SERVER = URI.create("http://localhost/");
+    private static final URI PROJECT = URI.create("http://localhost/rest/api/2/project/TST");
+    private static final String ROLES = "{\"Users\": \"http://localhost/rest/api/2/project/TST/role/10000\","
+            + " \"Developers\": \"http://localhost/rest/api/2/project/TST/role/10001\","
+            + " \"Administrators\": \"http://localhost/rest/api/2/project/TST/role/10002\"}";
+
+    private static final Map<String, String> NAMES = ImmutableMap.of(
+            "/rest/api/2/project/TST/role/10000", "Users",
+            "/rest/api/2/project/TST/role/10001", "Developers",
+            "/rest/api/2/project/TST/role/10002", "Administrators");
+
+    private final Map<String, CompletableFuture<Response>> roleResponses = new ConcurrentHashMap<>();
+    private final FakeHttpClient httpClient = new FakeHttpClient(request -> {
+        final String path = request.getUri().getPath();
+        if (path.endsWith("/role")) {
+            return FakeHttpClient.ok(ROLES);
+        }
+        return Promises.forCompletionStage(roleResponses.computeIfAbsent(path, p -> new CompletableFuture<>()));
+    });
+    private final AsynchronousProjectRolesRestClient client = new AsynchronousProjectRolesRestClient(SERVER, httpClient);
+
+    @Test
+    public void testRolesAreRequestedAtOnceAndKeepOrder() {
+        final Promise<Iterable<ProjectRole>> roles = client.getRoles(PROJECT);
+
+        assertEquals(4, httpClient.requests.size());
+        // answered in reverse order
+        respond(10002, "Administrators");
+        respond(10001, "Developers");
+        assertFalse(roles.isDone());
+        respond(10000, "Users");
+
+        final List<String> names = Lists.newArrayList(roles.claim()).stream().map(ProjectRole::getName)
+                .collect(Collectors.toList());
+        // in the order of the role list, whatever the order of the responses
+        final List<String> requested = httpClient.requests.subList(1, 4).stream()
+                .map(request -> NAMES.get(request.getUri().getPath())).collect(Collectors.toList());
+        assertEquals(requested, names);
+    }
+
+    @Test
+    public void testFailedRoleFailsAll() {
+        final Promise<Iterable<ProjectRole>> roles = client.getRoles(PROJECT);
+
+        respond(10000, "Users");
+        roleResponses.get("/rest/api/2/project/TST/role/10001").complete(FakeHttpClient.response(500, "{}"));
+        respond(10002, "Administrators");
+
+        try {
+            roles.claim();
+            fail("a failed role should fail the whole call");
+        } catch (RuntimeException expected) {
+            // reported to the caller
+        }
+    }
+
+    private void respond(final long id, final String name) {
+        final String self = "http://localhost/rest/api/2/project/TST/role/" + id;
+        roleResponses.get(URI.create(self).getPath()).complete(FakeHttpClient.response(200, "{\"self\": \"" + self
+                + "\", \"id\": " + id + ", \"name\": \"" + name + "\", \"description\": \"\", \"actors\": []}"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultResponse;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AsynchronousVersionRestClientTest {
+
+    private static final URI SERVER = URI.create("http://localhost/rest/api/2");
+    private static final URI VERSION = URI.create("http://localhost/rest/api/2/version/10000");
+    private static final String ETAG = "\"1\"";
+
+    private final FakeHttpClient httpClient = new FakeHttpClient(request -> ETAG.equals(request.getHeader("If-None-Match"))
+            ? Promises.promise(FakeHttpClient.response(304, ""))
+            : Promises.promise(withEtag(ResourceUtil.getStringFromResource("/json/version/valid.json"))));
+    private final AsynchronousVersionRestClient client = new AsynchronousVersionRestClient(SERVER,
+            httpClient.decorated(null, new JiraRestClientOptionsBuilder().setResponseCacheMaxBytes(1 << 20).build()));
+
+    @Test
+    public void testRepeatedGetIsAnsweredFromCache() {
+        final Version first = client.getVersion(VERSION).claim();
+        final Version second = client.getVersion(VERSION).claim();
+
+        assertSame(first, second);
+        assertEquals(2, httpClient.requests.size());
+        assertNull(httpClient.requests.get(0).getHeader("If-None-Match"));
+        assertEquals(ETAG, httpClient.requests.get(1).getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void testRepeatedIssueCountIsAnsweredFromCache() {
+        final FakeHttpClient countClient = new FakeHttpClient(request -> ETAG.equals(request.getHeader("If-None-Match"))
+                ? Promises.promise(FakeHttpClient.response(304, ""))
+                : Promises.promise(withEtag("{\"issuesUnresolvedCount\": 7}")));
+        final AsynchronousVersionRestClient countingClient = new AsynchronousVersionRestClient(SERVER,
+                countClient.decorated(null, new JiraRestClientOptionsBuilder().setResponseCacheMaxBytes(1 << 20).build()));
+
+        assertEquals(Integer.valueOf(7), countingClient.getNumUnresolvedIssues(VERSION).claim());
+        assertEquals(Integer.valueOf(7), countingClient.getNumUnresolvedIssues(VERSION).claim());
+        assertEquals(2, countClient.requests.size());
+        assertEquals(ETAG, countClient.requests.get(1).getHeader("If-None-Match"));
+    }
+
+    private static Response withEtag(final String json) {
+        return DefaultResponse.builder()
+                .setMaxEntitySize(new HttpClientOptions().getMaxEntitySize())
+                .setStatusCode(200)
+                .setStatusText("")
+                .setHeader("Content-Type", "application/json")
+                .setHeader("ETag", ETAG)
+                .setEntityStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.RenewableAuthenticationHandler;
+import com.atlassian.jira.rest.client.api.RequestInterceptor;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AtlassianHttpClientDecoratorTest {
+
+    private static final String ISSUE_URI = "http://localhost/rest/api/2/issue";
+    private static final String ISSUE = "{\"fields\": {\"summary\": \"Renewed\"}}";
+
+    private final TokenHandler handler = new TokenHandler();
+    private final AtomicInteger configured = new AtomicInteger();
+    private final FakeHttpClient httpClient = new FakeHttpClient(request -> Promises.promise(FakeHttpClient.response(
+            handler.valid.equals(request.getHeader("Authorization")) ? 201 : 401, "{}")));
+    private final AtlassianHttpClientDecorator client = httpClient.decorated(handler, new JiraRestClientOptionsBuilder()
+            .addInterceptor(new RequestInterceptor() {
+                @Override
+                public void configure(Request.Builder builder) {
+                    builder.setHeader("X-Configured", Integer.toString(configured.incrementAndGet()));
+                }
+            })
+            .build());
+
+    @Test
+    public void testRejectedRequestIsResentWithRenewedCredentials() {
+        handler.current = "Bearer expired";
+
+        final Response response = client.newRequest(ISSUE_URI, "application/json", ISSUE).post().claim();
+
+        assertEquals(201, response.getStatusCode());
+        assertEquals(1, handler.renewals.get());
+        assertEquals(2, httpClient.requests.size());
+        final Request resent = httpClient.requests.get(1);
+        assertEquals("Bearer valid", resent.getHeader("Authorization"));
+        assertEquals(Request.Method.POST, resent.getMethod());
+        assertEquals("application/json", resent.getContentType());
+        assertEquals(ISSUE, resent.getEntity());
+        // the builder is configured once, the resent request is a copy
+        assertEquals(1, configured.get());
+        assertEquals("1", resent.getHeader("X-Configured"));
+    }
+
+    @Test
+    public void testNonRewindableEntityIsNotResent() {
+        handler.current = "Bearer expired";
+        final ByteArrayInputStream entity = new ByteArrayInputStream(ISSUE.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+
+        final Response response = client.newRequest(ISSUE_URI).setContentType("application/json").setEntityStream(entity)
+                .post().claim();
+
+        assertEquals(401, response.getStatusCode());
+        assertEquals(1, httpClient.requests.size());
+        assertEquals(0, handler.renewals.get());
+    }
+
+    @Test
+    public void testFirstRequestObtainsCredentials() {
+        final Response response = client.newRequest(ISSUE_URI, "application/json", ISSUE).post().claim();
+
+        assertEquals(201, response.getStatusCode());
+        assertEquals(1, handler.renewals.get());
+        assertEquals(1, httpClient.requests.size());
+        assertEquals("Bearer valid", httpClient.requests.get(0).getHeader("Authorization"));
+    }
+
+    /**
+     * Renews to the one valid token.
+     */
+    private static class TokenHandler implements RenewableAuthenticationHandler<String> {
+        private final String valid = "Bearer valid";
+        private final AtomicInteger renewals = new AtomicInteger();
+        private volatile String current;
+
+        @Nullable
+        @Override
+        public String getCredentials() {
+            return current;
+        }
+
+        @Override
+        public void configure(Request.Builder builder, String credentials) {
+            builder.setHeader("Authorization", credentials);
+        }
+
+        @Override
+        public Promise<String> renew(HttpClient httpClient, @Nullable String rejected) {
+            renewals.incrementAndGet();
+            current = valid;
+            return Promises.promise(valid);
+        }
+    }
+}
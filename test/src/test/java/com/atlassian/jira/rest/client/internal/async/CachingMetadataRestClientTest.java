@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataCacheSettings;
+import com.atlassian.jira.rest.client.api.MetadataCacheSettingsBuilder;
+import com.atlassian.jira.rest.client.api.MetadataIndex;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingMetadataRestClientTest {
+
+    private static final IssueType BUG = issueType(1L, "Bug");
+    private static final IssueType TASK = issueType(3L, "Task");
+    private static final IssueType IMPROVEMENT = issueType(4L, "Improvement");
+
+    private final FakeMetadataRestClient delegate = new FakeMetadataRestClient();
+    private final FakeTicker ticker = new FakeTicker();
+    private final MetadataCacheSettings settings = new MetadataCacheSettingsBuilder()
+            .setDefaultTimeToLive(Duration.ofMinutes(10))
+            .setRefreshAheadFactor(0.5)
+            .build();
+    private final CachingMetadataRestClient client = new CachingMetadataRestClient(delegate, settings, ticker);
+
+    @Test
+    public void testIndexesCachedList() {
+        final Promise<MetadataIndex<IssueType>> index = client.getIssueTypeIndex();
+        final Promise<Iterable<IssueType>> issueTypes = client.getIssueTypes();
+        assertEquals(1, delegate.issueTypesRequests.size());
+
+        delegate.issueTypesRequests.get(0).complete(ImmutableList.of(BUG, TASK));
+        assertSame(BUG, index.claim().getById(1L));
+        assertSame(TASK, index.claim().getById("3"));
+        assertSame(TASK, index.claim().getByName("Task"));
+        assertNull(index.claim().getByName("Epic"));
+        assertEquals(ImmutableList.of(BUG, TASK), ImmutableList.copyOf(issueTypes.claim()));
+
+        assertSame(index.claim(), client.getIssueTypeIndex().claim());
+        assertEquals(1, delegate.issueTypesRequests.size());
+    }
+
+    @Test
+    public void testRefreshesAheadOfExpiryWithoutWaiting() {
+        client.getIssueTypeIndex();
+        delegate.issueTypesRequests.get(0).complete(ImmutableList.of(BUG));
+
+        ticker.advance(Duration.ofMinutes(6));
+        final Promise<MetadataIndex<IssueType>> stale = client.getIssueTypeIndex();
+        assertTrue(stale.isDone());
+        assertSame(BUG, stale.claim().getByName("Bug"));
+        assertEquals(2, delegate.issueTypesRequests.size());
+
+        // the refresh in progress is not started again
+        client.getIssueTypeIndex();
+        assertEquals(2, delegate.issueTypesRequests.size());
+
+        delegate.issueTypesRequests.get(1).complete(ImmutableList.of(BUG, IMPROVEMENT));
+        ticker.advance(Duration.ofMinutes(6));
+        final Promise<MetadataIndex<IssueType>> refreshed = client.getIssueTypeIndex();
+        assertTrue(refreshed.isDone());
+        assertSame(IMPROVEMENT, refreshed.claim().getByName("Improvement"));
+    }
+
+    @Test
+    public void testFailedRefreshKeepsCurrentValue() {
+        client.getIssueTypeIndex();
+        delegate.issueTypesRequests.get(0).complete(ImmutableList.of(BUG));
+
+        ticker.advance(Duration.ofMinutes(6));
+        client.getIssueTypeIndex();
+        delegate.issueTypesRequests.get(1).completeExceptionally(new IllegalStateException("down"));
+
+        assertSame(BUG, client.getIssueTypeIndex().claim().getByName("Bug"));
+        // a later read tries to refresh again
+        assertEquals(3, delegate.issueTypesRequests.size());
+    }
+
+    @Test
+    public void testReloadsAfterExpiry() {
+        client.getIssueTypeIndex();
+        delegate.issueTypesRequests.get(0).complete(ImmutableList.of(BUG));
+
+        ticker.advance(Duration.ofMinutes(11));
+        final Promise<MetadataIndex<IssueType>> reloaded = client.getIssueTypeIndex();
+        assertFalse(reloaded.isDone());
+        assertEquals(2, delegate.issueTypesRequests.size());
+
+        delegate.issueTypesRequests.get(1).complete(ImmutableList.of(TASK));
+        assertSame(TASK, reloaded.claim().getByName("Task"));
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        final Promise<MetadataIndex<IssueType>> failed = client.getIssueTypeIndex();
+        delegate.issueTypesRequests.get(0).completeExceptionally(new IllegalStateException("down"));
+        assertTrue(failed.isDone());
+
+        client.getIssueTypeIndex();
+        assertEquals(2, delegate.issueTypesRequests.size());
+    }
+
+    private static IssueType issueType(final long id, final String name) {
+        return new IssueType(URI.create("http://localhost:2990/jira/rest/api/2/issuetype/" + id), id, name, false, null, null);
+    }
+}
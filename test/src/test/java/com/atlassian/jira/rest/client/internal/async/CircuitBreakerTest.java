@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings.State;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettingsBuilder;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class CircuitBreakerTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final List<String> transitions = new ArrayList<>();
+    private final CircuitBreakerSettings settings = new CircuitBreakerSettingsBuilder()
+            .setWindowSize(10)
+            .setMinimumCalls(4)
+            .setFailureRateThreshold(0.5)
+            .setOpenDuration(Duration.ofSeconds(30))
+            .setHalfOpenProbes(2)
+            .addListener((endpoint, from, to) -> transitions.add(endpoint + ": " + from + " -> " + to))
+            .build();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("api/search", settings, ticker);
+
+    @Test
+    public void testStaysClosedBelowMinimumCalls() {
+        call(true);
+        call(true);
+        call(true);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testOpensAtFailureRate() {
+        call(false);
+        call(true);
+        call(false);
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        call(true);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+        assertEquals(ImmutableList.of("api/search: CLOSED -> OPEN"), transitions);
+    }
+
+    @Test
+    public void testOnlyRecentCallsCount() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+            call(false);
+            call(false);
+            call(false);
+            call(false);
+        }
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testClosesAfterSuccessfulProbes() {
+        open();
+        ticker.advance(Duration.ofSeconds(30));
+
+        final long probe1 = circuitBreaker.tryAcquire();
+        final long probe2 = circuitBreaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, probe1);
+        assertNotEquals(CircuitBreaker.REJECTED, probe2);
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+
+        circuitBreaker.onResult(probe1, false);
+        circuitBreaker.onResult(probe2, false);
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(ImmutableList.of("api/search: CLOSED -> OPEN", "api/search: OPEN -> HALF_OPEN",
+                "api/search: HALF_OPEN -> CLOSED"), transitions);
+    }
+
+    @Test
+    public void testReopensAfterFailedProbe() {
+        open();
+        ticker.advance(Duration.ofSeconds(30));
+
+        call(true);
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        ticker.advance(Duration.ofSeconds(29));
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testIgnoresOutcomesFromEarlierState() {
+        final long beforeOpening = circuitBreaker.tryAcquire();
+        open();
+        ticker.advance(Duration.ofSeconds(30));
+        final long probe = circuitBreaker.tryAcquire();
+
+        circuitBreaker.onResult(beforeOpening, true);
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onResult(probe, false);
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testReleasedProbeLetsAnotherOneThrough() {
+        open();
+        ticker.advance(Duration.ofSeconds(30));
+        final long probe1 = circuitBreaker.tryAcquire();
+        final long probe2 = circuitBreaker.tryAcquire();
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+
+        circuitBreaker.release(probe1);
+
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        final long probe3 = circuitBreaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, probe3);
+        circuitBreaker.onResult(probe2, false);
+        circuitBreaker.onResult(probe3, false);
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+    private void call(final boolean failed) {
+        final long permit = circuitBreaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, permit);
+        circuitBreaker.onResult(permit, failed);
+    }
+}
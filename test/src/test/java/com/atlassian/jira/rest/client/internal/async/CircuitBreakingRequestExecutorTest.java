@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.CircuitBreakerOpenException;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettings.State;
+import com.atlassian.jira.rest.client.api.CircuitBreakerSettingsBuilder;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakingRequestExecutorTest {
+
+    private static final String ISSUE_URI = "http://localhost/rest/api/2/issue/TST-1";
+    private static final CircuitBreakerSettings SETTINGS = new CircuitBreakerSettingsBuilder()
+            .setWindowSize(4)
+            .setMinimumCalls(2)
+            .setFailureRateThreshold(0.5)
+            .setSlowCallDuration(Duration.ofSeconds(5))
+            .setOpenDuration(Duration.ofSeconds(30))
+            .build();
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final AtomicInteger sent = new AtomicInteger();
+    private Supplier<Promise<Response>> responses = () -> Promises.promise(FakeHttpClient.response(200, "{}"));
+    private final CircuitBreakingRequestExecutor executor = new CircuitBreakingRequestExecutor(request -> {
+        sent.incrementAndGet();
+        return responses.get();
+    }, SETTINGS, ticker);
+
+    @Test
+    public void testServerErrorsAreFailures() {
+        responses = () -> Promises.promise(FakeHttpClient.response(503, "{}"));
+
+        call();
+        call();
+
+        assertEquals(State.OPEN, state());
+    }
+
+    @Test
+    public void testClientErrorsAreNotFailures() {
+        responses = () -> Promises.promise(FakeHttpClient.response(404, "{}"));
+
+        call();
+        call();
+
+        assertEquals(State.CLOSED, state());
+    }
+
+    @Test
+    public void testSlowCallsAreFailures() {
+        final CompletableFuture<Response> first = new CompletableFuture<>();
+        final CompletableFuture<Response> second = new CompletableFuture<>();
+        final CompletableFuture<Response>[] pending = new CompletableFuture[]{first, second};
+        final AtomicInteger next = new AtomicInteger();
+        responses = () -> Promises.forCompletionStage(pending[next.getAndIncrement()]);
+        call();
+        call();
+
+        ticker.advance(Duration.ofSeconds(6));
+        first.complete(FakeHttpClient.response(200, "{}"));
+        second.complete(FakeHttpClient.response(200, "{}"));
+
+        assertEquals(State.OPEN, state());
+    }
+
+    @Test
+    public void testWaitBeforeSendingIsNotSlow() {
+        final SendTimes sendTimes = new SendTimes(ticker);
+        final RequestExecutor send = sendTimes.recording(request -> Promises.promise(FakeHttpClient.response(200, "{}")));
+        // waits for a slot of the concurrency limit, say, before sending
+        final CircuitBreakingRequestExecutor queueing = new CircuitBreakingRequestExecutor(request -> {
+            ticker.advance(Duration.ofSeconds(10));
+            return send.execute(request);
+        }, SETTINGS, ticker, sendTimes);
+
+        queueing.execute(FakeHttpClient.request(ISSUE_URI));
+        queueing.execute(FakeHttpClient.request(ISSUE_URI));
+
+        assertEquals(State.CLOSED, queueing.getCircuitBreaker("api/issue").getState());
+    }
+
+    @Test
+    public void testCancelledCallsAreNotFailures() {
+        final List<CompletableFuture<Response>> pending = new ArrayList<>();
+        responses = () -> {
+            final CompletableFuture<Response> response = new CompletableFuture<>();
+            pending.add(response);
+            return Promises.forCompletionStage(response);
+        };
+
+        executor.execute(FakeHttpClient.request(ISSUE_URI)).cancel(true);
+        executor.execute(FakeHttpClient.request(ISSUE_URI)).cancel(true);
+
+        assertTrue(pending.stream().allMatch(CompletableFuture::isCancelled));
+        assertEquals(State.CLOSED, state());
+    }
+
+    @Test
+    public void testOpenCircuitFailsFastWithoutSending() {
+        responses = () -> Promises.rejected(new IllegalStateException("connection refused"));
+        call();
+        call();
+        assertEquals(2, sent.get());
+
+        final Promise<Response> rejected = executor.execute(FakeHttpClient.request(ISSUE_URI));
+
+        assertEquals(2, sent.get());
+        try {
+            rejected.claim();
+            fail("open circuit breaker should reject the request");
+        } catch (CircuitBreakerOpenException e) {
+            assertEquals("api/issue", e.getEndpoint());
+        }
+    }
+
+    @Test
+    public void testDelegatingPromiseKeepsExceptionType() {
+        responses = () -> Promises.promise(FakeHttpClient.response(500, "{}"));
+        call();
+        call();
+
+        try {
+            new DelegatingPromise<>(executor.execute(FakeHttpClient.request(ISSUE_URI))).claim();
+            fail("open circuit breaker should reject the request");
+        } catch (CircuitBreakerOpenException e) {
+            // rethrown with the original one as the cause, for the stack trace of the caller
+            assertEquals("api/issue", e.getEndpoint());
+            assertSame(CircuitBreakerOpenException.class, e.getCause().getClass());
+        }
+    }
+
+    private void call() {
+        executor.execute(FakeHttpClient.request(ISSUE_URI));
+    }
+
+    private State state() {
+        return executor.getCircuitBreaker("api/issue").getState();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitSettingsBuilder;
+import com.atlassian.jira.rest.client.api.metrics.NoOpMetricsRecorder;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrencyLimitingRequestExecutorTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("jira-rest-client-1",
+            new ConcurrencyLimitSettingsBuilder()
+                    .setInitialLimit(2)
+                    .setMinLimit(1)
+                    .setMaxLimit(2)
+                    .build(), NoOpMetricsRecorder.INSTANCE, ticker);
+    private final List<Request> sent = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<Response>> inFlight = new CopyOnWriteArrayList<>();
+    private final ConcurrencyLimitingRequestExecutor executor = new ConcurrencyLimitingRequestExecutor(request -> {
+        sent.add(request);
+        final CompletableFuture<Response> response = new CompletableFuture<>();
+        inFlight.add(response);
+        return Promises.forCompletionStage(response);
+    }, limit, ticker);
+
+    @Test
+    public void testQueuesAboveLimitAndSendsInOrder() {
+        final List<Request> requests = requests(4);
+        final List<Promise<Response>> results = requests.stream().map(executor::execute).collect(Collectors.toList());
+
+        assertEquals(requests.subList(0, 2), sent);
+
+        inFlight.get(1).complete(FakeHttpClient.response(200, "{}"));
+        assertEquals(requests.subList(0, 3), sent);
+        assertTrue(results.get(1).isDone());
+        assertFalse(results.get(2).isDone());
+
+        inFlight.get(0).complete(FakeHttpClient.response(200, "{}"));
+        assertEquals(requests, sent);
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    public void testSynchronousResponsesDrainWholeQueue() {
+        final List<Request> requests = requests(10000);
+        final ConcurrencyLimitingRequestExecutor synchronous = new ConcurrencyLimitingRequestExecutor(request -> {
+            sent.add(request);
+            return Promises.promise(FakeHttpClient.response(200, "{}"));
+        }, limit, ticker);
+
+        final List<Promise<Response>> results = requests.stream().map(synchronous::execute).collect(Collectors.toList());
+
+        assertEquals(requests, sent);
+        assertTrue(results.stream().allMatch(Promise::isDone));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testCancelledWaitingRequestIsNotSent() {
+        final List<Request> requests = requests(4);
+        final List<Promise<Response>> results = requests.stream().map(executor::execute).collect(Collectors.toList());
+
+        results.get(2).cancel(true);
+        inFlight.get(0).complete(FakeHttpClient.response(200, "{}"));
+
+        assertEquals(requests.subList(0, 2), sent.subList(0, 2));
+        assertEquals(requests.get(3), sent.get(2));
+        assertEquals(3, sent.size());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    public void testCancelInFlightCancelsRequestAndFreesSlot() {
+        final List<Request> requests = requests(3);
+        final List<Promise<Response>> results = requests.stream().map(executor::execute).collect(Collectors.toList());
+
+        results.get(0).cancel(true);
+
+        assertTrue(inFlight.get(0).isCancelled());
+        assertEquals(requests, sent);
+        // cancelling says nothing about the server, the limit stays
+        assertEquals(2, limit.getLimit());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    private static List<Request> requests(final int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> FakeHttpClient.request("http://localhost/rest/api/2/issue/TST-" + i))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+
+public class EndpointsTest {
+
+    @Test
+    public void testOf() {
+        assertEquals("api/search", Endpoints.of(URI.create("http://localhost:2990/jira/rest/api/latest/search?jql=x")));
+        assertEquals("api/issue", Endpoints.of(URI.create("http://localhost:2990/jira/rest/api/2/issue/TST-1/transitions")));
+        assertEquals("auth/session", Endpoints.of(URI.create("http://localhost:2990/jira/rest/auth/1/session")));
+        assertEquals("api/latest", Endpoints.of(URI.create("http://localhost:2990/rest/api/latest")));
+        assertEquals("secure", Endpoints.of(URI.create("http://localhost:2990/secure/Dashboard.jspa")));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
+import com.atlassian.httpclient.apache.httpcomponents.DefaultResponse;
+import com.atlassian.httpclient.api.DefaultResponseTransformation;
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
+import com.atlassian.httpclient.api.ResponseTransformation;
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP client answering the requests with given function, recording them.
+ */
+class FakeHttpClient implements HttpClient {
+
+    private static final long MAX_ENTITY_SIZE = new HttpClientOptions().getMaxEntitySize();
+
+    final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final Function<Request, Promise<Response>> handler;
+
+    FakeHttpClient(final Function<Request, Promise<Response>> handler) {
+        this.handler = handler;
+    }
+
+    static Response response(final int statusCode, final String json) {
+        return DefaultResponse.builder()
+                .setMaxEntitySize(MAX_ENTITY_SIZE)
+                .setStatusCode(statusCode)
+                .setStatusText("")
+                .setHeader("Content-Type", "application/json")
+                .setEntityStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    /**
+     * @return GET request of given URI, as built by a request builder
+     */
+    static Request request(final String uri) {
+        final FakeHttpClient capturing = new FakeHttpClient(request -> Promises.promise(null));
+        capturing.newRequest(uri).get();
+        return capturing.requests.get(0);
+    }
+
+    static Promise<Response> ok(final String json) {
+        return Promises.promise(response(200, json));
+    }
+
+    /**
+     * @return this client decorated as by the client factory, with given authentication and options
+     */
+    AtlassianHttpClientDecorator decorated(@Nullable final AuthenticationHandler authenticationHandler,
+                                           final JiraRestClientOptions options) {
+        return new AtlassianHttpClientDecorator(this, authenticationHandler, options) {
+            @Override
+            public void destroy() {
+            }
+        };
+    }
+
+    @Override
+    public ResponsePromise execute(final Request request) {
+        requests.add(request);
+        Promise<Response> response;
+        try {
+            response = handler.apply(request);
+        } catch (RuntimeException e) {
+            response = Promises.rejected(e);
+        }
+        return ResponsePromises.toResponsePromise(response);
+    }
+
+    @Override
+    public Request.Builder newRequest() {
+        return new DefaultRequest.DefaultRequestBuilder(this);
+    }
+
+    @Override
+    public Request.Builder newRequest(URI uri) {
+        return newRequest().setUri(uri);
+    }
+
+    @Override
+    public Request.Builder newRequest(URI uri, String contentType, String entity) {
+        return newRequest(uri).setContentType(contentType).setEntity(entity);
+    }
+
+    @Override
+    public Request.Builder newRequest(String uri) {
+        return newRequest(URI.create(uri));
+    }
+
+    @Override
+    public Request.Builder newRequest(String uri, String contentType, String entity) {
+        return newRequest(URI.create(uri), contentType, entity);
+    }
+
+    @Override
+    public void flushCacheByUriPattern(Pattern urlPattern) {
+    }
+
+    @Override
+    public <A> ResponseTransformation.Builder<A> transformation() {
+        return DefaultResponseTransformation.builder();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.Field;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.IssuelinksType;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Metadata client answering with promises completed by the test, recording how many requests were made.
+ */
+class FakeMetadataRestClient implements MetadataRestClient {
+
+    final List<CompletableFuture<ServerInfo>> serverInfoRequests = new ArrayList<>();
+    final List<CompletableFuture<Iterable<IssueType>>> issueTypesRequests = new ArrayList<>();
+
+    @Override
+    public synchronized Promise<ServerInfo> getServerInfo() {
+        final CompletableFuture<ServerInfo> request = new CompletableFuture<>();
+        serverInfoRequests.add(request);
+        return Promises.forCompletionStage(request);
+    }
+
+    @Override
+    public Promise<IssueType> getIssueType(URI uri) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public synchronized Promise<Iterable<IssueType>> getIssueTypes() {
+        final CompletableFuture<Iterable<IssueType>> request = new CompletableFuture<>();
+        issueTypesRequests.add(request);
+        return Promises.forCompletionStage(request);
+    }
+
+    @Override
+    public Promise<Iterable<IssuelinksType>> getIssueLinkTypes() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Status> getStatus(URI uri) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Iterable<Status>> getStatuses() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Priority> getPriority(URI uri) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Iterable<Priority>> getPriorities() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Resolution> getResolution(URI uri) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Iterable<Resolution>> getResolutions() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Iterable<Field>> getFields() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Ticker moved forward by the test only.
+ */
+class FakeTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public synchronized long read() {
+        return nanos;
+    }
+
+    synchronized void advance(final Duration duration) {
+        nanos += duration.toNanos();
+    }
+}
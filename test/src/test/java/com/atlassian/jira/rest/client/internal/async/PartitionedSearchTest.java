@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionedSearchTest {
+
+    @Test
+    public void testSplitCoversRangeWithoutOverlaps() {
+        final List<long[]> slices = PartitionedSearch.split(10, 109, 4);
+
+        assertEquals(4, slices.size());
+        assertArrayEquals(new long[]{10, 35}, slices.get(0));
+        assertArrayEquals(new long[]{35, 60}, slices.get(1));
+        assertArrayEquals(new long[]{60, 85}, slices.get(2));
+        assertArrayEquals(new long[]{85, 110}, slices.get(3));
+    }
+
+    @Test
+    public void testSplitNarrowRange() {
+        final List<long[]> slices = PartitionedSearch.split(7, 8, 16);
+
+        assertEquals(2, slices.size());
+        assertArrayEquals(new long[]{7, 8}, slices.get(0));
+        assertArrayEquals(new long[]{8, 9}, slices.get(1));
+    }
+
+    @Test
+    public void testSliceJql() {
+        assertEquals("(project = TST) AND id > 1 AND id < 5 ORDER BY id ASC", PartitionedSearch.sliceJql("project = TST", 1, 5));
+        assertEquals("id > 1 AND id < 5 ORDER BY id ASC", PartitionedSearch.sliceJql("", 1, 5));
+    }
+
+    @Test
+    public void testStripOrderBy() {
+        assertEquals("project = TST", PartitionedSearch.stripOrderBy("project = TST order by created DESC"));
+        assertEquals("summary ~ \"sort order by date\"", PartitionedSearch.stripOrderBy("summary ~ \"sort order by date\""));
+        assertEquals("summary ~ 'it\\'s order by' AND reorder = 1",
+                PartitionedSearch.stripOrderBy("summary ~ 'it\\'s order by' AND reorder = 1 ORDER BY id"));
+        assertEquals("", PartitionedSearch.stripOrderBy("ORDER BY key"));
+    }
+
+    @Test
+    public void testReturnsEveryIssueOnce() {
+        final List<Long> ids = LongStream.range(0, 500).map(i -> 10000 + i * i % 997).distinct().sorted().boxed()
+                .collect(Collectors.toList());
+        final IdRangeSearchRestClient client = new IdRangeSearchRestClient(ids);
+
+        final List<Long> found;
+        try (Stream<Issue> issues = new PartitionedSearch(client, "project = TST ORDER BY created", 7, 3, null).stream()) {
+            found = issues.map(BasicIssue::getId).sorted().collect(Collectors.toList());
+        }
+
+        assertEquals(ids, found);
+        assertTrue(client.jqls.stream().allMatch(jql -> jql.startsWith("(project = TST) AND id") || jql.startsWith("project = TST ORDER BY id")));
+        assertEquals(Collections.singleton(0), new HashSet<>(client.startAts));
+    }
+
+    @Test
+    public void testIssuesDeletedWhilePagingDoNotShiftPages() {
+        final List<Long> ids = LongStream.range(0, 100).boxed().collect(Collectors.toList());
+        final IdRangeSearchRestClient client = new IdRangeSearchRestClient(new ArrayList<>(ids));
+        client.afterSearch = () -> {
+            // once the first page of the first slice is fetched, its issues are deleted
+            if (client.jqls.size() == 3) {
+                client.ids.removeAll(LongStream.range(0, 10).boxed().collect(Collectors.toList()));
+            }
+        };
+
+        final List<Long> found = new PartitionedSearch(client, null, 10, 1, null).stream()
+                .map(BasicIssue::getId).collect(Collectors.toList());
+
+        assertEquals(ids, found);
+    }
+
+    @Test
+    public void testCloseCancelsPagesInFlight() {
+        final IdRangeSearchRestClient client = new IdRangeSearchRestClient(
+                LongStream.range(0, 100).boxed().collect(Collectors.toList()));
+        final List<Promise<SearchResult>> slicePages = new CopyOnWriteArrayList<>();
+        client.slicePage = page -> {
+            final Promise<SearchResult> pending = Promises.forCompletionStage(new CompletableFuture<>());
+            slicePages.add(pending);
+            return pending;
+        };
+        final PartitionedSearch search = new PartitionedSearch(client, null, 10, 2, null);
+        final Iterator<Issue> iterator = search.iterator();
+        new Thread(() -> {
+            while (slicePages.size() < 2) {
+                Thread.yield();
+            }
+            search.close();
+        }).start();
+
+        assertFalse(iterator.hasNext());
+        assertEquals(2, slicePages.size());
+        assertTrue(slicePages.stream().allMatch(Promise::isCancelled));
+    }
+
+    @Test
+    public void testEmptyResult() {
+        final IdRangeSearchRestClient client = new IdRangeSearchRestClient(new ArrayList<>());
+
+        assertEquals(0, new PartitionedSearch(client, null, 10, 2, null).stream().count());
+    }
+
+    /**
+     * Understands only the JQL generated by {@link PartitionedSearch}.
+     */
+    private static class IdRangeSearchRestClient extends SearchPagerTest.FakeSearchRestClient {
+        private static final Pattern RANGE = Pattern.compile(".*id > (-?\\d+) AND id < (\\d+) ORDER BY id ASC");
+        private final List<Long> ids;
+        private final List<String> jqls = new ArrayList<>();
+        private final List<Integer> startAts = new ArrayList<>();
+        private Runnable afterSearch = () -> {
+        };
+        private Function<Promise<SearchResult>, Promise<SearchResult>> slicePage = Function.identity();
+
+        IdRangeSearchRestClient(List<Long> ids) {
+            super(ids.size(), 100);
+            this.ids = ids;
+        }
+
+        @Override
+        public synchronized Promise<SearchResult> searchJql(@Nullable String jql, @Nullable Integer maxResults, @Nullable Integer startAt,
+                                                            @Nullable Set<String> fields) {
+            jqls.add(jql);
+            final List<Long> matching;
+            final boolean slice;
+            final Matcher range = RANGE.matcher(jql);
+            if (range.matches()) {
+                final long from = Long.parseLong(range.group(1));
+                final long to = Long.parseLong(range.group(2));
+                matching = ids.stream().filter(id -> id > from && id < to).collect(Collectors.toList());
+                startAts.add(startAt);
+                slice = true;
+            } else if (jql.endsWith("DESC")) {
+                matching = new ArrayList<>(ids);
+                Collections.reverse(matching);
+                slice = false;
+            } else {
+                matching = ids;
+                slice = false;
+            }
+            final int from = startAt != null ? startAt : 0;
+            final int pageSize = maxResults != null ? maxResults : 50;
+            final List<Issue> issues = matching.stream().skip(from).limit(pageSize).map(SearchPagerTest.FakeSearchRestClient::issue)
+                    .collect(Collectors.toList());
+            final Promise<SearchResult> res = Promises.promise(new SearchResult(from, pageSize, matching.size(), issues));
+            afterSearch.run();
+            return slice ? slicePage.apply(res) : res;
+        }
+    }
+}
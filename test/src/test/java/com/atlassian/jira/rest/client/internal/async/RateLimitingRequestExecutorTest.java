@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultResponse;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RateLimitSettings;
+import com.atlassian.jira.rest.client.api.RateLimitSettingsBuilder;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.atlassian.jira.rest.client.internal.async.RateLimitingRequestExecutor.RETRY_AFTER;
+import static com.atlassian.jira.rest.client.internal.async.RateLimitingRequestExecutor.parseRetryAfter;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimitingRequestExecutorTest {
+
+    private static final Instant NOW = Instant.parse("2020-03-10T12:00:00Z");
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+    private final List<Request> sent = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<Response>> inFlight = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testWaitsForTokenBeforeSending() {
+        final RateLimitingRequestExecutor executor = executor(new RateLimitSettingsBuilder()
+                .setPermitsPerSecond(0.1)
+                .build());
+
+        executor.execute(request(1));
+        final Promise<Response> second = executor.execute(request(2));
+
+        assertEquals(1, sent.size());
+        assertEquals(1, scheduler.getQueue().size());
+        final long delay = ((ScheduledFuture<?>) scheduler.getQueue().peek()).getDelay(TimeUnit.SECONDS);
+        assertTrue(delay + "s", delay >= 9 && delay <= 10);
+
+        runScheduled();
+
+        assertEquals(2, sent.size());
+        inFlight.get(1).complete(FakeHttpClient.response(200, "{}"));
+        assertEquals(200, second.claim().getStatusCode());
+    }
+
+    @Test
+    public void testResendsOnceRetryAfterIsOver() {
+        final Promise<Response> response = executor(new RateLimitSettingsBuilder().build()).execute(request(1));
+
+        inFlight.get(0).complete(throttled(429, "5"));
+
+        assertEquals(1, sent.size());
+        assertFalse(response.isDone());
+        final long delay = ((ScheduledFuture<?>) scheduler.getQueue().peek()).getDelay(TimeUnit.SECONDS);
+        assertTrue(delay + "s", delay >= 4 && delay <= 5);
+
+        runScheduled();
+
+        assertEquals(2, sent.size());
+        inFlight.get(1).complete(FakeHttpClient.response(200, "{}"));
+        assertEquals(200, response.claim().getStatusCode());
+    }
+
+    @Test
+    public void testServiceUnavailableWithoutRetryAfterIsPassedThrough() {
+        final Promise<Response> response = executor(new RateLimitSettingsBuilder().build()).execute(request(1));
+        final Response unavailable = FakeHttpClient.response(503, "{}");
+
+        inFlight.get(0).complete(unavailable);
+
+        assertTrue(response.isDone());
+        assertSame(unavailable, response.claim());
+        assertEquals(1, sent.size());
+        assertTrue(scheduler.getQueue().isEmpty());
+    }
+
+    @Test
+    public void testStopsResendingAfterMaxAttempts() {
+        final Promise<Response> response = executor(new RateLimitSettingsBuilder()
+                .setMaxAttempts(2)
+                .setDefaultRetryAfter(Duration.ZERO)
+                .build()).execute(request(1));
+
+        inFlight.get(0).complete(FakeHttpClient.response(429, "{}"));
+        assertEquals(2, sent.size());
+        inFlight.get(1).complete(FakeHttpClient.response(429, "{}"));
+
+        assertEquals(429, response.claim().getStatusCode());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testDoesNotWaitLongerThanMaxRetryAfter() {
+        final Promise<Response> response = executor(new RateLimitSettingsBuilder()
+                .setMaxRetryAfter(Duration.ofMinutes(1))
+                .build()).execute(request(1));
+
+        inFlight.get(0).complete(throttled(429, "120"));
+
+        assertEquals(429, response.claim().getStatusCode());
+        assertEquals(1, sent.size());
+        assertTrue(scheduler.getQueue().isEmpty());
+    }
+
+    @Test
+    public void testCancelStopsRequestWaitingForToken() {
+        final RateLimitingRequestExecutor executor = executor(new RateLimitSettingsBuilder()
+                .setPermitsPerSecond(0.1)
+                .build());
+        executor.execute(request(1));
+        final Promise<Response> second = executor.execute(request(2));
+        assertEquals(1, scheduler.getQueue().size());
+
+        second.cancel(true);
+
+        assertTrue(scheduler.getQueue().isEmpty());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testCancelStopsResend() {
+        final Promise<Response> response = executor(new RateLimitSettingsBuilder().build()).execute(request(1));
+        inFlight.get(0).complete(throttled(429, "5"));
+        assertEquals(1, scheduler.getQueue().size());
+
+        response.cancel(true);
+
+        assertTrue(scheduler.getQueue().isEmpty());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testCancelInFlightCancelsRequest() {
+        final Promise<Response> response = executor(new RateLimitSettingsBuilder().build()).execute(request(1));
+
+        response.cancel(true);
+
+        assertTrue(inFlight.get(0).isCancelled());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testParseRetryAfterSeconds() {
+        assertEquals(Duration.ofSeconds(120), parseRetryAfter("120", NOW));
+        assertEquals(Duration.ofSeconds(5), parseRetryAfter(" 5 ", NOW));
+        assertEquals(Duration.ZERO, parseRetryAfter("-1", NOW));
+    }
+
+    @Test
+    public void testParseRetryAfterDate() {
+        assertEquals(Duration.ofSeconds(90), parseRetryAfter("Tue, 10 Mar 2020 12:01:30 GMT", NOW));
+        assertEquals(Duration.ZERO, parseRetryAfter("Tue, 10 Mar 2020 11:59:00 GMT", NOW));
+    }
+
+    @Test
+    public void testParseMissingOrMalformedRetryAfter() {
+        assertNull(parseRetryAfter(null, NOW));
+        assertNull(parseRetryAfter("", NOW));
+        assertNull(parseRetryAfter("soon", NOW));
+    }
+
+    private RateLimitingRequestExecutor executor(final RateLimitSettings settings) {
+        return new RateLimitingRequestExecutor(request -> {
+            sent.add(request);
+            final CompletableFuture<Response> response = new CompletableFuture<>();
+            inFlight.add(response);
+            return Promises.forCompletionStage(response);
+        }, settings, scheduler, ticker);
+    }
+
+    /**
+     * Runs the first scheduled send now, as if its delay was over.
+     */
+    private void runScheduled() {
+        final BlockingQueue<Runnable> queue = scheduler.getQueue();
+        final Runnable task = queue.iterator().next();
+        assertTrue(queue.remove(task));
+        task.run();
+    }
+
+    private static Request request(final int id) {
+        return FakeHttpClient.request("http://localhost/rest/api/2/issue/TST-" + id);
+    }
+
+    private static Response throttled(final int statusCode, final String retryAfter) {
+        return DefaultResponse.builder()
+                .setMaxEntitySize(Long.MAX_VALUE)
+                .setStatusCode(statusCode)
+                .setStatusText("")
+                .setHeader(RETRY_AFTER, retryAfter)
+                .setEntityStream(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+}
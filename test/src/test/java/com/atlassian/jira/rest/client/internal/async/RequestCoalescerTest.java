@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
+import com.atlassian.jira.rest.client.internal.json.VersionJsonParser;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private static final URI URI_1 = URI.create("http://localhost:2990/jira/rest/api/2/issue/TST-1");
+    private static final URI URI_2 = URI.create("http://localhost:2990/jira/rest/api/2/issue/TST-2");
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final List<CompletableFuture<Response>> requests = new ArrayList<>();
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneRequest() {
+        final ResponsePromise first = coalescer.coalesce(URI_1, null, null, this::request);
+        final ResponsePromise second = coalescer.coalesce(URI_1, null, null, this::request);
+
+        assertEquals(1, requests.size());
+        assertFalse(second.isDone());
+
+        requests.get(0).complete(FakeHttpClient.response(200, "{\"key\": \"TST-1\"}"));
+        final Response firstResponse = first.claim();
+        final Response secondResponse = second.claim();
+        // each caller reads its own copy of the body
+        assertNotSame(firstResponse, secondResponse);
+        assertEquals("{\"key\": \"TST-1\"}", firstResponse.getEntity());
+        assertEquals("{\"key\": \"TST-1\"}", secondResponse.getEntity());
+        assertEquals("application/json", secondResponse.getHeader("Content-Type"));
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void testCompletedRequestIsNotReused() {
+        final ResponsePromise first = coalescer.coalesce(URI_1, null, null, this::request);
+        requests.get(0).complete(FakeHttpClient.response(200, "\"old\""));
+        assertEquals("\"old\"", first.claim().getEntity());
+
+        final ResponsePromise second = coalescer.coalesce(URI_1, null, null, this::request);
+        assertEquals(2, requests.size());
+        requests.get(1).complete(FakeHttpClient.response(200, "\"new\""));
+        assertEquals("\"new\"", second.claim().getEntity());
+    }
+
+    @Test
+    public void testDifferentUriOrValidatorsAreNotCoalesced() {
+        coalescer.coalesce(URI_1, null, null, this::request);
+        coalescer.coalesce(URI_2, null, null, this::request);
+        coalescer.coalesce(URI_1, "\"1\"", null, this::request);
+        coalescer.coalesce(URI_1, null, "Wed, 21 Oct 2015 07:28:00 GMT", this::request);
+
+        assertEquals(4, requests.size());
+        assertEquals(4, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void testFailureIsReportedToAllCallers() {
+        final ResponsePromise first = coalescer.coalesce(URI_1, null, null, this::request);
+        final ResponsePromise second = coalescer.coalesce(URI_1, null, null, this::request);
+        requests.get(0).completeExceptionally(new IllegalStateException("down"));
+
+        assertFailed(first);
+        assertFailed(second);
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    public void testCancellingOneCallerDoesNotCancelOthers() {
+        final ResponsePromise first = coalescer.coalesce(URI_1, null, null, this::request);
+        final ResponsePromise second = coalescer.coalesce(URI_1, null, null, this::request);
+
+        first.cancel(true);
+        requests.get(0).complete(FakeHttpClient.response(200, "{}"));
+        assertEquals(200, second.claim().getStatusCode());
+    }
+
+    @Test
+    public void testRequestsParsedByDifferentParserInstancesAreCoalesced() {
+        final CompletableFuture<Response> response = new CompletableFuture<>();
+        final FakeHttpClient httpClient = new FakeHttpClient(request -> Promises.forCompletionStage(response));
+        final VersionClient client = new VersionClient(
+                httpClient.decorated(null, new JiraRestClientOptionsBuilder().setCoalesceGetRequests(true).build()));
+        final URI version = URI.create("http://localhost/rest/api/2/version/10000");
+
+        final Promise<Version> first = client.getVersion(version);
+        final Promise<Version> second = client.getVersion(version);
+        response.complete(FakeHttpClient.response(200, ResourceUtil.getStringFromResource("/json/version/valid.json")));
+
+        assertEquals(1, httpClient.requests.size());
+        assertEquals(first.claim().getName(), second.claim().getName());
+    }
+
+    private ResponsePromise request() {
+        final CompletableFuture<Response> request = new CompletableFuture<>();
+        requests.add(request);
+        return ResponsePromises.toResponsePromise(Promises.forCompletionStage(request));
+    }
+
+    /**
+     * Creates a new parser on every call.
+     */
+    private static class VersionClient extends AbstractAsynchronousRestClient {
+        VersionClient(final HttpClient client) {
+            super(client);
+        }
+
+        Promise<Version> getVersion(final URI uri) {
+            return getAndParse(uri, new VersionJsonParser());
+        }
+    }
+
+    private static void assertFailed(final ResponsePromise promise) {
+        try {
+            promise.claim();
+            fail("request failure should be reported");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("down"));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RequestInterceptor;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+public class RequestInterceptorChainTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    private final RequestExecutor send = request -> {
+        calls.add("send");
+        return Promises.promise(null);
+    };
+
+    @Test
+    public void testInterceptorsAreCalledInOrder() {
+        final RequestExecutor executor = AtlassianHttpClientDecorator.intercept(
+                ImmutableList.of(new Recording("first"), new Recording("second")), send);
+
+        executor.execute(null).claim();
+
+        assertThat(calls, contains("first>", "second>", "send", "<second", "<first"));
+    }
+
+    @Test
+    public void testInterceptorMayCompleteWithoutProceeding() {
+        final RequestInterceptor failing = new RequestInterceptor() {
+            @Override
+            public Promise<Response> intercept(Request request, Chain chain) {
+                return Promises.rejected(new IllegalStateException("injected"));
+            }
+        };
+        final RequestExecutor executor = AtlassianHttpClientDecorator.intercept(
+                ImmutableList.of(new Recording("first"), failing), send);
+
+        executor.execute(null);
+
+        assertThat(calls, contains("first>", "<first"));
+    }
+
+    @Test
+    public void testNoInterceptors() {
+        assertThat(calls, empty());
+        AtlassianHttpClientDecorator.intercept(ImmutableList.of(), send).execute(null).claim();
+        assertThat(calls, contains("send"));
+    }
+
+    private class Recording implements RequestInterceptor {
+        private final String name;
+
+        Recording(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Promise<Response> intercept(Request request, Chain chain) {
+            calls.add(name + ">");
+            return chain.proceed(request).fail(e -> calls.add("<" + name)).done(r -> calls.add("<" + name));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptionsBuilder;
+import com.atlassian.jira.rest.client.api.metrics.MetricsRecorder;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestMetricsTest {
+
+    private static final String ISSUE_URI = "http://localhost/rest/api/2/issue/TST-1";
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final RecordingMetricsRecorder recorder = new RecordingMetricsRecorder();
+    private final RequestMetrics metrics = new RequestMetrics(recorder, ticker);
+
+    @Test
+    public void testQueueTimeIsMeasuredUntilFirstSend() {
+        final RequestExecutor send = request -> {
+            ticker.advance(Duration.ofMillis(100));
+            return Promises.promise(FakeHttpClient.response(200, "{}"));
+        };
+        final RequestExecutor inner = metrics.innermost(send);
+        // e.g. waiting for a rate limiting permit
+        final RequestExecutor queueing = request -> {
+            ticker.advance(Duration.ofMillis(40));
+            return inner.execute(request);
+        };
+
+        metrics.outermost(queueing).execute(FakeHttpClient.request(ISSUE_URI)).claim();
+
+        assertEquals(ImmutableList.of("started api/issue", "sent api/issue 40", "received api/issue GET 200 100",
+                "completed api/issue 140", "end 200"), recorder.events);
+    }
+
+    @Test
+    public void testEachAttemptIsMeasured() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final RequestExecutor send = request -> {
+            ticker.advance(Duration.ofMillis(10));
+            return Promises.promise(FakeHttpClient.response(attempts.incrementAndGet() == 1 ? 503 : 200, "{}"));
+        };
+        final RequestExecutor inner = metrics.innermost(send);
+        final RequestExecutor retryOnce = request -> inner.execute(request)
+                .flatMap(response -> response.getStatusCode() == 503 ? inner.execute(request) : Promises.promise(response));
+
+        metrics.outermost(retryOnce).execute(FakeHttpClient.request(ISSUE_URI)).claim();
+
+        // sent once from the pipeline's point of view, two attempts answered
+        assertEquals(ImmutableList.of("started api/issue", "sent api/issue 0", "received api/issue GET 503 10",
+                "received api/issue GET 200 10", "completed api/issue 20", "end 200"), recorder.events);
+    }
+
+    @Test
+    public void testFailedAttempt() {
+        final RequestExecutor send = request -> Promises.rejected(new IOException("connection reset"));
+
+        final Promise<Response> response = metrics.outermost(metrics.innermost(send)).execute(FakeHttpClient.request(ISSUE_URI));
+
+        assertTrue(response.isDone());
+        assertEquals(ImmutableList.of("started api/issue", "sent api/issue 0", "failed api/issue GET IOException 0",
+                "completed api/issue 0", "end 0"), recorder.events);
+    }
+
+    @Test
+    public void testRequestsInFlight() {
+        final CompletableFuture<Response> pending = new CompletableFuture<>();
+        final RequestExecutor executor = metrics.outermost(metrics.innermost(request -> Promises.forCompletionStage(pending)));
+
+        executor.execute(FakeHttpClient.request(ISSUE_URI));
+        assertEquals(1, recorder.inFlight.get());
+
+        pending.complete(FakeHttpClient.response(204, ""));
+        assertEquals(0, recorder.inFlight.get());
+    }
+
+    @Test
+    public void testRequestRejectedBeforeSending() {
+        // e.g. by an open circuit breaker
+        final RequestExecutor executor = metrics.outermost(request -> Promises.rejected(new IllegalStateException("open")));
+
+        executor.execute(FakeHttpClient.request(ISSUE_URI));
+
+        assertEquals(ImmutableList.of("started api/issue", "completed api/issue 0", "end 0"), recorder.events);
+        assertEquals(0, recorder.inFlight.get());
+    }
+
+    @Test
+    public void testParsingIsMeasured() {
+        final String role = "{\"self\": \"http://localhost/rest/api/2/project/TST/role/10000\", \"id\": 10000,"
+                + " \"name\": \"Users\", \"description\": \"\", \"actors\": []}";
+        final FakeHttpClient httpClient = new FakeHttpClient(request -> FakeHttpClient.ok(role));
+        final AsynchronousProjectRolesRestClient client = new AsynchronousProjectRolesRestClient(URI.create("http://localhost/"),
+                httpClient.decorated(null, new JiraRestClientOptionsBuilder().setMetricsRecorder(recorder).build()));
+
+        client.getRole(URI.create("http://localhost/rest/api/2/project/TST/role/10000")).claim();
+
+        final long bytes = role.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(recorder.events.toString(), recorder.events.contains("parsed api/project ProjectRoleJsonParser " + bytes));
+        assertTrue(recorder.events.toString(), recorder.events.contains("end parse " + bytes + " 1"));
+    }
+
+    /**
+     * Records measurements as strings, with durations in milliseconds.
+     */
+    private static class RecordingMetricsRecorder implements MetricsRecorder {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        @Override
+        public void requestStarted(String endpoint) {
+            inFlight.incrementAndGet();
+            events.add("started " + endpoint);
+        }
+
+        @Override
+        public void requestSent(String endpoint, long queueNanos) {
+            events.add("sent " + endpoint + " " + millis(queueNanos));
+        }
+
+        @Override
+        public void responseReceived(String endpoint, String method, int statusCode, long responseNanos) {
+            events.add("received " + endpoint + " " + method + " " + statusCode + " " + millis(responseNanos));
+        }
+
+        @Override
+        public void requestFailed(String endpoint, String method, Throwable failure, long failureNanos) {
+            events.add("failed " + endpoint + " " + method + " " + failure.getClass().getSimpleName() + " "
+                    + millis(failureNanos));
+        }
+
+        @Override
+        public void requestCompleted(String endpoint, long totalNanos) {
+            inFlight.decrementAndGet();
+            events.add("completed " + endpoint + " " + millis(totalNanos));
+        }
+
+        @Override
+        public void responseParsed(String endpoint, String parser, long bytes, long parseNanos) {
+            assertTrue(parseNanos >= 0);
+            events.add("parsed " + endpoint + " " + parser + " " + bytes);
+        }
+
+        @Override
+        public Object beginRequest(String endpoint, String method) {
+            return "request";
+        }
+
+        @Override
+        public void endRequest(Object context, int statusCode, long bytes) {
+            events.add("end " + statusCode);
+        }
+
+        @Nullable
+        @Override
+        public Object beginParse(String endpoint, String parser) {
+            return "parse";
+        }
+
+        @Override
+        public void endParse(Object context, long bytes, int elements) {
+            events.add("end parse " + bytes + " " + elements);
+        }
+
+        private static long millis(final long nanos) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ResponseCacheTest {
+
+    private static final URI ISSUE_1 = URI.create("http://localhost:2990/jira/rest/api/2/issue/TST-1");
+    private static final URI ISSUE_2 = URI.create("http://localhost:2990/jira/rest/api/2/issue/TST-2");
+    private static final URI PROJECTS = URI.create("http://localhost:2990/jira/rest/api/2/project");
+
+    private final Object parser = new Object();
+    private final ResponseCache cache = new ResponseCache(100);
+
+    @Test
+    public void testStoresValueWithValidators() {
+        final Object value = new Object();
+        cache.put(ISSUE_1, parser, "\"abc\"", "Wed, 21 Oct 2015 07:28:00 GMT", value, 10);
+
+        final ResponseCache.Entry entry = cache.get(ISSUE_1, parser);
+        assertNotNull(entry);
+        assertSame(value, entry.getValue());
+        assertEquals("\"abc\"", entry.getEtag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", entry.getLastModified());
+        assertEquals(10, cache.getSize());
+    }
+
+    @Test
+    public void testSkipsResponsesWithoutValidators() {
+        cache.put(ISSUE_1, parser, null, null, new Object(), 10);
+
+        assertNull(cache.get(ISSUE_1, parser));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testEntriesAreSeparatedByParser() {
+        cache.put(ISSUE_1, parser, "\"abc\"", null, new Object(), 10);
+
+        assertNull(cache.get(ISSUE_1, new Object()));
+    }
+
+    @Test
+    public void testReplacingEntryReleasesItsBytes() {
+        cache.put(ISSUE_1, parser, "\"abc\"", null, new Object(), 40);
+        cache.put(ISSUE_1, parser, "\"def\"", null, new Object(), 30);
+
+        assertEquals(30, cache.getSize());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals("\"def\"", cache.get(ISSUE_1, parser).getEtag());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedOverBudget() {
+        cache.put(ISSUE_1, parser, "\"1\"", null, new Object(), 40);
+        cache.put(ISSUE_2, parser, "\"2\"", null, new Object(), 40);
+        cache.get(ISSUE_1, parser);
+        cache.put(PROJECTS, parser, "\"3\"", null, new Object(), 40);
+
+        assertNotNull(cache.get(ISSUE_1, parser));
+        assertNull(cache.get(ISSUE_2, parser));
+        assertNotNull(cache.get(PROJECTS, parser));
+        assertEquals(80, cache.getSize());
+    }
+
+    @Test
+    public void testDoesNotStoreBodiesOverBudget() {
+        cache.put(ISSUE_1, parser, "\"1\"", null, new Object(), 40);
+        cache.put(ISSUE_2, parser, "\"2\"", null, new Object(), 101);
+
+        assertNull(cache.get(ISSUE_2, parser));
+        assertNotNull(cache.get(ISSUE_1, parser));
+    }
+
+    @Test
+    public void testFlushByUriPattern() {
+        cache.put(ISSUE_1, parser, "\"1\"", null, new Object(), 10);
+        cache.put(ISSUE_2, parser, "\"2\"", null, new Object(), 10);
+        cache.put(PROJECTS, parser, "\"3\"", null, new Object(), 10);
+
+        cache.flushByUriPattern(Pattern.compile(".*/issue/.*"));
+
+        assertNull(cache.get(ISSUE_1, parser));
+        assertNull(cache.get(ISSUE_2, parser));
+        assertNotNull(cache.get(PROJECTS, parser));
+        assertEquals(10, cache.getSize());
+    }
+}
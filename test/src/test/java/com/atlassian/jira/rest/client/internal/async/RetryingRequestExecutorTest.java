@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RateLimitSettingsBuilder;
+import com.atlassian.jira.rest.client.api.RetrySettingsBuilder;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RetryingRequestExecutorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final RetryingRequestExecutor executor = new RetryingRequestExecutor(request -> {
+        throw new UnsupportedOperationException();
+    }, new RetrySettingsBuilder()
+            .setInitialBackoff(Duration.ofMillis(100))
+            .setMaxBackoff(Duration.ofMillis(350))
+            .build(), RequestExecutors.DEFAULT_SCHEDULER);
+
+    @Test
+    public void testBackoffGrowsExponentiallyUpToMax() {
+        for (int i = 0; i < 1000; i++) {
+            assertBetween(0, 100 * MS, executor.backoffNanos(1));
+            assertBetween(0, 200 * MS, executor.backoffNanos(2));
+            assertBetween(0, 350 * MS, executor.backoffNanos(3));
+            assertBetween(0, 350 * MS, executor.backoffNanos(10));
+        }
+    }
+
+    @Test
+    public void testBackoffIsRandomized() {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            final long backoff = executor.backoffNanos(1);
+            min = Math.min(min, backoff);
+            max = Math.max(max, backoff);
+        }
+        assertTrue(max - min > 50 * MS);
+    }
+
+    @Test
+    public void testCancelStopsScheduledRetry() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        final AtomicInteger sent = new AtomicInteger();
+        final RetryingRequestExecutor retrying = new RetryingRequestExecutor(request -> {
+            sent.incrementAndGet();
+            return Promises.promise(FakeHttpClient.response(503, "{}"));
+        }, new RetrySettingsBuilder()
+                .setInitialBackoff(Duration.ofMinutes(10))
+                .setMaxBackoff(Duration.ofMinutes(10))
+                .build(), scheduler);
+        try {
+            final Promise<Response> response = retrying.execute(FakeHttpClient.request("http://localhost/rest/api/2/issue/1"));
+            assertEquals(1, scheduler.getQueue().size());
+
+            response.cancel(true);
+
+            assertTrue(scheduler.getQueue().isEmpty());
+            assertEquals(1, sent.get());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRetriesAndRateLimitResendsShareAttempts() {
+        final AtomicInteger sent = new AtomicInteger();
+        final RequestExecutor throttled = request -> {
+            sent.incrementAndGet();
+            return Promises.promise(FakeHttpClient.response(429, "{}"));
+        };
+        final CallAttempts callAttempts = new CallAttempts(5);
+        final RateLimitingRequestExecutor rateLimiting = new RateLimitingRequestExecutor(throttled,
+                new RateLimitSettingsBuilder().setMaxAttempts(5).setDefaultRetryAfter(Duration.ZERO).build(),
+                RequestExecutors.DEFAULT_SCHEDULER, Ticker.systemTicker(), callAttempts);
+        final RetryingRequestExecutor retrying = new RetryingRequestExecutor(rateLimiting, new RetrySettingsBuilder()
+                .setMaxAttempts(3)
+                .setInitialBackoff(Duration.ofMillis(1))
+                .setRetryableStatuses(ImmutableSet.of(429))
+                .build(), RequestExecutors.DEFAULT_SCHEDULER, callAttempts);
+
+        final Response response = retrying.execute(FakeHttpClient.request("http://localhost/rest/api/2/issue/1")).claim();
+
+        assertEquals(429, response.getStatusCode());
+        // not 3 retries of 5 attempts each
+        assertEquals(5, sent.get());
+    }
+
+    private static void assertBetween(final long min, final long max, final long actual) {
+        assertTrue(actual + " not in [" + min + ", " + max + "]", actual >= min && actual <= max);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SearchPagerTest {
+
+    @Test
+    public void testStreamReturnsAllIssuesInOrder() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(23, 100);
+
+        final List<Long> ids = new SearchPager(client, "project = TST", 5, 2, null).stream()
+                .map(BasicIssue::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(range(0, 23), ids);
+        assertEquals(ImmutableList.of(0, 5, 10, 15, 20), client.requestedStartAts);
+    }
+
+    @Test
+    public void testPrefetchIsBoundedByMaxBufferedPages() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(100, 100);
+        final Iterator<Issue> iterator = new SearchPager(client, null, 10, 3, null).iterator();
+
+        iterator.next();
+        // first page plus three prefetched ones
+        assertEquals(ImmutableList.of(0, 10, 20, 30), client.requestedStartAts);
+        for (int i = 1; i < 11; i++) {
+            iterator.next();
+        }
+        assertEquals(ImmutableList.of(0, 10, 20, 30, 40), client.requestedStartAts);
+    }
+
+    @Test
+    public void testFollowsPageSizeCappedByServer() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(25, 10);
+
+        final List<Long> ids = new SearchPager(client, null, 50, 1, null).stream()
+                .map(BasicIssue::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(range(0, 25), ids);
+        assertEquals(ImmutableList.of(0, 10, 20), client.requestedStartAts);
+    }
+
+    @Test
+    public void testStopsWhenResultShrinks() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(30, 100);
+        final Iterator<Issue> iterator = new SearchPager(client, null, 10, 1, null).iterator();
+        iterator.next();
+        client.total = 12;
+
+        int count = 1;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        // the already prefetched second page is still delivered, the empty third one ends the search
+        assertEquals(20, count);
+    }
+
+    @Test
+    public void testForEachPage() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(7, 100);
+        final List<Integer> startIndexes = new ArrayList<>();
+
+        final Promise<Void> done = new SearchPager(client, null, 3, 2, null).forEachPage(page -> {
+            startIndexes.add(page.getStartIndex());
+            return Promises.promise(null);
+        });
+
+        done.claim();
+        assertEquals(ImmutableList.of(0, 3, 6), startIndexes);
+    }
+
+    @Test
+    public void testForEachPageDoesNotRecurseOnCompletedPages() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(100000, 100);
+        final int[] pages = new int[1];
+
+        new SearchPager(client, null, 1, 4, null).forEachPage(page -> {
+            pages[0]++;
+            return Promises.promise(null);
+        }).claim();
+
+        assertEquals(100000, pages[0]);
+    }
+
+    @Test
+    public void testIteratorClosesOnFailedPage() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50, 100);
+        final SearchPager pager = new SearchPager(client, null, 10, 1, null);
+        final Iterator<Issue> iterator = pager.iterator();
+        iterator.next();
+        // pages 0 and 10 are already fetched, page 20 fails
+        client.failure = new IllegalStateException("boom");
+
+        for (int i = 1; i < 20; i++) {
+            iterator.next();
+        }
+        try {
+            iterator.next();
+            fail("page failure should fail the iteration");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("boom"));
+        }
+        assertNull(pager.nextPage());
+    }
+
+    @Test
+    public void testForEachPageStopsOnConsumerFailure() {
+        final FakeSearchRestClient client = new FakeSearchRestClient(30, 100);
+
+        final Promise<Void> done = new SearchPager(client, null, 10, 1, null).forEachPage(page ->
+                Promises.rejected(new IllegalStateException("stop")));
+
+        try {
+            done.claim();
+            fail("consumer failure should fail the search");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("stop"));
+        }
+        assertTrue(client.requestedStartAts.size() <= 2);
+    }
+
+    private static List<Long> range(int from, int to) {
+        return IntStream.range(from, to).mapToObj(Long::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * Search client returning issues with ids 0..total-1, already completed.
+     */
+    static class FakeSearchRestClient implements SearchRestClient {
+        final List<Integer> requestedStartAts = new ArrayList<>();
+        final int maxPageSize;
+        int total;
+        @Nullable
+        RuntimeException failure;
+
+        FakeSearchRestClient(int total, int maxPageSize) {
+            this.total = total;
+            this.maxPageSize = maxPageSize;
+        }
+
+        @Override
+        public Promise<SearchResult> searchJql(@Nullable String jql) {
+            return searchJql(jql, null, null, null);
+        }
+
+        @Override
+        public synchronized Promise<SearchResult> searchJql(@Nullable String jql, @Nullable Integer maxResults, @Nullable Integer startAt,
+                                                            @Nullable Set<String> fields) {
+            final int from = startAt != null ? startAt : 0;
+            final int pageSize = Math.min(maxResults != null ? maxResults : 50, maxPageSize);
+            requestedStartAts.add(from);
+            if (failure != null) {
+                return Promises.rejected(failure);
+            }
+            final List<Issue> issues = new ArrayList<>();
+            for (int i = from; i < Math.min(from + pageSize, total); i++) {
+                issues.add(issue(i));
+            }
+            return Promises.promise(new SearchResult(from, pageSize, total, issues));
+        }
+
+        static Issue issue(long id) {
+            return new Issue("summary", URI.create("http://localhost/issue/" + id), "TST-" + id, id, null, null, null,
+                    null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                    null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public Stream<Issue> searchJqlStream(@Nullable String jql, int pageSize, int maxBufferedPages, @Nullable Set<String> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Void> searchJqlPages(@Nullable String jql, int pageSize, int maxBufferedPages, @Nullable Set<String> fields,
+                                            Function<? super SearchResult, ? extends Promise<?>> pageConsumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<Issue> searchJqlPartitioned(@Nullable String jql, int pageSize, int parallelism, @Nullable Set<String> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Iterable<Filter>> getFavouriteFilters() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Filter> getFilter(URI filterUri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Filter> getFilter(long id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import io.atlassian.util.concurrent.Promise;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ServerInfoCacheTest {
+
+    private static final ServerInfo SERVER_INFO = new ServerInfo(URI.create("http://localhost:2990/jira"), "8.5.0", 805000,
+            new DateTime(), null, "scm", "JIRA");
+
+    private final FakeMetadataRestClient metadataRestClient = new FakeMetadataRestClient();
+    private final ServerInfoCache cache = new ServerInfoCache(metadataRestClient);
+
+    @Test
+    public void testConcurrentCallersShareOneRequestWithoutBlocking() {
+        final Promise<ServerInfo> first = cache.get();
+        final Promise<ServerInfo> second = cache.get();
+
+        assertFalse(first.isDone());
+        assertEquals(1, metadataRestClient.serverInfoRequests.size());
+
+        metadataRestClient.serverInfoRequests.get(0).complete(SERVER_INFO);
+        assertSame(SERVER_INFO, first.claim());
+        assertSame(SERVER_INFO, second.claim());
+        assertSame(SERVER_INFO, cache.get().claim());
+        assertEquals(1, metadataRestClient.serverInfoRequests.size());
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        final Promise<ServerInfo> failed = cache.get();
+        metadataRestClient.serverInfoRequests.get(0).completeExceptionally(new IllegalStateException("down"));
+        try {
+            failed.claim();
+            fail("server info request failure should be reported");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("down"));
+        }
+
+        final Promise<ServerInfo> retried = cache.get();
+        assertEquals(2, metadataRestClient.serverInfoRequests.size());
+        metadataRestClient.serverInfoRequests.get(1).complete(SERVER_INFO);
+        assertSame(SERVER_INFO, retried.claim());
+    }
+
+    @Test
+    public void testPrewarm() {
+        cache.prewarm();
+        assertEquals(1, metadataRestClient.serverInfoRequests.size());
+        cache.get();
+        assertEquals(1, metadataRestClient.serverInfoRequests.size());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.api.HttpTransport;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SharedHttpTransportTest {
+
+    private final List<HttpClient> created = new ArrayList<>();
+    private final List<HttpClient> destroyed = new ArrayList<>();
+
+    private final HttpTransport transport = new HttpTransport() {
+        @Override
+        public HttpClient createHttpClient(URI serverUri, JiraRestClientOptions options) {
+            final HttpClient httpClient = (HttpClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpClient.class}, (proxy, method, args) -> null);
+            created.add(httpClient);
+            return httpClient;
+        }
+
+        @Override
+        public void destroy(HttpClient httpClient) {
+            destroyed.add(httpClient);
+        }
+    };
+
+    @Test
+    public void testClientsShareOneHttpClient() throws Exception {
+        final SharedHttpTransport shared = new SharedHttpTransport(transport, JiraRestClientOptions.DEFAULT);
+        final AsynchronousHttpClientFactory factory = new AsynchronousHttpClientFactory(shared);
+
+        final DisposableHttpClient first = factory.createClient(URI.create("http://jira1.example.com"), null);
+        final DisposableHttpClient second = factory.createClient(URI.create("http://jira2.example.com"), null);
+        first.destroy();
+        second.destroy();
+
+        assertEquals(1, created.size());
+        assertEquals(0, destroyed.size());
+
+        shared.close();
+        shared.close();
+
+        assertEquals(1, destroyed.size());
+        assertSame(created.get(0), destroyed.get(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoClientsAfterClose() throws Exception {
+        final SharedHttpTransport shared = new SharedHttpTransport(transport, JiraRestClientOptions.DEFAULT);
+        shared.close();
+
+        shared.createHttpClient(URI.create("http://jira1.example.com"), JiraRestClientOptions.DEFAULT);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.async;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenBucketTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    public void testSpacesRequestsAtGivenRate() {
+        final TokenBucket bucket = new TokenBucket(10, 1, ticker);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(100 * MS, bucket.reserve());
+        assertEquals(200 * MS, bucket.reserve());
+
+        ticker.advance(Duration.ofMillis(250));
+        assertEquals(50 * MS, bucket.reserve());
+    }
+
+    @Test
+    public void testAllowsBurstAfterInactivity() {
+        final TokenBucket bucket = new TokenBucket(10, 3, ticker);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(100 * MS, bucket.reserve());
+
+        ticker.advance(Duration.ofSeconds(10));
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(100 * MS, bucket.reserve());
+    }
+
+    @Test
+    public void testPauseDelaysAllRequests() {
+        final TokenBucket bucket = new TokenBucket(Double.POSITIVE_INFINITY, 1, ticker);
+        assertEquals(0, bucket.reserve());
+
+        bucket.pause(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(2000 * MS, bucket.reserve());
+        assertEquals(2000 * MS, bucket.reserve());
+
+        // a shorter pause doesn't shorten the current one
+        bucket.pause(TimeUnit.SECONDS.toNanos(1));
+        ticker.advance(Duration.ofMillis(500));
+        assertEquals(1500 * MS, bucket.reserve());
+
+        ticker.advance(Duration.ofMillis(1500));
+        assertEquals(0, bucket.reserve());
+    }
+}
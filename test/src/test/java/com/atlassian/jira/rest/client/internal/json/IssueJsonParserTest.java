@@ -160,6 +160,7 @@ public class IssueJsonParserTest {
 
         // test float value: number, com.atlassian.jira.plugin.system.customfieldtypes:float
         assertEquals(1.457, issue.getField("customfield_10000").getValue());
+        assertEquals("number", issue.getField("customfield_10000").getType());
 
         // TODO: add assertions for more custom field types after fixing JRJC-122
     }
@@ -26,6 +26,7 @@ import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.api.domain.Status;
 import com.google.common.collect.Iterables;
 import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -79,6 +80,15 @@ public class SearchResultJsonParserTest {
         parser.parse(getJsonObjectFromResource("/json/search/issues-invalid-total.json"));
     }
 
+    @Test
+    public void testParseMalformedSchema() throws Exception {
+        final JSONObject json = getJsonObjectFromResource("/json/search/issues1.json");
+        json.put("schema", new JSONObject("{\"summary\":\"string\"}"));
+        exception.expect(JSONException.class);
+
+        parser.parse(json);
+    }
+
     private void assertIssueIsTST7(Issue issue) {
         assertEquals("TST-7", issue.getKey());
         assertEquals(Long.valueOf(10040), issue.getId());
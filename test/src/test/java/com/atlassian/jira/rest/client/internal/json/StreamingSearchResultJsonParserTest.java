@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2020 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.IssueField;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.collect.Iterables;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getJsonObjectFromResource;
+import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getStringFromResource;
+import static com.atlassian.jira.rest.client.test.matchers.IssueMatchers.issuesWithKeys;
+import static com.atlassian.jira.rest.client.test.matchers.SearchResultMatchers.searchResultWithParamsAndIssueCount;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class StreamingSearchResultJsonParserTest {
+
+    private final StreamingSearchResultJsonParser parser = new StreamingSearchResultJsonParser();
+    private final SearchResultJsonParser treeParser = new SearchResultJsonParser();
+
+    @Test
+    public void testParseMatchesTreeParser() throws Exception {
+        final SearchResult searchResult = parse(getStringFromResource("/json/search/many-issues.json"));
+
+        assertThat(searchResult, searchResultWithParamsAndIssueCount(0, 8, 15, 8));
+        assertThat(searchResult.getIssues(), issuesWithKeys("TST-13", "TST-12", "TST-11", "TST-10", "TST-9", "TST-8", "TST-7", "TST-6"));
+        assertSameIssues(treeParser.parse(getJsonObjectFromResource("/json/search/many-issues.json")), searchResult);
+    }
+
+    @Test
+    public void testParseWithNamesAndSchemaBeforeIssues() throws Exception {
+        final JSONObject json = getJsonObjectFromResource("/json/search/issues1.json");
+        final String reordered = "{\"names\":" + json.getJSONObject("names")
+                + ",\"schema\":" + json.getJSONObject("schema")
+                + ",\"startAt\":0,\"maxResults\":50,\"total\":1"
+                + ",\"issues\":" + json.getJSONArray("issues") + "}";
+
+        final SearchResult searchResult = parse(reordered);
+
+        assertThat(searchResult, searchResultWithParamsAndIssueCount(0, 50, 1, 1));
+        assertSameIssues(treeParser.parse(json), searchResult);
+    }
+
+    @Test
+    public void testParseEmpty() throws Exception {
+        final SearchResult searchResult = parse("{\"startAt\":0,\"maxResults\":50,\"total\":0,\"issues\":[]}");
+
+        assertThat(searchResult, searchResultWithParamsAndIssueCount(0, 50, 0, 0));
+    }
+
+    @Test
+    public void testParseMalformedSchema() throws Exception {
+        final JSONObject json = getJsonObjectFromResource("/json/search/issues1.json");
+        final String namesAndSchema = "\"names\":" + json.getJSONObject("names")
+                + ",\"schema\":{\"summary\":\"string\"}";
+        final String issues = "\"startAt\":0,\"maxResults\":50,\"total\":1"
+                + ",\"issues\":" + json.getJSONArray("issues");
+
+        // names and schema read before the issues, or after them
+        for (String body : new String[]{"{" + namesAndSchema + "," + issues + "}", "{" + issues + "," + namesAndSchema + "}"}) {
+            try {
+                parse(body);
+                fail("malformed schema should be rejected");
+            } catch (JSONException e) {
+                // expected, rather than an IllegalArgumentException
+            }
+        }
+    }
+
+    private SearchResult parse(final String json) throws Exception {
+        return JsonStreamUtil.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), parser);
+    }
+
+    private static void assertSameIssues(final SearchResult expected, final SearchResult actual) {
+        assertEquals(Iterables.size(expected.getIssues()), Iterables.size(actual.getIssues()));
+        final Iterator<Issue> actualIssues = actual.getIssues().iterator();
+        for (Issue expectedIssue : expected.getIssues()) {
+            final Issue actualIssue = actualIssues.next();
+            assertEquals(expectedIssue, actualIssue);
+            assertEquals(expectedIssue.getSummary(), actualIssue.getSummary());
+            assertEquals(expectedIssue.getStatus(), actualIssue.getStatus());
+            assertEquals(expectedIssue.getUpdateDate(), actualIssue.getUpdateDate());
+            final Iterator<IssueField> actualFields = actualIssue.getFields().iterator();
+            for (IssueField expectedField : expectedIssue.getFields()) {
+                final IssueField actualField = actualFields.next();
+                assertEquals(expectedField.getId(), actualField.getId());
+                assertEquals(expectedField.getName(), actualField.getName());
+                assertEquals(String.valueOf(expectedField.getValue()), String.valueOf(actualField.getValue()));
+            }
+            assertFalse(actualFields.hasNext());
+        }
+    }
+}
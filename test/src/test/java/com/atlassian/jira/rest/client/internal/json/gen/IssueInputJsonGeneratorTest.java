@@ -24,6 +24,7 @@ import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
 import com.atlassian.jira.rest.client.test.matchers.JSONObjectMatcher;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import org.apache.commons.io.IOUtils;
 import org.codehaus.jettison.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
@@ -57,6 +58,28 @@ public class IssueInputJsonGeneratorTest {
         Assert.assertThat(expected, JSONObjectMatcher.isEqual(actual));
     }
 
+    @Test
+    public void testGenerateToStream() throws Exception {
+        final IssueInputJsonGenerator generator = new IssueInputJsonGenerator();
+        final IssueInput issueInput = IssueInput.createWithFields(
+                new FieldInput("string", "String value"),
+                new FieldInput("integer", 1),
+                new FieldInput("long", 1L),
+                new FieldInput("complex", new ComplexIssueInputFieldValue(ImmutableMap.<String, Object>of(
+                        "string", "string",
+                        "integer", 1,
+                        "long", 1L,
+                        "complex", ComplexIssueInputFieldValue.with("test", "id")
+                )))
+        );
+
+        issueInput.getProperties().add(new PropertyInput("testKey", "{\"testValue\" : \"foo\"}"));
+
+        final JSONObject expected = ResourceUtil.getJsonObjectFromResource("/json/issueInput/valid.json");
+        final JSONObject actual = new JSONObject(IOUtils.toString(JsonGeneratorUtil.toInputStream(generator, issueInput), "UTF-8"));
+        Assert.assertThat(expected, JSONObjectMatcher.isEqual(actual));
+    }
+
     @Test
     public void testGenerateWithEmptyInput() throws Exception {
         final IssueInputJsonGenerator generator = new IssueInputJsonGenerator();